@@ -0,0 +1,27 @@
+package com.eventhub.cache;
+
+/**
+ * Message sent over Redis pub/sub so other nodes drop an entry (or a whole cache) from their L1.
+ *
+ * @param key the L1 key, or null to clear the cache
+ */
+public record CacheInvalidation(String origin, String cacheName, String key) {
+
+    private static final char SEPARATOR = '\n';
+
+    public boolean isClear() {
+        return key == null;
+    }
+
+    public String encode() {
+        return origin + SEPARATOR + cacheName + (key != null ? SEPARATOR + key : "");
+    }
+
+    public static CacheInvalidation decode(String payload) {
+        String[] parts = payload.split(String.valueOf(SEPARATOR), 3);
+        if (parts.length < 2) {
+            throw new IllegalArgumentException("Invalid cache invalidation message: " + payload);
+        }
+        return new CacheInvalidation(parts[0], parts[1], parts.length == 3 ? parts[2] : null);
+    }
+}
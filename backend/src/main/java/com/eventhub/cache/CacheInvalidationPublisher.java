@@ -0,0 +1,49 @@
+package com.eventhub.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.UUID;
+
+/**
+ * Publishes L1 invalidations on a Redis channel, tagged with this node's id so the
+ * node can ignore its own messages.
+ */
+@Slf4j
+public class CacheInvalidationPublisher {
+
+    private final StringRedisTemplate redisTemplate;
+    private final String channel;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public CacheInvalidationPublisher(StringRedisTemplate redisTemplate, String channel) {
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+    }
+
+    public void publishEvict(String cacheName, String key) {
+        publish(new CacheInvalidation(nodeId, cacheName, key));
+    }
+
+    public void publishClear(String cacheName) {
+        publish(new CacheInvalidation(nodeId, cacheName, null));
+    }
+
+    public boolean isOwn(CacheInvalidation invalidation) {
+        return nodeId.equals(invalidation.origin());
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    private void publish(CacheInvalidation invalidation) {
+        try {
+            redisTemplate.convertAndSend(channel, invalidation.encode());
+        } catch (RuntimeException e) {
+            // Other nodes fall back to the L1 TTL
+            log.warn("Falha ao publicar invalidação do cache {}: {}",
+                    invalidation.cacheName(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.eventhub.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Cache names and their TTLs, shared by the on-heap L1 and the Redis L2.
+ */
+public final class CacheSpecs {
+
+    public static final String EVENTS = "events";
+    public static final String USERS = "users";
+    public static final String STATISTICS = "statistics";
+    public static final String EVENT_LISTINGS = "event-listings";
+    public static final String EVENT_DESCRIPTORS = "event-descriptors";
+    public static final String USER_STATUS = "user-status";
+
+    public static final Duration DEFAULT_TTL = Duration.ofMinutes(5);
+
+    public static final Map<String, Duration> TTLS = Map.of(
+            EVENTS, Duration.ofMinutes(5),
+            USERS, Duration.ofMinutes(10),
+            STATISTICS, Duration.ofMinutes(1),
+            EVENT_LISTINGS, Duration.ofMinutes(1),
+            EVENT_DESCRIPTORS, Duration.ofHours(1),
+            USER_STATUS, Duration.ofMinutes(1)
+    );
+
+    private CacheSpecs() {
+    }
+
+    public static Duration ttlOf(String cacheName) {
+        return TTLS.getOrDefault(cacheName, DEFAULT_TTL);
+    }
+
+    /**
+     * Size-bounded Caffeine caches (W-TinyLFU eviction) with per-cache TTL and statistics.
+     */
+    public static CaffeineCacheManager localCacheManager(long maximumSize) {
+        CaffeineCacheManager manager = new CaffeineCacheManager();
+        manager.setCaffeine(builder(DEFAULT_TTL, maximumSize));
+        TTLS.forEach((name, ttl) ->
+                manager.registerCustomCache(name, builder(ttl, maximumSize).build()));
+        return manager;
+    }
+
+    private static Caffeine<Object, Object> builder(Duration ttl, long maximumSize) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats();
+    }
+}
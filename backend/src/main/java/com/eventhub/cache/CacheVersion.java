@@ -0,0 +1,12 @@
+package com.eventhub.cache;
+
+/**
+ * Version number that is part of the keys of a group of cache entries. Incrementing it makes
+ * every old entry unreachable at once; the entries then age out through TTL and size eviction.
+ */
+public interface CacheVersion {
+
+    long current();
+
+    void increment();
+}
@@ -0,0 +1,37 @@
+package com.eventhub.cache;
+
+import com.eventhub.event.EventCatalogChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Keeps the event caches correct without flushing them: a catalog change evicts the event's
+ * descriptor and bumps the listing version. Purchases do not touch these caches, since
+ * availability is merged in from {@link com.eventhub.service.LiveCapacityRegistry} on read.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EventCacheInvalidator {
+
+    private final CacheManager cacheManager;
+    private final CacheVersion eventListingVersion;
+
+    /**
+     * evictIfPresent is immediate; a plain evict would be deferred by the transaction-aware
+     * decorator to an after-commit phase that has already run.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(EventCatalogChangedEvent event) {
+        Cache descriptors = cacheManager.getCache(CacheSpecs.EVENT_DESCRIPTORS);
+        if (descriptors != null && event.eventId() != null) {
+            descriptors.evictIfPresent(event.eventId());
+        }
+        eventListingVersion.increment();
+        log.debug("Cache do evento {} invalidado", event.eventId());
+    }
+}
@@ -0,0 +1,21 @@
+package com.eventhub.cache;
+
+import com.eventhub.dto.response.EventDescriptor;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+/**
+ * Cached form of an event listing: descriptors only, availability is merged in on every read.
+ * {@link Page} itself cannot be read back from Redis.
+ */
+public record EventListing(List<EventDescriptor> content, long totalElements) {
+
+    public static EventListing of(Page<EventDescriptor> page) {
+        return new EventListing(List.copyOf(page.getContent()), page.getTotalElements());
+    }
+
+    public static EventListing of(List<EventDescriptor> events) {
+        return new EventListing(List.copyOf(events), events.size());
+    }
+}
@@ -0,0 +1,50 @@
+package com.eventhub.cache;
+
+import com.eventhub.exception.BusinessException;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the outcome of requests sent with an {@code Idempotency-Key} header.
+ * <p>
+ * The first request with a key runs; duplicates that arrive while it is running wait for its
+ * result, and later ones get the stored result back without touching the database. A failed
+ * request is forgotten so the client can retry it. Reusing a key for a different request is
+ * rejected.
+ */
+public interface IdempotencyStore {
+
+    int MAX_KEY_LENGTH = 255;
+
+    String KEY_REUSED = "Idempotency-Key já usada em outra requisição";
+
+    /**
+     * @param key         from {@link #key}
+     * @param fingerprint what the request asked for; must match on every use of the key
+     * @param type        result type, used to read it back from a shared store
+     */
+    <T> T execute(String key, String fingerprint, Class<T> type, Supplier<T> action);
+
+    /**
+     * Result of an earlier request with this key, waiting for it while it runs; never runs
+     * anything itself. Empty when the key is unknown or the earlier request failed, so the
+     * caller treats the request as a first execution and applies its gates (sold-out,
+     * waitlist, admission queue) before {@link #execute}.
+     */
+    <T> Optional<T> replay(String key, String fingerprint, Class<T> type);
+
+    /**
+     * Keys are scoped by operation and user, so two users cannot collide or read each
+     * other's results.
+     */
+    static String key(String scope, UUID userId, String idempotencyKey) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new BusinessException(
+                    "Idempotency-Key deve ter entre 1 e " + MAX_KEY_LENGTH + " caracteres"
+            );
+        }
+        return scope + ":" + userId + ":" + idempotencyKey;
+    }
+}
@@ -0,0 +1,21 @@
+package com.eventhub.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single-node {@link CacheVersion}, used with the in-memory cache.
+ */
+public class LocalCacheVersion implements CacheVersion {
+
+    private final AtomicLong version = new AtomicLong();
+
+    @Override
+    public long current() {
+        return version.get();
+    }
+
+    @Override
+    public void increment() {
+        version.incrementAndGet();
+    }
+}
@@ -0,0 +1,105 @@
+package com.eventhub.cache;
+
+import com.eventhub.exception.IdempotencyKeyReusedException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Single-node {@link IdempotencyStore}: a bounded Caffeine map from key to the future of the
+ * first request. Duplicates join that future, so in-flight and completed requests are handled
+ * the same way.
+ */
+public class LocalIdempotencyStore implements IdempotencyStore {
+
+    private final ConcurrentMap<String, Entry> entries;
+    private final Counter executed;
+    private final Counter replayed;
+
+    public LocalIdempotencyStore(MeterRegistry meterRegistry, Duration ttl, long maxSize) {
+        Cache<String, Entry> cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+        this.entries = cache.asMap();
+        this.executed = counter(meterRegistry, "executed");
+        this.replayed = counter(meterRegistry, "replayed");
+    }
+
+    @Override
+    public <T> T execute(String key, String fingerprint, Class<T> type, Supplier<T> action) {
+        Entry mine = new Entry(fingerprint);
+        Entry existing = entries.putIfAbsent(key, mine);
+        if (existing != null) {
+            if (!existing.fingerprint.equals(fingerprint)) {
+                throw new IdempotencyKeyReusedException(KEY_REUSED);
+            }
+            replayed.increment();
+            return type.cast(join(existing.result));
+        }
+        executed.increment();
+        try {
+            T result = action.get();
+            mine.result.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            entries.remove(key, mine);
+            mine.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public <T> Optional<T> replay(String key, String fingerprint, Class<T> type) {
+        Entry existing = entries.get(key);
+        if (existing == null) {
+            return Optional.empty();
+        }
+        if (!existing.fingerprint.equals(fingerprint)) {
+            throw new IdempotencyKeyReusedException(KEY_REUSED);
+        }
+        try {
+            Object result = existing.result.join();
+            replayed.increment();
+            return Optional.of(type.cast(result));
+        } catch (CompletionException e) {
+            // The first request failed and was forgotten
+            return Optional.empty();
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("eventhub.idempotency")
+                .tag("store", "local")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static Object join(CompletableFuture<Object> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static final class Entry {
+        private final String fingerprint;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        private Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.eventhub.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Cluster-wide {@link CacheVersion} kept in a Redis counter.
+ * Each node re-reads it at most once per {@code refreshMillis}; increments made by this node
+ * are visible here immediately.
+ */
+@Slf4j
+public class RedisCacheVersion implements CacheVersion {
+
+    private final StringRedisTemplate redisTemplate;
+    private final String key;
+    private final long refreshMillis;
+
+    private volatile long version;
+    private volatile long readAt;
+
+    public RedisCacheVersion(StringRedisTemplate redisTemplate, String key, long refreshMillis) {
+        this.redisTemplate = redisTemplate;
+        this.key = key;
+        this.refreshMillis = refreshMillis;
+    }
+
+    @Override
+    public long current() {
+        long now = System.currentTimeMillis();
+        if (now - readAt >= refreshMillis) {
+            try {
+                String value = redisTemplate.opsForValue().get(key);
+                version = value != null ? Long.parseLong(value) : 0L;
+            } catch (RuntimeException e) {
+                log.warn("Falha ao ler versão de cache {}: {}", key, e.getMessage());
+            }
+            readAt = now;
+        }
+        return version;
+    }
+
+    @Override
+    public void increment() {
+        try {
+            Long value = redisTemplate.opsForValue().increment(key);
+            if (value != null) {
+                version = value;
+                readAt = System.currentTimeMillis();
+            }
+        } catch (RuntimeException e) {
+            // The listing entries still expire through their TTL
+            log.warn("Falha ao incrementar versão de cache {}: {}", key, e.getMessage());
+        }
+    }
+}
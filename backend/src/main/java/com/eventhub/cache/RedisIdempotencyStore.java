@@ -0,0 +1,259 @@
+package com.eventhub.cache;
+
+import com.eventhub.exception.IdempotencyKeyReusedException;
+import com.eventhub.exception.ServiceBusyException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Cluster-wide {@link IdempotencyStore}.
+ * <p>
+ * Duplicates on the same node join the local future of the first request, as in
+ * {@link LocalIdempotencyStore}. Across nodes, the first request claims the key in Redis with
+ * {@code SET NX} and a short {@code pending-ttl} (so a node that dies mid-request does not
+ * block the key), then replaces the claim with the JSON result for {@code ttl}. Other nodes
+ * poll a pending key for up to {@code wait-timeout}. When Redis is down requests run without
+ * deduplication; the database constraints still reject double purchases.
+ */
+@Slf4j
+public class RedisIdempotencyStore implements IdempotencyStore {
+
+    private static final String PREFIX = "eventhub:idempotency:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration pendingTtl;
+    private final long waitTimeoutMs;
+    private final long pollIntervalMs;
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter replayed;
+    private final Counter bypassed;
+
+    public RedisIdempotencyStore(
+            StringRedisTemplate redisTemplate,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            Duration ttl,
+            Duration pendingTtl,
+            long waitTimeoutMs,
+            long pollIntervalMs
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.pendingTtl = pendingTtl;
+        this.waitTimeoutMs = waitTimeoutMs;
+        this.pollIntervalMs = pollIntervalMs;
+        this.executed = counter(meterRegistry, "executed");
+        this.replayed = counter(meterRegistry, "replayed");
+        this.bypassed = counter(meterRegistry, "bypassed");
+    }
+
+    @Override
+    public <T> T execute(String key, String fingerprint, Class<T> type, Supplier<T> action) {
+        InFlight mine = new InFlight(fingerprint);
+        InFlight existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            if (!existing.fingerprint.equals(fingerprint)) {
+                throw new IdempotencyKeyReusedException(KEY_REUSED);
+            }
+            replayed.increment();
+            return type.cast(join(existing.result));
+        }
+        try {
+            T result = executeShared(PREFIX + key, fingerprint, type, action);
+            mine.result.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            mine.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    @Override
+    public <T> Optional<T> replay(String key, String fingerprint, Class<T> type) {
+        InFlight local = inFlight.get(key);
+        if (local != null) {
+            if (!local.fingerprint.equals(fingerprint)) {
+                throw new IdempotencyKeyReusedException(KEY_REUSED);
+            }
+            try {
+                Object result = local.result.join();
+                replayed.increment();
+                return Optional.of(type.cast(result));
+            } catch (CompletionException e) {
+                return Optional.empty();
+            }
+        }
+        String redisKey = PREFIX + key;
+        long deadline = System.currentTimeMillis() + waitTimeoutMs;
+        while (true) {
+            Stored stored;
+            try {
+                stored = read(redisTemplate.opsForValue().get(redisKey));
+            } catch (RuntimeException e) {
+                log.warn("Redis indisponível para idempotência: {}", e.getMessage());
+                return Optional.empty();
+            }
+            if (stored == null) {
+                // Unknown key, or the first request failed and released it
+                return Optional.empty();
+            }
+            if (!stored.fingerprint().equals(fingerprint)) {
+                throw new IdempotencyKeyReusedException(KEY_REUSED);
+            }
+            if (stored.result() != null) {
+                replayed.increment();
+                return Optional.of(objectMapper.convertValue(stored.result(), type));
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                throw new ServiceBusyException(
+                        "Requisição com esta Idempotency-Key ainda em andamento", 1);
+            }
+            sleep();
+        }
+    }
+
+    private <T> T executeShared(String redisKey, String fingerprint, Class<T> type, Supplier<T> action) {
+        long deadline = System.currentTimeMillis() + waitTimeoutMs;
+        while (true) {
+            boolean claimed;
+            Stored stored = null;
+            try {
+                claimed = Boolean.TRUE.equals(redisTemplate.opsForValue()
+                        .setIfAbsent(redisKey, write(new Stored(fingerprint, null)), pendingTtl));
+                if (!claimed) {
+                    stored = read(redisTemplate.opsForValue().get(redisKey));
+                }
+            } catch (RuntimeException e) {
+                log.warn("Redis indisponível para idempotência, executando sem deduplicação: {}", e.getMessage());
+                bypassed.increment();
+                return action.get();
+            }
+            if (claimed) {
+                return runAndStore(redisKey, fingerprint, action);
+            }
+            if (stored == null) {
+                // Claim expired or the first request failed between our two commands
+                continue;
+            }
+            if (!stored.fingerprint().equals(fingerprint)) {
+                throw new IdempotencyKeyReusedException(KEY_REUSED);
+            }
+            if (stored.result() != null) {
+                replayed.increment();
+                return objectMapper.convertValue(stored.result(), type);
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                throw new ServiceBusyException(
+                        "Requisição com esta Idempotency-Key ainda em andamento", 1);
+            }
+            sleep();
+        }
+    }
+
+    private <T> T runAndStore(String redisKey, String fingerprint, Supplier<T> action) {
+        executed.increment();
+        T result;
+        try {
+            result = action.get();
+        } catch (RuntimeException e) {
+            forget(redisKey);
+            throw e;
+        }
+        try {
+            redisTemplate.opsForValue().set(redisKey,
+                    write(new Stored(fingerprint, objectMapper.valueToTree(result))), ttl);
+        } catch (RuntimeException e) {
+            // The result is still returned; the claim expires after pending-ttl
+            log.warn("Falha ao gravar resultado idempotente {}: {}", redisKey, e.getMessage());
+        }
+        return result;
+    }
+
+    private void forget(String redisKey) {
+        try {
+            redisTemplate.delete(redisKey);
+        } catch (RuntimeException e) {
+            log.warn("Falha ao liberar chave idempotente {}: {}", redisKey, e.getMessage());
+        }
+    }
+
+    private String write(Stored stored) {
+        try {
+            return objectMapper.writeValueAsString(stored);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Resultado idempotente não serializável", e);
+        }
+    }
+
+    private Stored read(String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, Stored.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Resultado idempotente ilegível", e);
+        }
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(pollIntervalMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("Requisição com esta Idempotency-Key ainda em andamento", 1);
+        }
+    }
+
+    private static Object join(CompletableFuture<Object> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("eventhub.idempotency")
+                .tag("store", "redis")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Value kept in Redis; {@code result} is null while the first request is running.
+     */
+    record Stored(String fingerprint, JsonNode result) {
+    }
+
+    private static final class InFlight {
+        private final String fingerprint;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        private InFlight(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+}
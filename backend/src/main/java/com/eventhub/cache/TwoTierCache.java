@@ -0,0 +1,169 @@
+package com.eventhub.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.lang.Nullable;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caffeine L1 in front of a shared L2 (Redis).
+ * <p>
+ * Reads try L1, then L2, and copy L2 hits into L1. Writes and evictions go to both tiers and
+ * are published so the other nodes drop their L1 copy. L1 keys are the string form of the
+ * cache key, which is also what RedisCache uses.
+ */
+public class TwoTierCache implements Cache {
+
+    private final String name;
+    private final CaffeineCache local;
+    private final Cache remote;
+    private final CacheInvalidationPublisher publisher;
+    private final LongAdder remoteHits = new LongAdder();
+    private final LongAdder remoteMisses = new LongAdder();
+
+    public TwoTierCache(String name, CaffeineCache local, Cache remote, CacheInvalidationPublisher publisher) {
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.publisher = publisher;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return this;
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper get(Object key) {
+        String localKey = localKey(key);
+        ValueWrapper value = local.get(localKey);
+        if (value != null) {
+            return value;
+        }
+        value = remote.get(key);
+        if (value != null) {
+            remoteHits.increment();
+            local.put(localKey, value.get());
+        } else {
+            remoteMisses.increment();
+        }
+        return value;
+    }
+
+    @Override
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, @Nullable Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return local.get(localKey(key), () -> {
+            ValueWrapper cached = remote.get(key);
+            if (cached != null) {
+                remoteHits.increment();
+                return (T) cached.get();
+            }
+            remoteMisses.increment();
+            T value = valueLoader.call();
+            if (value != null) {
+                remote.put(key, value);
+            }
+            return value;
+        });
+    }
+
+    @Override
+    public void put(Object key, @Nullable Object value) {
+        String localKey = localKey(key);
+        remote.put(key, value);
+        local.put(localKey, value);
+        publisher.publishEvict(name, localKey);
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+        String localKey = localKey(key);
+        ValueWrapper existing = remote.putIfAbsent(key, value);
+        local.evict(localKey);
+        publisher.publishEvict(name, localKey);
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        String localKey = localKey(key);
+        remote.evict(key);
+        local.evict(localKey);
+        publisher.publishEvict(name, localKey);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        String localKey = localKey(key);
+        boolean evicted = remote.evictIfPresent(key);
+        local.evict(localKey);
+        publisher.publishEvict(name, localKey);
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        local.clear();
+        publisher.publishClear(name);
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = remote.invalidate();
+        local.invalidate();
+        publisher.publishClear(name);
+        return invalidated;
+    }
+
+    /**
+     * Applies an invalidation published by another node; only this node's L1 is touched.
+     */
+    void invalidateLocal(CacheInvalidation invalidation) {
+        if (invalidation.isClear()) {
+            local.invalidate();
+        } else {
+            local.evict(invalidation.key());
+        }
+    }
+
+    public CaffeineCache getLocalCache() {
+        return local;
+    }
+
+    public long getRemoteHitCount() {
+        return remoteHits.sum();
+    }
+
+    public long getRemoteMissCount() {
+        return remoteMisses.sum();
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
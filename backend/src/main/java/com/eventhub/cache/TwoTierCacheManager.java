@@ -0,0 +1,76 @@
+package com.eventhub.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.lang.Nullable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Combines a {@link CaffeineCacheManager} (L1) and a Redis-backed manager (L2) into
+ * {@link TwoTierCache}s. Puts and evictions are deferred until the surrounding transaction
+ * commits, so other nodes never reload a value that is about to change.
+ */
+@Slf4j
+public class TwoTierCacheManager implements CacheManager {
+
+    private final CaffeineCacheManager localManager;
+    private final CacheManager remoteManager;
+    private final CacheInvalidationPublisher publisher;
+    private final Map<String, TwoTierCache> tiers = new ConcurrentHashMap<>();
+    private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public TwoTierCacheManager(
+            CaffeineCacheManager localManager,
+            CacheManager remoteManager,
+            CacheInvalidationPublisher publisher
+    ) {
+        this.localManager = localManager;
+        this.remoteManager = remoteManager;
+        this.publisher = publisher;
+        remoteManager.getCacheNames().forEach(this::getCache);
+    }
+
+    @Override
+    @Nullable
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, cacheName -> {
+            Cache local = localManager.getCache(cacheName);
+            Cache remote = remoteManager.getCache(cacheName);
+            if (!(local instanceof CaffeineCache caffeineCache) || remote == null) {
+                return null;
+            }
+            TwoTierCache cache = new TwoTierCache(cacheName, caffeineCache, remote, publisher);
+            tiers.put(cacheName, cache);
+            return new TransactionAwareCacheDecorator(cache);
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    /**
+     * Handles a message from the invalidation channel.
+     */
+    public void onInvalidation(String payload) {
+        CacheInvalidation invalidation = CacheInvalidation.decode(payload);
+        if (publisher.isOwn(invalidation)) {
+            return;
+        }
+        TwoTierCache cache = tiers.get(invalidation.cacheName());
+        if (cache != null) {
+            log.debug("Invalidação remota do cache {}: {}", invalidation.cacheName(),
+                    invalidation.isClear() ? "*" : invalidation.key());
+            cache.invalidateLocal(invalidation);
+        }
+    }
+}
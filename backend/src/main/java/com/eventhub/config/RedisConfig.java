@@ -1,11 +1,23 @@
 package com.eventhub.config;
 
+import com.eventhub.cache.CacheInvalidationPublisher;
+import com.eventhub.cache.CacheSpecs;
+import com.eventhub.cache.CacheVersion;
+import com.eventhub.cache.IdempotencyStore;
+import com.eventhub.cache.RedisCacheVersion;
+import com.eventhub.cache.RedisIdempotencyStore;
+import com.eventhub.cache.TwoTierCache;
+import com.eventhub.cache.TwoTierCacheManager;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -13,12 +25,24 @@ import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
 
+/**
+ * Two-tier cache: bounded Caffeine L1 per node in front of Redis (L2).
+ * L1 entries changed on one node are dropped on the others through Redis pub/sub.
+ */
 @Configuration
 @EnableCaching
 @ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis", matchIfMissing = true)
@@ -42,10 +66,49 @@ public class RedisConfig {
     }
 
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    public CacheInvalidationPublisher cacheInvalidationPublisher(
+        StringRedisTemplate stringRedisTemplate,
+        @Value("${application.cache.invalidation-channel:eventhub:cache:invalidation}") String channel
+    ) {
+        return new CacheInvalidationPublisher(stringRedisTemplate, channel);
+    }
+
+    @Bean
+    public CacheVersion eventListingVersion(
+        StringRedisTemplate stringRedisTemplate,
+        @Value("${application.cache.version-refresh:200}") long refreshMillis
+    ) {
+        return new RedisCacheVersion(stringRedisTemplate, "eventhub:cache:event-listings:version", refreshMillis);
+    }
+
+    /**
+     * Uses the application's ObjectMapper: results are read back into a known type, so they
+     * need no type information.
+     */
+    @Bean
+    public IdempotencyStore idempotencyStore(
+        StringRedisTemplate stringRedisTemplate,
+        ObjectMapper objectMapper,
+        MeterRegistry meterRegistry,
+        @Value("${application.idempotency.ttl:3600000}") long ttlMillis,
+        @Value("${application.idempotency.pending-ttl:30000}") long pendingTtlMillis,
+        @Value("${application.idempotency.wait-timeout:10000}") long waitTimeoutMillis,
+        @Value("${application.idempotency.poll-interval:50}") long pollIntervalMillis
+    ) {
+        return new RedisIdempotencyStore(stringRedisTemplate, objectMapper, meterRegistry,
+            Duration.ofMillis(ttlMillis), Duration.ofMillis(pendingTtlMillis),
+            waitTimeoutMillis, pollIntervalMillis);
+    }
+
+    @Bean
+    public TwoTierCacheManager cacheManager(
+        RedisConnectionFactory connectionFactory,
+        CacheInvalidationPublisher cacheInvalidationPublisher,
+        @Value("${application.cache.local-max-size:10000}") long localMaxSize
+    ) {
         RedisCacheConfiguration defaultConfig = RedisCacheConfiguration
             .defaultCacheConfig()
-            .entryTtl(Duration.ofMinutes(5))
+            .entryTtl(CacheSpecs.DEFAULT_TTL)
             .disableCachingNullValues()
             .serializeKeysWith(
                 RedisSerializationContext.SerializationPair
@@ -56,28 +119,81 @@ public class RedisConfig {
                     .fromSerializer(new GenericJackson2JsonRedisSerializer(objectMapper()))
             );
 
-        return RedisCacheManager.builder(connectionFactory)
-            .cacheDefaults(defaultConfig)
-            .withCacheConfiguration("events",
-                defaultConfig.entryTtl(Duration.ofMinutes(5)))
-            .withCacheConfiguration("users",
-                defaultConfig.entryTtl(Duration.ofMinutes(10)))
-            .withCacheConfiguration("statistics",
-                defaultConfig.entryTtl(Duration.ofMinutes(1)))
-            .build();
+        RedisCacheManager.RedisCacheManagerBuilder builder = RedisCacheManager.builder(connectionFactory)
+            .cacheDefaults(defaultConfig);
+        CacheSpecs.TTLS.forEach((name, ttl) ->
+            builder.withCacheConfiguration(name, defaultConfig.entryTtl(ttl)));
+        RedisCacheManager redisCacheManager = builder.build();
+        redisCacheManager.afterPropertiesSet();
+
+        return new TwoTierCacheManager(
+            CacheSpecs.localCacheManager(localMaxSize),
+            redisCacheManager,
+            cacheInvalidationPublisher
+        );
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+        RedisConnectionFactory connectionFactory,
+        TwoTierCacheManager cacheManager,
+        CacheInvalidationPublisher cacheInvalidationPublisher
+    ) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+            (message, pattern) -> cacheManager.onInvalidation(
+                new String(message.getBody(), StandardCharsets.UTF_8)),
+            new ChannelTopic(cacheInvalidationPublisher.getChannel())
+        );
+        return container;
+    }
+
+    /**
+     * Exposes L1 hit/miss/eviction counters (cache.gets, cache.evictions, ...) and L2 lookups
+     * (cache.l2.gets) for every two-tier cache under /actuator/metrics.
+     */
+    @Bean
+    public CacheMeterBinderProvider<TwoTierCache> twoTierCacheMeterBinderProvider() {
+        return (cache, tags) -> registry -> {
+            new CaffeineCacheMetrics<>(cache.getLocalCache().getNativeCache(), cache.getName(), tags)
+                .bindTo(registry);
+            FunctionCounter.builder("cache.l2.gets", cache, TwoTierCache::getRemoteHitCount)
+                .tags(tags).tag("cache", cache.getName()).tag("result", "hit")
+                .description("L1 misses answered by Redis")
+                .register(registry);
+            FunctionCounter.builder("cache.l2.gets", cache, TwoTierCache::getRemoteMissCount)
+                .tags(tags).tag("cache", cache.getName()).tag("result", "miss")
+                .description("L1 misses that Redis could not answer either")
+                .register(registry);
+        };
     }
 
+    /**
+     * Type information on every value: cached DTOs are records (final), which NON_FINAL
+     * typing skipped, so they came back from Redis as maps. Only our own classes and the JDK
+     * types that appear in them are accepted as type ids, so a value written to Redis by
+     * someone else cannot make Jackson instantiate an arbitrary class.
+     */
     private ObjectMapper objectMapper() {
         ObjectMapper mapper = new ObjectMapper();
         mapper.registerModule(new JavaTimeModule());
         mapper.activateDefaultTyping(
             BasicPolymorphicTypeValidator.builder()
-                .allowIfBaseType(Object.class)
+                .allowIfSubType("com.eventhub.")
+                .allowIfSubType(List.class)
+                .allowIfSubType(UUID.class)
+                .allowIfSubType(LocalDateTime.class)
+                .allowIfSubType(BigDecimal.class)
+                .allowIfSubType(String.class)
+                .allowIfSubType(Boolean.class)
+                .allowIfSubType(Integer.class)
+                .allowIfSubType(Long.class)
                 .build(),
-            ObjectMapper.DefaultTyping.NON_FINAL,
+            ObjectMapper.DefaultTyping.EVERYTHING,
             JsonTypeInfo.As.PROPERTY
         );
         return mapper;
     }
 
-}
\ No newline at end of file
+}
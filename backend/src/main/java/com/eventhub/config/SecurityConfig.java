@@ -1,6 +1,7 @@
 package com.eventhub.config;
 import com.eventhub.security.JwtAuthenticationFilter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -29,6 +30,8 @@ import java.util.List;
 public class SecurityConfig {
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final UserDetailsService userDetailsService;
+    @Value("${application.security.bcrypt-strength:12}")
+    private int bcryptStrength;
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -40,7 +43,7 @@ public class SecurityConfig {
                         // Public event endpoints
                         .requestMatchers(HttpMethod.GET, "/api/events/**").permitAll()
                         // Chat endpoint
-                        .requestMatchers(HttpMethod.POST, "/api/chat").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/api/chat", "/api/chat/stream").permitAll()
                         // Swagger UI and OpenAPI
                         .requestMatchers("/swagger-ui.html", "/swagger-ui/**").permitAll()
                         .requestMatchers("/v3/api-docs/**", "/v3/api-docs.yaml").permitAll()
@@ -98,9 +101,13 @@ public class SecurityConfig {
         source.registerCorsConfiguration("/**", configuration);
         return source;
     }
+    /**
+     * Changing the strength is safe: older hashes still verify and are re-hashed on the next
+     * successful login (see AuthService#login).
+     */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
     @Bean
     public DaoAuthenticationProvider authenticationProvider() {
@@ -1,14 +1,22 @@
 package com.eventhub.config;
 
+import com.eventhub.cache.CacheSpecs;
+import com.eventhub.cache.CacheVersion;
+import com.eventhub.cache.IdempotencyStore;
+import com.eventhub.cache.LocalCacheVersion;
+import com.eventhub.cache.LocalIdempotencyStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 /**
- * Fallback cache configuration using simple in-memory cache.
+ * Fallback cache configuration using a bounded in-memory cache (Caffeine).
  * Used when Redis is not available (spring.cache.type=simple).
  */
 @Configuration
@@ -17,7 +25,23 @@ import org.springframework.context.annotation.Configuration;
 public class SimpleCacheConfig {
 
     @Bean
-    public CacheManager cacheManager() {
-        return new ConcurrentMapCacheManager("events", "users", "statistics");
+    public CacheManager cacheManager(
+            @Value("${application.cache.local-max-size:10000}") long localMaxSize
+    ) {
+        return CacheSpecs.localCacheManager(localMaxSize);
+    }
+
+    @Bean
+    public CacheVersion eventListingVersion() {
+        return new LocalCacheVersion();
+    }
+
+    @Bean
+    public IdempotencyStore idempotencyStore(
+            MeterRegistry meterRegistry,
+            @Value("${application.idempotency.ttl:3600000}") long ttlMillis,
+            @Value("${application.idempotency.local-max-size:100000}") long maxSize
+    ) {
+        return new LocalIdempotencyStore(meterRegistry, Duration.ofMillis(ttlMillis), maxSize);
     }
 }
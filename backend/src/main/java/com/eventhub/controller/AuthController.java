@@ -10,6 +10,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -70,13 +71,22 @@ public class AuthController {
         @ApiResponse(
             responseCode = "401",
             description = "Invalid credentials or account disabled"
+        ),
+        @ApiResponse(
+            responseCode = "429",
+            description = "Too many login attempts for this username or IP"
+        ),
+        @ApiResponse(
+            responseCode = "503",
+            description = "Password hashing saturated, retry after the Retry-After delay"
         )
     })
     public ResponseEntity<AuthResponse> login(
-        @Valid @RequestBody LoginRequest request
+        @Valid @RequestBody LoginRequest request,
+        HttpServletRequest httpRequest
     ) {
         log.info("Login request for username: {}", request.username());
-        AuthResponse response = authService.login(request);
+        AuthResponse response = authService.login(request, httpRequest.getRemoteAddr());
         return ResponseEntity.ok(response);
     }
 }
\ No newline at end of file
@@ -1,12 +1,21 @@
 package com.eventhub.controller;
 
+import com.eventhub.exception.ServiceBusyException;
 import com.eventhub.service.ChatService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 
 @RestController
@@ -18,6 +27,9 @@ import org.springframework.web.bind.annotation.*;
 public class ChatController {
     private final ChatService chatService;
 
+    @Value("${application.ollama.stream-timeout:120000}")
+    private long streamTimeoutMs;
+
     @PostMapping
     @Operation(
             summary = "Chat with AI",
@@ -32,16 +44,75 @@ public class ChatController {
                     .badRequest()
                     .body(new ChatResponse("Please provide a message", "error"));
         }
-        String aiResponse = chatService.chat(request.message());
-
         // Generate a simple conversation ID (could be more sophisticated)
         String conversationId = request.conversationId() != null
             ? request.conversationId()
             : java.util.UUID.randomUUID().toString();
+        String aiResponse = chatService.chat(request.message(), conversationId);
 
         return ResponseEntity.ok(new ChatResponse(aiResponse, conversationId));
     }
 
+    @PostMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "Chat with AI (streaming)",
+            description = "Server-Sent Events: one 'token' event per generated chunk, then 'done' with the conversation ID"
+    )
+    public SseEmitter streamChat(
+            @RequestBody ChatRequest request
+    ) {
+        log.info("POST /api/chat/stream - Message: {}", request.message());
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        if (request.message() == null || request.message().isBlank()) {
+            send(emitter, "error", "Please provide a message");
+            emitter.complete();
+            return emitter;
+        }
+        String conversationId = request.conversationId() != null
+            ? request.conversationId()
+            : java.util.UUID.randomUUID().toString();
+
+        CompletableFuture<String> answer = chatService.streamChat(
+                request.message(), conversationId, token -> send(emitter, "token", token));
+        answer.whenComplete((response, error) -> {
+            Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+            if (cause instanceof ServiceBusyException busy) {
+                trySend(emitter, "error", busy.getMessage());
+            } else if (cause != null) {
+                log.warn("Chat stream interrompido: {}", cause.getMessage());
+                trySend(emitter, "error",
+                        "Desculpe, estou tendo problemas para me conectar ao meu cérebro de IA agora.");
+            } else {
+                trySend(emitter, "done", conversationId);
+            }
+            emitter.complete();
+        });
+        // Client gone or emitter timed out: stop generating and free the Ollama slot
+        emitter.onTimeout(() -> answer.cancel(true));
+        emitter.onError(error -> answer.cancel(true));
+        emitter.onCompletion(() -> answer.cancel(true));
+        return emitter;
+    }
+
+    /**
+     * Throws when the client went away, which makes ChatService cancel the Ollama stream.
+     */
+    private static void send(SseEmitter emitter, String name, String data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void trySend(SseEmitter emitter, String name, String data) {
+        try {
+            send(emitter, name, data);
+        } catch (UncheckedIOException | IllegalStateException ignored) {
+            // client already gone
+        }
+    }
+
     public record ChatRequest(String message, String conversationId) {
     }
 
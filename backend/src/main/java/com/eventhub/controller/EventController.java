@@ -2,7 +2,10 @@ package com.eventhub.controller;
 
 import com.eventhub.dto.request.CreateEventRequest;
 import com.eventhub.dto.request.UpdateEventRequest;
+import com.eventhub.dto.response.CursorPage;
+import com.eventhub.dto.response.EventCancellationResponse;
 import com.eventhub.dto.response.EventResponse;
+import com.eventhub.service.EventCancellationService;
 import com.eventhub.service.EventService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -32,6 +35,7 @@ import java.util.UUID;
 public class EventController {
 
     private final EventService eventService;
+    private final EventCancellationService eventCancellationService;
 
     @GetMapping
     @Operation(summary = "Get all events", description = "Retrieve paginated list of all events")
@@ -65,6 +69,37 @@ public class EventController {
         return ResponseEntity.ok(events);
     }
 
+    @GetMapping("/scroll")
+    @Operation(summary = "Scroll events", description = "Cursor-paginated list of events ordered by date")
+    public ResponseEntity<CursorPage<EventResponse>> scrollEvents(
+            @RequestParam(required = false)
+            @Parameter(description = "Cursor returned by the previous page (omit for the first page)")
+            String cursor,
+
+            @RequestParam(defaultValue = "20")
+            @Parameter(description = "Page size (max 100)")
+            int size,
+
+            @RequestParam(defaultValue = "asc")
+            @Parameter(description = "Sort direction by event date (asc/desc)")
+            String direction,
+
+            @RequestParam(defaultValue = "false")
+            @Parameter(description = "Also count all events (extra query)")
+            boolean includeTotal
+    ) {
+        log.debug("GET /api/events/scroll - size: {}", size);
+
+        CursorPage<EventResponse> events = eventService.scrollEvents(
+                cursor,
+                Math.min(Math.max(size, 1), 100),
+                direction.equalsIgnoreCase("desc"),
+                includeTotal
+        );
+
+        return ResponseEntity.ok(events);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get event by ID", description = "Retrieve single event details")
     public ResponseEntity<EventResponse> getEventById(
@@ -90,15 +125,18 @@ public class EventController {
     }
 
     @GetMapping("/search")
-    @Operation(summary = "Search events", description = "Search events by name, description, or location")
-    public ResponseEntity<List<EventResponse>> searchEvents(
+    @Operation(summary = "Search events", description = "Search events by name, description, or location, ranked by relevance")
+    public ResponseEntity<Page<EventResponse>> searchEvents(
             @RequestParam("q")
             @Parameter(description = "Search query")
-            String query
+            String query,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "12") int size
     ) {
         log.debug("GET /api/events/search?q={}", query);
 
-        List<EventResponse> events = eventService.searchEvents(query);
+        Page<EventResponse> events = eventService.searchEvents(
+                query, PageRequest.of(page, Math.min(size, 100)));
 
         return ResponseEntity.ok(events);
     }
@@ -134,6 +172,38 @@ public class EventController {
         return ResponseEntity.ok(event);
     }
 
+    @PostMapping("/{id}/cancel")
+    @PreAuthorize("hasRole('ADMIN')")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @Operation(
+            summary = "Cancel event",
+            description = "Cancel the event and all its tickets (admin only). Participants are "
+                    + "emailed in the background; follow the progress on GET /{id}/cancellation"
+    )
+    public ResponseEntity<EventCancellationResponse> cancelEvent(
+            @PathVariable UUID id
+    ) {
+        log.info("POST /api/events/{}/cancel - Cancelling event", id);
+
+        EventCancellationResponse cancellation = eventCancellationService.cancelEvent(id);
+
+        return ResponseEntity
+                .status(HttpStatus.ACCEPTED)
+                .body(cancellation);
+    }
+
+    @GetMapping("/{id}/cancellation")
+    @PreAuthorize("hasRole('ADMIN')")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @Operation(summary = "Get cancellation progress", description = "Tickets cancelled and participants notified so far (admin only)")
+    public ResponseEntity<EventCancellationResponse> getCancellation(
+            @PathVariable UUID id
+    ) {
+        log.debug("GET /api/events/{}/cancellation", id);
+
+        return ResponseEntity.ok(eventCancellationService.getProgress(id));
+    }
+
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     @SecurityRequirement(name = "Bearer Authentication")
@@ -1,9 +1,21 @@
 package com.eventhub.controller;
 
+import com.eventhub.cache.IdempotencyStore;
+import com.eventhub.dto.request.BatchPurchaseRequest;
+import com.eventhub.dto.request.ConfirmHoldRequest;
 import com.eventhub.dto.request.PurchaseTicketRequest;
+import com.eventhub.dto.response.BatchPurchaseResponse;
+import com.eventhub.dto.response.QueueStatusResponse;
+import com.eventhub.dto.response.CursorPage;
+import com.eventhub.dto.response.SeatHoldResponse;
 import com.eventhub.dto.response.TicketResponse;
 import com.eventhub.entity.User;
+import com.eventhub.service.AdmissionControlService;
+import com.eventhub.service.SeatHoldService;
+import com.eventhub.service.SoldOutRegistry;
+import com.eventhub.service.TicketPurchaseService;
 import com.eventhub.service.TicketService;
+import com.eventhub.service.WaitlistService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -21,6 +33,7 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @RestController
@@ -32,25 +45,169 @@ import java.util.UUID;
 public class TicketController {
 
     private final TicketService ticketService;
+    private final TicketPurchaseService ticketPurchaseService;
+    private final AdmissionControlService admissionControlService;
+    private final SeatHoldService seatHoldService;
+    private final IdempotencyStore idempotencyStore;
+    private final SoldOutRegistry soldOutRegistry;
+    private final WaitlistService waitlistService;
 
     @PostMapping("/purchase")
     @PreAuthorize("isAuthenticated()")
     @SecurityRequirement(name = "Bearer Authentication")
-    @Operation(summary = "Purchase ticket", description = "Purchase ticket for event")
-    public ResponseEntity<TicketResponse> purchaseTicket(
+    @Operation(
+            summary = "Purchase ticket",
+            description = "Purchase ticket for event. When the event is busy the request is queued: "
+                    + "202 with a queue token, retry with the X-Queue-Token header once admitted. "
+                    + "Retries sent with the same Idempotency-Key get the original ticket back"
+    )
+    public ResponseEntity<?> purchaseTicket(
             @Valid @RequestBody PurchaseTicketRequest request,
+            @RequestHeader(value = "X-Queue-Token", required = false) UUID queueToken,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @AuthenticationPrincipal User user
     ) {
         log.info("POST /api/tickets/purchase - User: {}, Event: {}",
                 user.getUsername(), request.eventId());
+        String replayKey = idempotencyKey == null
+                ? null
+                : IdempotencyStore.key("purchase", user.getId(), idempotencyKey);
+        if (replayKey != null) {
+            // Retry of a purchase already running or done: answer it before any gate, a
+            // ticket sold a moment ago must come back even if the event is now sold out.
+            // Nothing runs here; a key that is gone goes through the gates below.
+            Optional<TicketResponse> replayed = idempotencyStore.replay(
+                    replayKey, purchaseFingerprint(request), TicketResponse.class);
+            if (replayed.isPresent()) {
+                return ResponseEntity
+                        .status(HttpStatus.CREATED)
+                        .body(replayed.get());
+            }
+        }
 
-        TicketResponse ticket = ticketService.purchaseTicket(request, user);
+        try {
+            soldOutRegistry.rejectIfSoldOut(request.eventId());
+            waitlistService.rejectIfWaitlisted(request.eventId());
+        } catch (RuntimeException e) {
+            // An admitted token would otherwise keep its slot until admitted-ttl
+            admissionControlService.release(request.eventId(), user.getId(), queueToken);
+            throw e;
+        }
 
+        QueueStatusResponse admission = admissionControlService.enter(
+                request.eventId(), user.getId(), queueToken);
+        if (!admission.isAdmitted()) {
+            HttpStatus status = admission.status().isExpired() ? HttpStatus.GONE : HttpStatus.ACCEPTED;
+            return ResponseEntity.status(status).body(admission);
+        }
+        try {
+            return ResponseEntity
+                    .status(HttpStatus.CREATED)
+                    .body(purchase(request, user, replayKey));
+        } finally {
+            admissionControlService.exit(request.eventId());
+        }
+    }
+
+    private TicketResponse purchase(PurchaseTicketRequest request, User user, String replayKey) {
+        if (replayKey == null) {
+            return ticketPurchaseService.purchase(request, user);
+        }
+        return idempotencyStore.execute(
+                replayKey,
+                purchaseFingerprint(request),
+                TicketResponse.class,
+                () -> ticketPurchaseService.purchase(request, user));
+    }
+
+    private static String purchaseFingerprint(PurchaseTicketRequest request) {
+        return request.eventId() + "|" + request.getNormalizedParticipantName()
+                + "|" + request.getNormalizedParticipantEmail();
+    }
+
+    @PostMapping("/purchase/batch")
+    @PreAuthorize("isAuthenticated()")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @Operation(
+            summary = "Purchase tickets in batch",
+            description = "Group purchase of up to 100 tickets, for one or several events; all or nothing"
+    )
+    public ResponseEntity<BatchPurchaseResponse> purchaseBatch(
+            @Valid @RequestBody BatchPurchaseRequest request,
+            @AuthenticationPrincipal User user
+    ) {
+        log.info("POST /api/tickets/purchase/batch - User: {}, Tickets: {}",
+                user.getUsername(), request.tickets().size());
+        // Same gates as a single purchase: seats released for the waitlist are theirs
+        for (UUID eventId : request.seatsPerEvent().keySet()) {
+            soldOutRegistry.rejectIfSoldOut(eventId);
+            waitlistService.rejectIfWaitlisted(eventId);
+        }
+        BatchPurchaseResponse response = ticketService.purchaseBatch(request, user);
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(response);
+    }
+
+    @PostMapping("/holds")
+    @PreAuthorize("isAuthenticated()")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @Operation(
+            summary = "Hold seat",
+            description = "Reserve one seat for a limited time; confirm the hold to get the ticket"
+    )
+    public ResponseEntity<SeatHoldResponse> holdSeat(
+            @RequestParam UUID eventId,
+            @AuthenticationPrincipal User user
+    ) {
+        log.info("POST /api/tickets/holds - User: {}, Event: {}", user.getUsername(), eventId);
+        waitlistService.rejectIfWaitlisted(eventId);
+        SeatHoldResponse hold = seatHoldService.hold(eventId, user);
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(hold);
+    }
+
+    @PostMapping("/holds/{holdId}/confirm")
+    @PreAuthorize("isAuthenticated()")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @Operation(summary = "Confirm hold", description = "Turn a seat hold into a ticket")
+    public ResponseEntity<TicketResponse> confirmHold(
+            @PathVariable UUID holdId,
+            @Valid @RequestBody ConfirmHoldRequest request,
+            @AuthenticationPrincipal User user
+    ) {
+        log.info("POST /api/tickets/holds/{}/confirm - User: {}", holdId, user.getUsername());
+        TicketResponse ticket = seatHoldService.confirm(holdId, request, user);
         return ResponseEntity
                 .status(HttpStatus.CREATED)
                 .body(ticket);
     }
 
+    @DeleteMapping("/holds/{holdId}")
+    @PreAuthorize("isAuthenticated()")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @Operation(summary = "Release hold", description = "Give a held seat back before it expires")
+    public ResponseEntity<Void> releaseHold(
+            @PathVariable UUID holdId,
+            @AuthenticationPrincipal User user
+    ) {
+        log.info("DELETE /api/tickets/holds/{} - User: {}", holdId, user.getUsername());
+        seatHoldService.release(holdId, user);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/queue/{queueToken}")
+    @PreAuthorize("isAuthenticated()")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @Operation(summary = "Queue position", description = "Position in the waiting room for a queued purchase")
+    public ResponseEntity<QueueStatusResponse> getQueueStatus(
+            @PathVariable UUID queueToken
+    ) {
+        log.debug("GET /api/tickets/queue/{}", queueToken);
+        return ResponseEntity.ok(admissionControlService.getStatus(queueToken));
+    }
+
     @GetMapping("/my-tickets")
     @PreAuthorize("isAuthenticated()")
     @SecurityRequirement(name = "Bearer Authentication")
@@ -70,6 +227,26 @@ public class TicketController {
         return ResponseEntity.ok(tickets);
     }
 
+    @GetMapping("/my-tickets/scroll")
+    @PreAuthorize("isAuthenticated()")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @Operation(summary = "Scroll my tickets", description = "Cursor-paginated list of the current user's tickets, newest first")
+    public ResponseEntity<CursorPage<TicketResponse>> scrollMyTickets(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            @AuthenticationPrincipal User user
+    ) {
+        log.debug("GET /api/tickets/my-tickets/scroll - User: {}", user.getUsername());
+        CursorPage<TicketResponse> tickets = ticketService.scrollUserTickets(
+                user,
+                cursor,
+                Math.min(Math.max(size, 1), 100),
+                includeTotal
+        );
+        return ResponseEntity.ok(tickets);
+    }
+
     @GetMapping("/my-tickets/active")
     @PreAuthorize("isAuthenticated()")
     @SecurityRequirement(name = "Bearer Authentication")
@@ -100,14 +277,24 @@ public class TicketController {
     @DeleteMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
     @SecurityRequirement(name = "Bearer Authentication")
-    @Operation(summary = "Cancel ticket", description = "Cancel/refund ticket")
+    @Operation(
+            summary = "Cancel ticket",
+            description = "Cancel/refund ticket. Retries sent with the same Idempotency-Key get the original answer back"
+    )
     public ResponseEntity<TicketResponse> cancelTicket(
             @PathVariable UUID id,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @AuthenticationPrincipal User user
     ) {
         log.info("DELETE /api/tickets/{} - User: {}", id, user.getUsername());
 
-        TicketResponse ticket = ticketService.cancelTicket(id, user);
+        TicketResponse ticket = idempotencyKey == null
+                ? ticketService.cancelTicket(id, user)
+                : idempotencyStore.execute(
+                        IdempotencyStore.key("cancel", user.getId(), idempotencyKey),
+                        id.toString(),
+                        TicketResponse.class,
+                        () -> ticketService.cancelTicket(id, user));
 
         return ResponseEntity.ok(ticket);
     }
@@ -0,0 +1,72 @@
+package com.eventhub.controller;
+
+import com.eventhub.dto.response.WaitlistStatusResponse;
+import com.eventhub.entity.User;
+import com.eventhub.service.WaitlistService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/events/{eventId}/waitlist")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Waitlist", description = "Waitlist for sold-out events")
+@CrossOrigin(origins = "*")
+public class WaitlistController {
+
+    private final WaitlistService waitlistService;
+
+    @PostMapping
+    @PreAuthorize("isAuthenticated()")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @Operation(
+            summary = "Join waitlist",
+            description = "Wait for a seat of a sold-out event. Freed seats are offered in order as a "
+                    + "seat hold, to be confirmed before it expires"
+    )
+    public ResponseEntity<WaitlistStatusResponse> join(
+            @PathVariable UUID eventId,
+            @AuthenticationPrincipal User user
+    ) {
+        log.info("POST /api/events/{}/waitlist - User: {}", eventId, user.getUsername());
+        WaitlistStatusResponse status = waitlistService.join(eventId, user);
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(status);
+    }
+
+    @GetMapping
+    @PreAuthorize("isAuthenticated()")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @Operation(summary = "Get waitlist status", description = "Position in the waitlist, or the seat offered")
+    public ResponseEntity<WaitlistStatusResponse> getStatus(
+            @PathVariable UUID eventId,
+            @AuthenticationPrincipal User user
+    ) {
+        log.debug("GET /api/events/{}/waitlist - User: {}", eventId, user.getUsername());
+        return ResponseEntity.ok(waitlistService.getStatus(eventId, user));
+    }
+
+    @DeleteMapping
+    @PreAuthorize("isAuthenticated()")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @Operation(summary = "Leave waitlist", description = "Leave the waitlist; an offered seat goes to the next user")
+    public ResponseEntity<Void> leave(
+            @PathVariable UUID eventId,
+            @AuthenticationPrincipal User user
+    ) {
+        log.info("DELETE /api/events/{}/waitlist - User: {}", eventId, user.getUsername());
+        waitlistService.leave(eventId, user);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,27 @@
+package com.eventhub.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public record BatchPurchaseRequest(
+        @NotEmpty(message = "Informe ao menos um ingresso")
+        @Size(max = 100, message = "Uma compra em grupo pode ter no máximo 100 ingressos")
+        List<@Valid PurchaseTicketRequest> tickets
+) {
+    /**
+     * Seats requested per event, in the order the events first appear.
+     */
+    public Map<UUID, Integer> seatsPerEvent() {
+        Map<UUID, Integer> seats = new LinkedHashMap<>();
+        for (PurchaseTicketRequest ticket : tickets) {
+            seats.merge(ticket.eventId(), 1, Integer::sum);
+        }
+        return seats;
+    }
+}
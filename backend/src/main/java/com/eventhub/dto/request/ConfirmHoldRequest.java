@@ -0,0 +1,16 @@
+package com.eventhub.dto.request;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+public record ConfirmHoldRequest(
+        @NotBlank(message = "Nome do participante é obrigatório")
+        @Size(min = 2, max = 255, message = "Nome do participante deve ter entre 2 e 255 caracteres")
+        String participantName,
+        @NotBlank(message = "E-mail do participante é obrigatório")
+        @Email(message = "E-mail do participante deve ser válido")
+        @Size(max = 255, message = "E-mail do participante não pode exceder 255 caracteres")
+        String participantEmail
+) {
+}
@@ -0,0 +1,14 @@
+package com.eventhub.dto.response;
+
+import java.util.List;
+import java.util.UUID;
+
+public record BatchPurchaseResponse(UUID batchId, int quantity, List<String> confirmationCodes,
+                                    List<TicketResponse> tickets) {
+    public static BatchPurchaseResponse of(UUID batchId, List<TicketResponse> tickets) {
+        List<String> codes = tickets.stream()
+                .map(TicketResponse::confirmationCode)
+                .toList();
+        return new BatchPurchaseResponse(batchId, tickets.size(), codes, tickets);
+    }
+}
@@ -0,0 +1,30 @@
+package com.eventhub.dto.response;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing.
+ *
+ * @param nextCursor    opaque cursor for the following page, null on the last page
+ * @param totalElements only filled when the caller asked for it (it costs a COUNT query)
+ */
+public record CursorPage<T>(List<T> content, int size, String nextCursor, boolean hasNext, Long totalElements) {
+
+    /**
+     * Build a page from a query that fetched {@code size + 1} rows: the extra row only tells
+     * whether there is a next page.
+     */
+    public static <E, T> CursorPage<T> of(
+            List<E> rows,
+            int size,
+            Function<E, String> cursorOf,
+            Function<List<E>, List<T>> mapper,
+            Long totalElements
+    ) {
+        boolean hasNext = rows.size() > size;
+        List<E> page = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(page.get(page.size() - 1)) : null;
+        return new CursorPage<>(mapper.apply(page), size, nextCursor, hasNext, totalElements);
+    }
+}
@@ -0,0 +1,31 @@
+package com.eventhub.dto.response;
+
+import com.eventhub.entity.EventCancellation;
+import com.eventhub.enums.CancellationStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * @param emailsEnqueued notification emails handed to the outbox so far, out of
+ *                       {@code ticketsCancelled}
+ */
+public record EventCancellationResponse(
+        UUID eventId,
+        CancellationStatus status,
+        int ticketsCancelled,
+        int emailsEnqueued,
+        LocalDateTime cancelledAt,
+        LocalDateTime completedAt
+) {
+    public static EventCancellationResponse fromEntity(EventCancellation cancellation) {
+        return new EventCancellationResponse(
+                cancellation.getEventId(),
+                cancellation.getStatus(),
+                cancellation.getTicketsCancelled(),
+                cancellation.getEmailsEnqueued(),
+                cancellation.getCancelledAt(),
+                cancellation.getCompletedAt()
+        );
+    }
+}
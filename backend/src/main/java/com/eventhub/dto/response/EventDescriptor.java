@@ -0,0 +1,51 @@
+package com.eventhub.dto.response;
+
+import com.eventhub.entity.Event;
+import com.eventhub.enums.EventStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * The slow-changing part of an event, cached for a long time. Seat availability is not part
+ * of it: it comes from {@link com.eventhub.service.LiveCapacityRegistry} when the response is built.
+ */
+public record EventDescriptor(
+        UUID id,
+        String name,
+        String description,
+        LocalDateTime eventDate,
+        String location,
+        Integer capacity,
+        BigDecimal price,
+        String imageUrl,
+        EventStatus status,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {
+    public static EventDescriptor fromEntity(Event event) {
+        return new EventDescriptor(
+                event.getId(),
+                event.getName(),
+                event.getDescription(),
+                event.getEventDate(),
+                event.getLocation(),
+                event.getCapacity(),
+                event.getPrice(),
+                event.getImageUrl(),
+                event.getStatus(),
+                event.getCreatedAt(),
+                event.getUpdatedAt()
+        );
+    }
+
+    /**
+     * Derived, not cached: written as a property it would not read back from Redis.
+     */
+    @JsonIgnore
+    public boolean isPast() {
+        return eventDate.isBefore(LocalDateTime.now());
+    }
+}
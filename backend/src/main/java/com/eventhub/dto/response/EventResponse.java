@@ -26,28 +26,35 @@ public record EventResponse(
         LocalDateTime updatedAt
         ) {
     public static EventResponse fromEntity(Event event) {
-        int ticketsSold = event.getCapacity() - event.getAvailableCapacity();
-        double soldPercentage = (ticketsSold * 100.0) / event.getCapacity();
+        return of(EventDescriptor.fromEntity(event), event.getAvailableCapacity());
+    }
+
+    /**
+     * Merge a cached descriptor with the current number of free seats.
+     */
+    public static EventResponse of(EventDescriptor event, int availableCapacity) {
+        int ticketsSold = event.capacity() - availableCapacity;
+        double soldPercentage = (ticketsSold * 100.0) / event.capacity();
         boolean isPast = event.isPast();
-        boolean isAvailable = event.hasAvailableCapacity() && !isPast;
+        boolean isAvailable = availableCapacity > 0 && !isPast;
 
         return new EventResponse(
-                event.getId(),
-                event.getName(),
-                event.getDescription(),
-                event.getEventDate(),
-                event.getLocation(),
-                event.getCapacity(),
-                event.getAvailableCapacity(), // Maps to availableTickets
-                event.getPrice(),
-                event.getImageUrl(),
-                event.getStatus(),
+                event.id(),
+                event.name(),
+                event.description(),
+                event.eventDate(),
+                event.location(),
+                event.capacity(),
+                availableCapacity, // Maps to availableTickets
+                event.price(),
+                event.imageUrl(),
+                event.status(),
                 ticketsSold,
                 Math.round(soldPercentage * 100.0) / 100.0,
                 isAvailable,
                 isPast,
-                event.getCreatedAt(),
-                event.getUpdatedAt()
+                event.createdAt(),
+                event.updatedAt()
         );
     }
 }
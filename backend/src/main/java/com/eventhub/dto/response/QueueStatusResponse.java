@@ -0,0 +1,21 @@
+package com.eventhub.dto.response;
+
+import com.eventhub.enums.QueueStatus;
+
+import java.util.UUID;
+
+public record QueueStatusResponse(
+        UUID queueToken,
+        UUID eventId,
+        QueueStatus status,
+        long position,
+        long estimatedWaitSeconds
+) {
+    public static QueueStatusResponse expired(UUID queueToken) {
+        return new QueueStatusResponse(queueToken, null, QueueStatus.EXPIRED, 0, 0);
+    }
+
+    public boolean isAdmitted() {
+        return status == QueueStatus.ADMITTED;
+    }
+}
@@ -0,0 +1,11 @@
+package com.eventhub.dto.response;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record SeatHoldResponse(
+        UUID holdId,
+        UUID eventId,
+        LocalDateTime expiresAt
+) {
+}
@@ -0,0 +1,20 @@
+package com.eventhub.dto.response;
+
+import com.eventhub.enums.WaitlistStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * @param position   1-based place among the users still waiting; 0 once a seat is offered
+ * @param holdId     seat hold to confirm with {@code POST /api/tickets/holds/{holdId}/confirm}
+ */
+public record WaitlistStatusResponse(
+        UUID entryId,
+        UUID eventId,
+        WaitlistStatus status,
+        int position,
+        UUID holdId,
+        LocalDateTime offerExpiresAt
+) {
+}
@@ -0,0 +1,49 @@
+package com.eventhub.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Seats a node leased from an event for its {@code CapacityLedger} (V13).
+ */
+@Entity
+@Table(name = "capacity_leases")
+@IdClass(CapacityLease.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class CapacityLease {
+
+    @Id
+    @Column(name = "node_id", columnDefinition = "UUID")
+    @EqualsAndHashCode.Include
+    private UUID nodeId;
+
+    @Id
+    @Column(name = "event_id", columnDefinition = "UUID")
+    @EqualsAndHashCode.Include
+    private UUID eventId;
+
+    @Column(name = "seats", nullable = false)
+    private int seats;
+
+    @Column(name = "heartbeat_at", nullable = false)
+    private LocalDateTime heartbeatAt;
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private UUID nodeId;
+        private UUID eventId;
+    }
+}
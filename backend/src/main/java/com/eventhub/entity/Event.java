@@ -161,6 +161,10 @@ public class Event {
         return this.eventDate.isBefore(LocalDateTime.now());
     }
 
+    public boolean isCancelled() {
+        return this.status == EventStatus.CANCELLED;
+    }
+
     public double getOccupancyRate() {
         if (this.capacity == 0) {
             return 0.0;
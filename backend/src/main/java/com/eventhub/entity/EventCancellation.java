@@ -0,0 +1,61 @@
+package com.eventhub.entity;
+
+import com.eventhub.enums.CancellationStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Progress of an event cancellation (V12). The row is inserted by the statement that cancels
+ * the tickets; notification emails then advance the cursor chunk by chunk.
+ */
+@Entity
+@Table(name = "event_cancellations")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class EventCancellation {
+
+    @Id
+    @Column(name = "event_id", columnDefinition = "UUID")
+    @EqualsAndHashCode.Include
+    private UUID eventId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private CancellationStatus status;
+
+    @Column(name = "tickets_cancelled", nullable = false)
+    private int ticketsCancelled;
+
+    @Column(name = "emails_enqueued", nullable = false)
+    private int emailsEnqueued;
+
+    @Column(name = "cursor_ticket_id", columnDefinition = "UUID")
+    private UUID cursorTicketId;
+
+    @Column(name = "cancelled_at", nullable = false, updatable = false)
+    private LocalDateTime cancelledAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void touch() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public boolean isRunning() {
+        return status == CancellationStatus.RUNNING;
+    }
+}
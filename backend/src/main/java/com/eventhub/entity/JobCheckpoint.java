@@ -0,0 +1,59 @@
+package com.eventhub.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Progress of a background job (V10). A non-null {@code runUntil} means a run was
+ * interrupted and must resume after the cursor.
+ */
+@Entity
+@Table(name = "job_checkpoints")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class JobCheckpoint {
+
+    @Id
+    @Column(name = "job_name", length = 100)
+    @EqualsAndHashCode.Include
+    private String jobName;
+
+    @Column(name = "covered_until")
+    private LocalDateTime coveredUntil;
+
+    @Column(name = "run_until")
+    private LocalDateTime runUntil;
+
+    @Column(name = "cursor_event_date")
+    private LocalDateTime cursorEventDate;
+
+    @Column(name = "cursor_event_id", columnDefinition = "UUID")
+    private UUID cursorEventId;
+
+    @Column(name = "cursor_ticket_id", columnDefinition = "UUID")
+    private UUID cursorTicketId;
+
+    @Column(name = "processed", nullable = false)
+    private long processed;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void touch() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public boolean inProgress() {
+        return runUntil != null;
+    }
+}
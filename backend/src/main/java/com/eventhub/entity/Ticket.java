@@ -66,6 +66,12 @@ public class Ticket {
     @Builder.Default
     private TicketStatus status = TicketStatus.ACTIVE;
 
+    @Column(name = "batch_id", columnDefinition = "UUID")
+    private UUID batchId;
+
+    @Column(name = "lease_node_id", columnDefinition = "UUID")
+    private UUID leaseNodeId;
+
     @Column(name = "confirmation_code", unique = true, nullable = false, length = 10)
     private String confirmationCode;
 
@@ -161,6 +167,10 @@ public class Ticket {
         return status.isCancelled();
     }
 
+    public boolean isPartOfBatch() {
+        return batchId != null;
+    }
+
     public boolean belongsTo(UUID userId) {
         return this.user != null && this.user.getId().equals(userId);
     }
@@ -20,6 +20,7 @@ import java.util.UUID;
         @Index(name = "idx_username", columnList = "username"),
         @Index(name = "idx_email", columnList = "email")
 })
+@EntityListeners(UserStatusListener.class)
 @Cacheable
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Getter
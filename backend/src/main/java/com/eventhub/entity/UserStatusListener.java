@@ -0,0 +1,25 @@
+package com.eventhub.entity;
+
+import com.eventhub.event.UserStatusChangedEvent;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Announces user changes so {@link com.eventhub.security.UserStatusCache} can drop its entry.
+ * Instantiated by Spring through Hibernate's bean container.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserStatusListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostUpdate
+    @PostRemove
+    void onChange(User user) {
+        eventPublisher.publishEvent(new UserStatusChangedEvent(user.getId()));
+    }
+}
@@ -0,0 +1,45 @@
+package com.eventhub.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Place of a user in the waitlist of a sold-out event (V11).
+ */
+@Entity
+@Table(name = "waitlist_entries")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class WaitlistEntry {
+
+    @Id
+    @GeneratedValue(generator = "UUID")
+    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
+    @Column(name = "id", updatable = false, nullable = false, columnDefinition = "UUID")
+    @EqualsAndHashCode.Include
+    private UUID id;
+
+    @Column(name = "event_id", nullable = false, columnDefinition = "UUID")
+    private UUID eventId;
+
+    @Column(name = "user_id", nullable = false, columnDefinition = "UUID")
+    private UUID userId;
+
+    @Column(name = "joined_at", nullable = false)
+    private LocalDateTime joinedAt;
+
+    @Column(name = "hold_id", columnDefinition = "UUID")
+    private UUID holdId;
+
+    @Column(name = "offer_expires_at")
+    private LocalDateTime offerExpiresAt;
+}
@@ -0,0 +1,6 @@
+package com.eventhub.enums;
+
+public enum CancellationStatus {
+    RUNNING,
+    COMPLETED
+}
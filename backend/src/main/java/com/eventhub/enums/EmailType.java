@@ -0,0 +1,18 @@
+package com.eventhub.enums;
+
+public enum EmailType {
+    TICKET_CONFIRMATION,
+    TICKET_CANCELLATION,
+    EVENT_REMINDER,
+    EVENT_CANCELLATION,
+    WAITLIST_OFFER,
+    WELCOME,
+    PASSWORD_RESET;
+
+    /**
+     * Idempotency key of the email of this type about {@code reference} (ticket, user...).
+     */
+    public String keyFor(Object reference) {
+        return name() + ":" + reference;
+    }
+}
@@ -0,0 +1,7 @@
+package com.eventhub.enums;
+
+public enum OutboxStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
@@ -0,0 +1,23 @@
+package com.eventhub.enums;
+
+public enum PurchaseMode {
+    LOCKING,
+    LEDGER,
+    CONDITIONAL;
+
+    public boolean usesLedger() {
+        return this == LEDGER;
+    }
+
+    public boolean usesConditionalUpdate() {
+        return this == CONDITIONAL;
+    }
+
+    public String getDescription() {
+        return switch (this) {
+            case LOCKING -> "Locking - SELECT ... FOR UPDATE on the event row per ticket";
+            case LEDGER -> "Ledger - in-memory sharded capacity leased from the event row in blocks";
+            case CONDITIONAL -> "Conditional - one UPDATE ... WHERE available_capacity > 0 plus insert per ticket";
+        };
+    }
+}
@@ -0,0 +1,19 @@
+package com.eventhub.enums;
+
+public enum QueueStatus {
+    WAITING,
+    ADMITTED,
+    EXPIRED;
+
+    public boolean isWaiting() {
+        return this == WAITING;
+    }
+
+    public boolean isAdmitted() {
+        return this == ADMITTED;
+    }
+
+    public boolean isExpired() {
+        return this == EXPIRED;
+    }
+}
@@ -0,0 +1,6 @@
+package com.eventhub.enums;
+
+public enum WaitlistStatus {
+    WAITING,
+    OFFERED
+}
@@ -0,0 +1,9 @@
+package com.eventhub.event;
+
+import java.util.UUID;
+
+/**
+ * Published when an event and all its active tickets were cancelled.
+ */
+public record EventCancelledEvent(UUID eventId, int ticketsCancelled) {
+}
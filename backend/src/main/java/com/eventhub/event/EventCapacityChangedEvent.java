@@ -0,0 +1,19 @@
+package com.eventhub.event;
+
+import java.util.UUID;
+
+/**
+ * Published when tickets are bought or cancelled, changing how many seats an event has left.
+ *
+ * @param delta seats given back (positive) or taken (negative)
+ */
+public record EventCapacityChangedEvent(UUID eventId, int delta) {
+
+    public static EventCapacityChangedEvent taken(UUID eventId, int seats) {
+        return new EventCapacityChangedEvent(eventId, -seats);
+    }
+
+    public static EventCapacityChangedEvent released(UUID eventId, int seats) {
+        return new EventCapacityChangedEvent(eventId, seats);
+    }
+}
@@ -0,0 +1,9 @@
+package com.eventhub.event;
+
+import java.util.UUID;
+
+/**
+ * Published when an event is created, edited or deleted.
+ */
+public record EventCatalogChangedEvent(UUID eventId) {
+}
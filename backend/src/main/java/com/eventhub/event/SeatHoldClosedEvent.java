@@ -0,0 +1,11 @@
+package com.eventhub.event;
+
+import java.util.UUID;
+
+/**
+ * Published when a seat hold ends: confirmed into a ticket, released by its owner or expired.
+ *
+ * @param confirmed true only when the hold became a ticket
+ */
+public record SeatHoldClosedEvent(UUID holdId, UUID eventId, UUID userId, boolean confirmed) {
+}
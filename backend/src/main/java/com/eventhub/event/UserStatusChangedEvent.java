@@ -0,0 +1,9 @@
+package com.eventhub.event;
+
+import java.util.UUID;
+
+/**
+ * Published when a user row is updated or deleted (lock, disable, role change...).
+ */
+public record UserStatusChangedEvent(UUID userId) {
+}
@@ -8,4 +8,11 @@ public class BusinessException extends RuntimeException {
     public BusinessException(String message, Throwable cause) {
         super(message, cause);
     }
+
+    /**
+     * For preallocated exceptions thrown on hot paths: no stack trace, no suppression.
+     */
+    protected BusinessException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
 }
\ No newline at end of file
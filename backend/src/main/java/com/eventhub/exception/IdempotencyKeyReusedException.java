@@ -0,0 +1,10 @@
+package com.eventhub.exception;
+
+/**
+ * An Idempotency-Key was sent again with a different request; answered with 422.
+ */
+public class IdempotencyKeyReusedException extends RuntimeException {
+    public IdempotencyKeyReusedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.eventhub.exception;
+
+/**
+ * Purchase of a sold-out event. A single stackless instance is shared: sold-out rejections are
+ * the most frequent error during an on-sale and carry no per-request detail.
+ */
+public final class SoldOutException extends BusinessException {
+
+    public static final String MESSAGE = "Evento esgotado";
+
+    public static final SoldOutException INSTANCE = new SoldOutException();
+
+    private SoldOutException() {
+        super(MESSAGE, false);
+    }
+}
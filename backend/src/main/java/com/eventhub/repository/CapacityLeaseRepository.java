@@ -0,0 +1,71 @@
+package com.eventhub.repository;
+
+import com.eventhub.entity.CapacityLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface CapacityLeaseRepository extends JpaRepository<CapacityLease, CapacityLease.Key> {
+
+    /**
+     * Add seats to the node's lease of the event, creating the row on the first lease.
+     */
+    @Modifying
+    @Query(
+            value = """
+                    INSERT INTO capacity_leases (node_id, event_id, seats, heartbeat_at)
+                    VALUES (:nodeId, :eventId, :seats, CURRENT_TIMESTAMP)
+                    ON CONFLICT (node_id, event_id)
+                    DO UPDATE SET seats = capacity_leases.seats + EXCLUDED.seats,
+                                  heartbeat_at = EXCLUDED.heartbeat_at
+                    """,
+            nativeQuery = true
+    )
+    int addSeats(@Param("nodeId") UUID nodeId, @Param("eventId") UUID eventId, @Param("seats") int seats);
+
+    /**
+     * @return 0 when the row is gone, i.e. another node already reclaimed the lease
+     */
+    @Modifying
+    @Query(
+            value = """
+                    UPDATE capacity_leases
+                    SET seats = seats - :seats
+                    WHERE node_id = :nodeId AND event_id = :eventId
+                    """,
+            nativeQuery = true
+    )
+    int removeSeats(@Param("nodeId") UUID nodeId, @Param("eventId") UUID eventId, @Param("seats") int seats);
+
+    @Modifying
+    @Query(
+            value = "UPDATE capacity_leases SET heartbeat_at = CURRENT_TIMESTAMP WHERE node_id = :nodeId",
+            nativeQuery = true
+    )
+    int heartbeat(@Param("nodeId") UUID nodeId);
+
+    @Query("SELECT l.eventId FROM CapacityLease l WHERE l.nodeId = :nodeId")
+    List<UUID> findEventIdsByNodeId(@Param("nodeId") UUID nodeId);
+
+    /**
+     * Leases of nodes silent for {@code timeoutMillis}, measured on the database clock like the
+     * heartbeats. Rows another node is reclaiming are skipped.
+     */
+    @Query(
+            value = """
+                    SELECT * FROM capacity_leases
+                    WHERE heartbeat_at < CURRENT_TIMESTAMP - :timeoutMillis * INTERVAL '1 millisecond'
+                    ORDER BY heartbeat_at
+                    LIMIT :limit
+                    FOR UPDATE SKIP LOCKED
+                    """,
+            nativeQuery = true
+    )
+    List<CapacityLease> lockStale(@Param("timeoutMillis") long timeoutMillis, @Param("limit") int limit);
+}
@@ -0,0 +1,98 @@
+package com.eventhub.repository;
+
+import com.eventhub.entity.OutboxEmail;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<OutboxEmail, UUID> {
+
+    /**
+     * Joins the caller's transaction. Returns 0 when an email with the same key was already
+     * enqueued.
+     */
+    @Modifying
+    @Query(
+            value = """
+                    INSERT INTO email_outbox (idempotency_key, type, recipient, subject, body,
+                                              status, attempts, next_attempt_at, created_at)
+                    VALUES (:idempotencyKey, :type, :recipient, :subject, :body,
+                            'PENDING', 0, :now, :now)
+                    ON CONFLICT (idempotency_key) DO NOTHING
+                    """,
+            nativeQuery = true
+    )
+    int enqueue(
+            @Param("idempotencyKey") String idempotencyKey,
+            @Param("type") String type,
+            @Param("recipient") String recipient,
+            @Param("subject") String subject,
+            @Param("body") String body,
+            @Param("now") LocalDateTime now
+    );
+
+    /**
+     * Claims up to {@code batchSize} due emails in its own short transaction: each one gets an
+     * attempt counted and is hidden from other dispatchers until {@code leaseUntil}. Rows
+     * locked by a concurrent claim are skipped, not waited on.
+     */
+    @Transactional
+    @Query(
+            value = """
+                    UPDATE email_outbox
+                    SET attempts = attempts + 1,
+                        next_attempt_at = :leaseUntil
+                    WHERE id IN (
+                        SELECT id FROM email_outbox
+                        WHERE status = 'PENDING'
+                        AND next_attempt_at <= :now
+                        ORDER BY next_attempt_at
+                        LIMIT :batchSize
+                        FOR UPDATE SKIP LOCKED
+                    )
+                    RETURNING *
+                    """,
+            nativeQuery = true
+    )
+    List<OutboxEmail> claimDue(
+            @Param("now") LocalDateTime now,
+            @Param("leaseUntil") LocalDateTime leaseUntil,
+            @Param("batchSize") int batchSize
+    );
+
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE OutboxEmail o
+            SET o.status = com.eventhub.enums.OutboxStatus.SENT, o.sentAt = :now, o.lastError = NULL
+            WHERE o.id IN :ids
+            """)
+    int markSent(@Param("ids") Collection<UUID> ids, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEmail o SET o.nextAttemptAt = :nextAttemptAt, o.lastError = :error WHERE o.id = :id")
+    int reschedule(
+            @Param("id") UUID id,
+            @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+            @Param("error") String error
+    );
+
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE OutboxEmail o
+            SET o.status = com.eventhub.enums.OutboxStatus.FAILED, o.lastError = :error
+            WHERE o.id = :id
+            """)
+    int markFailed(@Param("id") UUID id, @Param("error") String error);
+}
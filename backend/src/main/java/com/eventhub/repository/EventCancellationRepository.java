@@ -0,0 +1,26 @@
+package com.eventhub.repository;
+
+import com.eventhub.entity.EventCancellation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface EventCancellationRepository extends JpaRepository<EventCancellation, UUID> {
+
+    /**
+     * Cancellations whose notifications made no progress since {@code before}: the node
+     * sending them died or was restarted.
+     */
+    @Query("""
+            SELECT c.eventId FROM EventCancellation c
+            WHERE c.status = com.eventhub.enums.CancellationStatus.RUNNING
+            AND c.updatedAt < :before
+            """)
+    List<UUID> findStalled(@Param("before") LocalDateTime before);
+}
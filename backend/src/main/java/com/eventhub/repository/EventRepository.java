@@ -2,16 +2,19 @@ package com.eventhub.repository;
 
 import com.eventhub.entity.Event;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import jakarta.persistence.LockModeType;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -27,6 +30,76 @@ public interface EventRepository extends JpaRepository<Event, UUID> {
     @Query("SELECT e FROM Event e WHERE e.id = :id")
     Optional<Event> findByIdWithLock(@Param("id") UUID id);
 
+    @Query("SELECT e.availableCapacity FROM Event e WHERE e.id = :id")
+    Optional<Integer> findAvailableCapacityById(@Param("id") UUID id);
+
+    @Query("SELECT e.id AS id, e.availableCapacity AS availableCapacity FROM Event e WHERE e.id IN :ids")
+    List<CapacityView> findAvailableCapacityByIds(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Take seats from the event row without a prior SELECT ... FOR UPDATE.
+     * Returns 0 when fewer than the requested seats are left or the event was cancelled.
+     */
+    @Modifying
+    @Query(
+            value = """
+                    UPDATE events
+                    SET available_capacity = available_capacity - :seats
+                    WHERE id = :id
+                    AND available_capacity >= :seats
+                    AND status <> 'CANCELLED'
+                    """,
+            nativeQuery = true
+    )
+    int decrementAvailableCapacity(@Param("id") UUID id, @Param("seats") int seats);
+
+    /**
+     * Give seats back to the event row, never above its total capacity.
+     */
+    @Modifying
+    @Query(
+            value = """
+                    UPDATE events
+                    SET available_capacity = LEAST(capacity, available_capacity + :seats)
+                    WHERE id = :id
+                    """,
+            nativeQuery = true
+    )
+    int incrementAvailableCapacity(@Param("id") UUID id, @Param("seats") int seats);
+
+    /**
+     * Keyset pagination on (eventDate, id); see {@link com.eventhub.util.CursorCodec}.
+     */
+    @Query("SELECT e FROM Event e ORDER BY e.eventDate ASC, e.id ASC")
+    List<Event> findFirstByDateAsc(Limit limit);
+
+    @Query("""
+            SELECT e FROM Event e
+            WHERE e.eventDate >= :eventDate
+            AND (e.eventDate > :eventDate OR e.id > :id)
+            ORDER BY e.eventDate ASC, e.id ASC
+            """)
+    List<Event> findAfterByDateAsc(
+            @Param("eventDate") LocalDateTime eventDate,
+            @Param("id") UUID id,
+            Limit limit
+    );
+
+    @Query("SELECT e FROM Event e ORDER BY e.eventDate DESC, e.id DESC")
+    List<Event> findFirstByDateDesc(Limit limit);
+
+    @Query("""
+            SELECT e FROM Event e
+            WHERE e.eventDate <= :eventDate
+            AND (e.eventDate < :eventDate OR e.id < :id)
+            ORDER BY e.eventDate DESC, e.id DESC
+            """)
+    List<Event> findAfterByDateDesc(
+            @Param("eventDate") LocalDateTime eventDate,
+            @Param("id") UUID id,
+            Limit limit
+    );
+
     Optional<Event> findByName(String name);
 
     List<Event> findByLocation(String location);
@@ -37,6 +110,11 @@ public interface EventRepository extends JpaRepository<Event, UUID> {
 
     List<Event> findByEventDateBetween(LocalDateTime start, LocalDateTime end);
 
+    /**
+     * Soonest events in the window; ordering and limit run in the database (uses idx_events_date).
+     */
+    List<Event> findByEventDateBetweenOrderByEventDateAsc(LocalDateTime start, LocalDateTime end, Limit limit);
+
     List<Event> findByAvailableCapacityGreaterThan(Integer minCapacity);
 
     List<Event> findByNameContainingIgnoreCase(String name);
@@ -55,6 +133,17 @@ public interface EventRepository extends JpaRepository<Event, UUID> {
             """)
     List<Event> findUpcomingEvents();
 
+    /**
+     * Upcoming events whatever their free seats, for the cached listing: seats change on every
+     * purchase and are filtered on read from the live counters.
+     */
+    @Query("""
+            SELECT e FROM Event e
+            WHERE e.eventDate > CURRENT_TIMESTAMP
+            ORDER BY e.eventDate ASC
+            """)
+    List<Event> findAllUpcomingEvents();
+
     @Query("""
             SELECT e FROM Event e
             WHERE (CAST(e.capacity - e.availableCapacity AS double) / e.capacity) > 0.8
@@ -63,14 +152,37 @@ public interface EventRepository extends JpaRepository<Event, UUID> {
             """)
     List<Event> findPopularEvents();
 
-    @Query("""
-            SELECT e FROM Event e
-            WHERE LOWER(e.name) LIKE LOWER(CONCAT('%', :searchTerm, '%'))
-            OR LOWER(e.location) LIKE LOWER(CONCAT('%', :searchTerm, '%'))
-            OR LOWER(e.description) LIKE LOWER(CONCAT('%', :searchTerm, '%'))
-            ORDER BY e.eventDate ASC
-            """)
-    List<Event> searchEvents(@Param("searchTerm") String searchTerm);
+    /**
+     * Ranked search (see V7): full-text prefix match on search_vector, or trigram similarity
+     * on name/location. Ordered by text rank, then similarity, then date.
+     *
+     * @param tsQuery sanitized prefix query, e.g. {@code rock:* & sao:*}
+     * @param term    lowercase raw input, for trigram matching
+     */
+    @Query(
+            value = """
+                    SELECT e.* FROM events e
+                    WHERE e.search_vector @@ to_tsquery('simple', :tsQuery)
+                    OR lower(e.name) % :term
+                    OR lower(e.location) % :term
+                    ORDER BY ts_rank_cd(e.search_vector, to_tsquery('simple', :tsQuery)) DESC,
+                             greatest(similarity(lower(e.name), :term), similarity(lower(e.location), :term)) DESC,
+                             e.event_date ASC,
+                             e.id
+                    """,
+            countQuery = """
+                    SELECT count(*) FROM events e
+                    WHERE e.search_vector @@ to_tsquery('simple', :tsQuery)
+                    OR lower(e.name) % :term
+                    OR lower(e.location) % :term
+                    """,
+            nativeQuery = true
+    )
+    Page<Event> searchRanked(
+            @Param("tsQuery") String tsQuery,
+            @Param("term") String term,
+            Pageable pageable
+    );
 
     @Query(
             value = """
@@ -113,4 +225,10 @@ public interface EventRepository extends JpaRepository<Event, UUID> {
     boolean existsByName(String name);
 
     boolean existsByLocation(String location);
-}
\ No newline at end of file
+
+    interface CapacityView {
+        UUID getId();
+
+        Integer getAvailableCapacity();
+    }
+}
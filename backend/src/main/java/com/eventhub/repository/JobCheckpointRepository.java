@@ -0,0 +1,18 @@
+package com.eventhub.repository;
+
+import com.eventhub.entity.JobCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpoint, String> {
+
+    /**
+     * Cluster-wide mutex for a job: a transaction-scoped PostgreSQL advisory lock, released
+     * automatically when the caller's transaction ends. Returns false when another node holds it.
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(hashtext(:jobName))", nativeQuery = true)
+    boolean tryLockForTransaction(@Param("jobName") String jobName);
+}
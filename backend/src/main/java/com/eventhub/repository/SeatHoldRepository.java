@@ -0,0 +1,54 @@
+package com.eventhub.repository;
+
+import com.eventhub.entity.SeatHold;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface SeatHoldRepository extends JpaRepository<SeatHold, UUID> {
+
+    boolean existsByEventIdAndUserId(UUID eventId, UUID userId);
+
+    long countByLeaseNodeIdAndEventId(UUID leaseNodeId, UUID eventId);
+
+    /**
+     * Whoever deletes the row owns the hold's seat: only one of confirm, release and expiry
+     * gets 1 back.
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM SeatHold h WHERE h.id = :id")
+    int deleteHold(@Param("id") UUID id);
+
+    /**
+     * Consume a hold that has not expired yet; joins the caller's purchase transaction.
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM SeatHold h WHERE h.id = :id AND h.userId = :userId AND h.expiresAt > :now")
+    int claim(@Param("id") UUID id, @Param("userId") UUID userId, @Param("now") LocalDateTime now);
+
+    /**
+     * Holds still there after {@code expiredBefore}: the node that placed them did not expire
+     * them. Rows another node is expiring are skipped.
+     */
+    @Query(
+            value = """
+                    SELECT * FROM seat_holds
+                    WHERE expires_at < :expiredBefore
+                    ORDER BY expires_at
+                    LIMIT :limit
+                    FOR UPDATE SKIP LOCKED
+                    """,
+            nativeQuery = true
+    )
+    List<SeatHold> lockExpired(@Param("expiredBefore") LocalDateTime expiredBefore, @Param("limit") int limit);
+}
@@ -0,0 +1,20 @@
+package com.eventhub.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * What a reminder (or event cancellation) email needs from a ticket and its event, read
+ * without loading entities.
+ */
+public record TicketReminder(
+        UUID ticketId,
+        UUID eventId,
+        LocalDateTime eventDate,
+        String participantName,
+        String participantEmail,
+        String confirmationCode,
+        String eventName,
+        String location
+) {
+}
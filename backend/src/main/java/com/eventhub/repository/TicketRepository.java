@@ -4,22 +4,174 @@ import com.eventhub.entity.Event;
 import com.eventhub.entity.Ticket;
 import com.eventhub.entity.User;
 import com.eventhub.enums.TicketStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface TicketRepository extends JpaRepository<Ticket, UUID> {
+    /**
+     * Tell the decrement_capacity_on_ticket trigger that capacity for tickets inserted
+     * in the current transaction was already reserved by the application.
+     */
+    @Query(value = "SELECT set_config('eventhub.capacity_reserved', 'on', true)", nativeQuery = true)
+    String markCapacityReserved();
+
+    /**
+     * Tell the restore_capacity_on_cancel trigger (V12) that capacity for tickets cancelled in
+     * the current transaction is restored by the statement itself.
+     */
+    @Query(value = "SELECT set_config('eventhub.capacity_restored', 'on', true)", nativeQuery = true)
+    String markCapacityRestored();
+
+    /**
+     * Cancel the event and all its active tickets in one statement: one UPDATE of the tickets,
+     * one capacity adjustment of the event row, and the event_cancellations progress row
+     * stamped with the transaction time. Requires {@link #markCapacityRestored()} so the
+     * per-ticket trigger does not update the event row again.
+     *
+     * @return tickets cancelled
+     */
+    @Query(
+            value = """
+                    WITH cancelled AS (
+                        UPDATE tickets
+                        SET status = 'CANCELLED'
+                        WHERE event_id = :eventId
+                        AND status = 'ACTIVE'
+                        RETURNING id
+                    ), restored AS (
+                        UPDATE events
+                        SET status             = 'CANCELLED',
+                            available_capacity = LEAST(capacity, available_capacity + (SELECT count(*) FROM cancelled)),
+                            version            = version + 1
+                        WHERE id = :eventId
+                        RETURNING id
+                    )
+                    INSERT INTO event_cancellations (event_id, status, tickets_cancelled, emails_enqueued,
+                                                     cancelled_at, updated_at)
+                    SELECT id, 'RUNNING', (SELECT count(*) FROM cancelled), 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+                    FROM restored
+                    RETURNING tickets_cancelled
+                    """,
+            nativeQuery = true
+    )
+    int cancelAllForEvent(@Param("eventId") UUID eventId);
+
+    /**
+     * Tickets still active after the event was cancelled: bought from seats leased before the
+     * cancellation committed. Few rows, so the per-ticket trigger restores their seats.
+     */
+    @Query(
+            value = """
+                    UPDATE tickets
+                    SET status = 'CANCELLED'
+                    WHERE event_id = :eventId
+                    AND status = 'ACTIVE'
+                    RETURNING id
+                    """,
+            nativeQuery = true
+    )
+    List<UUID> cancelRemainingForEvent(@Param("eventId") UUID eventId);
+
+    /**
+     * Tickets cancelled together with their event (updated at or after {@code cancelledAt}),
+     * after the keyset cursor, as projections for the notification email.
+     */
+    @Query("""
+            SELECT new com.eventhub.repository.TicketReminder(
+                t.id, e.id, e.eventDate, t.participant.name, t.participant.email,
+                t.confirmationCode, e.name, e.location)
+            FROM Ticket t
+            JOIN t.event e
+            WHERE e.id = :eventId
+            AND t.status = 'CANCELLED'
+            AND t.updatedAt >= :cancelledAt
+            AND t.id > :afterTicketId
+            ORDER BY t.id ASC
+            """)
+    List<TicketReminder> findCancelledWithEvent(
+            @Param("eventId") UUID eventId,
+            @Param("cancelledAt") LocalDateTime cancelledAt,
+            @Param("afterTicketId") UUID afterTicketId,
+            Limit limit
+    );
+
+    @Query("""
+            SELECT new com.eventhub.repository.TicketReminder(
+                t.id, e.id, e.eventDate, t.participant.name, t.participant.email,
+                t.confirmationCode, e.name, e.location)
+            FROM Ticket t
+            JOIN t.event e
+            WHERE t.id IN :ids
+            """)
+    List<TicketReminder> findWithEventByIds(@Param("ids") List<UUID> ids);
+
+    /**
+     * Reserve the next block of confirmation code indexes (see ConfirmationCodeAllocator).
+     * Read-write on purpose: nextval is rejected inside read-only transactions.
+     */
+    @Transactional
+    @Query(value = "SELECT nextval('confirmation_code_block_seq')", nativeQuery = true)
+    long nextConfirmationCodeBlock();
+
+    /**
+     * Take one seat and insert the ticket in a single statement.
+     * Returns empty when the event does not exist, already happened, was cancelled or is sold out;
+     * duplicates are rejected by idx_unique_active_ticket_per_user_event.
+     * Requires {@link #markCapacityReserved()} so the insert trigger does not decrement again.
+     */
+    @Query(
+            value = """
+                    WITH reserved AS (
+                        UPDATE events
+                        SET available_capacity = available_capacity - 1
+                        WHERE id = :eventId
+                        AND available_capacity > 0
+                        AND event_date > CURRENT_TIMESTAMP
+                        AND status <> 'CANCELLED'
+                        RETURNING id
+                    )
+                    INSERT INTO tickets (event_id, user_id, participant_name, participant_email,
+                                         status, purchase_date, confirmation_code, created_at, updated_at)
+                    SELECT id, :userId, :participantName, :participantEmail,
+                           'ACTIVE', :purchaseDate, :confirmationCode, :purchaseDate, :purchaseDate
+                    FROM reserved
+                    RETURNING id
+                    """,
+            nativeQuery = true
+    )
+    Optional<UUID> insertReservingCapacity(
+            @Param("eventId") UUID eventId,
+            @Param("userId") UUID userId,
+            @Param("participantName") String participantName,
+            @Param("participantEmail") String participantEmail,
+            @Param("confirmationCode") String confirmationCode,
+            @Param("purchaseDate") LocalDateTime purchaseDate
+    );
+
     Optional<Ticket> findByConfirmationCode(String confirmationCode);
 
+    /**
+     * Tickets sold from a node's capacity lease, whatever their status now.
+     */
+    @Query("SELECT COUNT(t) FROM Ticket t WHERE t.leaseNodeId = :nodeId AND t.event.id = :eventId")
+    long countSoldFromLease(@Param("nodeId") UUID nodeId, @Param("eventId") UUID eventId);
+
     @Query("SELECT t FROM Ticket t JOIN FETCH t.event WHERE t.confirmationCode = :code")
     Optional<Ticket> findByConfirmationCodeWithEvent(@Param("code") String confirmationCode);
 
@@ -32,9 +184,38 @@ public interface TicketRepository extends JpaRepository<Ticket, UUID> {
     @Query("SELECT t FROM Ticket t WHERE t.user = :user AND t.status = 'ACTIVE'")
     List<Ticket> findActiveTicketsByUser(@Param("user") User user);
 
-    @Query("SELECT t FROM Ticket t JOIN FETCH t.event WHERE t.user = :user")
+    @Query(
+            value = "SELECT t FROM Ticket t JOIN FETCH t.event WHERE t.user = :user",
+            countQuery = "SELECT COUNT(t) FROM Ticket t WHERE t.user = :user"
+    )
     Page<Ticket> findByUserWithEvent(@Param("user") User user, Pageable pageable);
 
+    /**
+     * Keyset pagination on (purchaseDate, id), newest first; no count query.
+     */
+    @Query("""
+            SELECT t FROM Ticket t JOIN FETCH t.event
+            WHERE t.user = :user
+            ORDER BY t.purchaseDate DESC, t.id DESC
+            """)
+    List<Ticket> findFirstByUserWithEvent(@Param("user") User user, Limit limit);
+
+    @Query("""
+            SELECT t FROM Ticket t JOIN FETCH t.event
+            WHERE t.user = :user
+            AND t.purchaseDate <= :purchaseDate
+            AND (t.purchaseDate < :purchaseDate OR t.id < :id)
+            ORDER BY t.purchaseDate DESC, t.id DESC
+            """)
+    List<Ticket> findAfterByUserWithEvent(
+            @Param("user") User user,
+            @Param("purchaseDate") LocalDateTime purchaseDate,
+            @Param("id") UUID id,
+            Limit limit
+    );
+
+    long countByUser(User user);
+
     List<Ticket> findByEvent(Event event);
 
     List<Ticket> findByEventAndStatus(Event event, TicketStatus status);
@@ -96,14 +277,35 @@ public interface TicketRepository extends JpaRepository<Ticket, UUID> {
             @Param("end") LocalDateTime end
     );
 
+    /**
+     * Active tickets of events up to {@code until}, after the keyset cursor
+     * (eventDate, eventId, ticketId), as projections streamed with a fixed JDBC fetch size.
+     * Must be consumed inside a transaction and closed.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
     @Query("""
-            SELECT t FROM Ticket t 
-            JOIN t.event e 
-            WHERE t.status = 'ACTIVE' 
-            AND e.eventDate > CURRENT_TIMESTAMP 
-            AND e.eventDate <= CURRENT_TIMESTAMP + :hours HOUR
+            SELECT new com.eventhub.repository.TicketReminder(
+                t.id, e.id, e.eventDate, t.participant.name, t.participant.email,
+                t.confirmationCode, e.name, e.location)
+            FROM Ticket t
+            JOIN t.event e
+            WHERE t.status = 'ACTIVE'
+            AND e.eventDate >= :afterDate
+            AND e.eventDate <= :until
+            AND (e.eventDate > :afterDate
+                 OR e.id > :afterEventId
+                 OR (e.id = :afterEventId AND t.id > :afterTicketId))
+            ORDER BY e.eventDate ASC, e.id ASC, t.id ASC
             """)
-    List<Ticket> findTicketsForUpcomingEvents(@Param("hours") int hoursUntilEvent);
+    Stream<TicketReminder> streamReminders(
+            @Param("afterDate") LocalDateTime afterDate,
+            @Param("afterEventId") UUID afterEventId,
+            @Param("afterTicketId") UUID afterTicketId,
+            @Param("until") LocalDateTime until
+    );
 
     @Query("""
             SELECT t FROM Ticket t 
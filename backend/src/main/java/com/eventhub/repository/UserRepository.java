@@ -39,6 +39,17 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     @Query("SELECT u FROM User u WHERE u.enabled = true AND u.accountNonLocked = true")
     List<User> findActiveUsers();
 
+    /**
+     * Current role of an account that may still authenticate; empty when the user is locked,
+     * disabled or no longer exists.
+     */
+    @Query("""
+            SELECT u.role
+            FROM User u
+            WHERE u.id = :id AND u.enabled = true AND u.accountNonLocked = true
+            """)
+    Optional<Role> findActiveRoleById(@Param("id") UUID id);
+
     List<User> findByUsernameContainingIgnoreCase(String username);
 
     List<User> findByEmailContainingIgnoreCase(String email);
@@ -0,0 +1,114 @@
+package com.eventhub.repository;
+
+import com.eventhub.entity.WaitlistEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface WaitlistRepository extends JpaRepository<WaitlistEntry, UUID> {
+
+    Optional<WaitlistEntry> findByEventIdAndUserId(UUID eventId, UUID userId);
+
+    /**
+     * True while anybody is waiting (not yet offered a seat) for the event.
+     */
+    boolean existsByEventIdAndHoldIdIsNull(UUID eventId);
+
+    long countByHoldIdIsNull();
+
+    @Query("SELECT DISTINCT w.eventId FROM WaitlistEntry w WHERE w.holdId IS NULL")
+    List<UUID> findEventIdsWithWaiting();
+
+    /**
+     * Users still waiting ahead of the entry, in (joined_at, id) order.
+     */
+    @Query(
+            value = """
+                    SELECT COUNT(*) FROM waitlist_entries
+                    WHERE event_id = :eventId
+                      AND hold_id IS NULL
+                      AND (joined_at, id) < (:joinedAt, :id)
+                    """,
+            nativeQuery = true
+    )
+    long countWaitingAhead(
+            @Param("eventId") UUID eventId,
+            @Param("joinedAt") LocalDateTime joinedAt,
+            @Param("id") UUID id
+    );
+
+    /**
+     * Head of the queue, skipping entries another node is offering a seat to right now.
+     */
+    @Query(
+            value = """
+                    SELECT * FROM waitlist_entries
+                    WHERE event_id = :eventId
+                      AND hold_id IS NULL
+                      AND offer_expires_at IS NULL
+                    ORDER BY joined_at, id
+                    LIMIT 1
+                    """,
+            nativeQuery = true
+    )
+    Optional<WaitlistEntry> findNextWaiting(@Param("eventId") UUID eventId);
+
+    /**
+     * Reserve the entry for one offer attempt. Only one node gets 1 back; a claim left behind
+     * by a node that stopped runs out at {@code claimedUntil}.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE WaitlistEntry w
+            SET w.offerExpiresAt = :claimedUntil
+            WHERE w.id = :id AND w.holdId IS NULL AND w.offerExpiresAt IS NULL
+            """)
+    int claimForOffer(@Param("id") UUID id, @Param("claimedUntil") LocalDateTime claimedUntil);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE WaitlistEntry w SET w.offerExpiresAt = NULL WHERE w.id = :id AND w.holdId IS NULL")
+    int unclaim(@Param("id") UUID id);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE WaitlistEntry w
+            SET w.offerExpiresAt = NULL
+            WHERE w.holdId IS NULL AND w.offerExpiresAt < :now
+            """)
+    int releaseStaleClaims(@Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE WaitlistEntry w
+            SET w.holdId = :holdId, w.offerExpiresAt = :expiresAt
+            WHERE w.id = :id
+            """)
+    int markOffered(
+            @Param("id") UUID id,
+            @Param("holdId") UUID holdId,
+            @Param("expiresAt") LocalDateTime expiresAt
+    );
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM WaitlistEntry w WHERE w.holdId = :holdId")
+    int deleteByHoldId(@Param("holdId") UUID holdId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM WaitlistEntry w WHERE w.eventId = :eventId")
+    int deleteByEventId(@Param("eventId") UUID eventId);
+}
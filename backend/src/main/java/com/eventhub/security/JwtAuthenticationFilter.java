@@ -2,12 +2,13 @@ package com.eventhub.security;
 
 import com.eventhub.entity.User;
 import com.eventhub.service.AuthService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -23,10 +24,23 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtTokenProvider jwtTokenProvider;
     private final AuthService authService;
+    private final UserStatusCache userStatusCache;
 
-    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider, @Lazy AuthService authService) {
+    /**
+     * Stateless: the principal is rebuilt from the token claims and only the cached account
+     * status and role are checked. Otherwise the user is loaded from the database on every request.
+     */
+    @Value("${application.jwt.stateless:true}")
+    private boolean stateless;
+
+    public JwtAuthenticationFilter(
+        JwtTokenProvider jwtTokenProvider,
+        @Lazy AuthService authService,
+        @Lazy UserStatusCache userStatusCache
+    ) {
         this.jwtTokenProvider = jwtTokenProvider;
         this.authService = authService;
+        this.userStatusCache = userStatusCache;
     }
 
     @Override
@@ -37,8 +51,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     ) throws ServletException, IOException {
         try {
             String jwt = extractJwtFromRequest(request);
-            if (jwt != null && jwtTokenProvider.validateToken(jwt)) {
-                User user = authService.validateTokenAndGetUser(jwt);
+            Claims claims = jwt != null ? jwtTokenProvider.parseClaims(jwt) : null;
+            User user = claims != null ? resolveUser(claims) : null;
+            if (user != null) {
                 UsernamePasswordAuthenticationToken authentication =
                     new UsernamePasswordAuthenticationToken(
                         user,
@@ -57,6 +72,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private User resolveUser(Claims claims) {
+        if (!stateless) {
+            return authService.loadAuthenticatedUser(claims.getSubject());
+        }
+        User user = jwtTokenProvider.toPrincipal(claims);
+        if (!userStatusCache.isActive(user.getId(), user.getRole())) {
+            log.debug("Rejected token of inactive user or stale role: {}", user.getUsername());
+            return null;
+        }
+        return user;
+    }
+
     private String extractJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -1,22 +1,37 @@
 package com.eventhub.security;
 
 import com.eventhub.entity.User;
+import com.eventhub.enums.Role;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class JwtTokenProvider {
 
+    private static final String ROLE_PREFIX = "ROLE_";
 
     @Value("${application.jwt.secret}")
     private String jwtSecret;
@@ -24,6 +39,51 @@ public class JwtTokenProvider {
     @Value("${application.jwt.expiration:86400000}")
     private Long jwtExpirationMs;
 
+    @Value("${application.jwt.verified-cache.max-size:10000}")
+    private long verifiedCacheMaxSize;
+
+    private final MeterRegistry meterRegistry;
+
+    private SecretKey signingKey;
+    private JwtParser parser;
+    private Cache<String, Claims> verifiedTokens;
+
+    /**
+     * Key and parser are immutable and thread-safe, so they are built once instead of per token.
+     * Verified claims are kept per token digest until the token expires, so the HMAC check and
+     * JSON parsing run once per token per node instead of once per request.
+     */
+    @PostConstruct
+    void init() {
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheMaxSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String digest, Claims claims, long currentTime) {
+                        return untilExpiration(claims).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String digest, Claims claims, long currentTime,
+                                                  long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String digest, Claims claims, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt-verified-tokens");
+    }
+
     public String generateToken(User user) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
@@ -37,7 +97,7 @@ public class JwtTokenProvider {
                 .claims(claims)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
 
         log.debug("Generated JWT token for user: {}", user.getUsername());
@@ -45,13 +105,30 @@ public class JwtTokenProvider {
     }
 
     public boolean validateToken(String token) {
-        try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
+        return parseClaims(token) != null;
+    }
 
-            return true;
+    /**
+     * Verify the token and return its claims in a single parse.
+     *
+     * @return null when the token is malformed, expired or badly signed
+     */
+    public Claims parseClaims(String token) {
+        if (token == null || token.isBlank()) {
+            log.error("JWT claims string is empty");
+            return null;
+        }
+        String digest = digest(token);
+        Claims cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            return cached;
+        }
+        try {
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            if (claims.getExpiration() != null) {
+                verifiedTokens.put(digest, claims);
+            }
+            return claims;
 
         } catch (MalformedJwtException ex) {
             log.error("Invalid JWT token format");
@@ -65,7 +142,20 @@ public class JwtTokenProvider {
             log.error("JWT token validation failed: {}", ex.getMessage());
         }
 
-        return false;
+        return null;
+    }
+
+    /**
+     * Rebuild the authenticated principal from the claims written by {@link #generateToken(User)},
+     * without touching the database. Only id, username and role are populated.
+     */
+    public User toPrincipal(Claims claims) {
+        String role = claims.get("role", String.class);
+        return User.builder()
+                .id(UUID.fromString(claims.get("userId", String.class)))
+                .username(claims.getSubject())
+                .role(Role.valueOf(role.substring(ROLE_PREFIX.length())))
+                .build();
     }
 
     public String getUsernameFromToken(String token) {
@@ -89,15 +179,25 @@ public class JwtTokenProvider {
     }
 
     private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        Claims cached = verifiedTokens.getIfPresent(digest(token));
+        return cached != null ? cached : parser.parseSignedClaims(token).getPayload();
+    }
+
+    /**
+     * Cache key: the raw token never stays on the heap beyond the request.
+     */
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static Duration untilExpiration(Claims claims) {
+        long millis = claims.getExpiration().getTime() - System.currentTimeMillis();
+        return Duration.ofMillis(Math.max(0, millis));
     }
 }
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.eventhub.security;
+
+import com.eventhub.cache.CacheSpecs;
+import com.eventhub.enums.Role;
+import com.eventhub.event.UserStatusChangedEvent;
+import com.eventhub.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.UUID;
+
+/**
+ * Whether a token's user may still authenticate with the role the token claims, so stateless
+ * requests can reject locked, disabled or deleted accounts, and demoted admins, without
+ * loading the user.
+ * <p>
+ * The current role (empty when the account is inactive) lives in the
+ * {@link CacheSpecs#USER_STATUS} cache (bounded, short TTL, replicated invalidation when Redis
+ * is on) and is evicted as soon as the user row changes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserStatusCache {
+
+    private static final String INACTIVE = "";
+
+    private final CacheManager cacheManager;
+    private final UserRepository userRepository;
+
+    /**
+     * @param tokenRole role claimed by the token; a token issued before a role change is stale
+     */
+    public boolean isActive(UUID userId, Role tokenRole) {
+        Cache statuses = cacheManager.getCache(CacheSpecs.USER_STATUS);
+        String role = statuses == null ? load(userId) : statuses.get(key(userId), () -> load(userId));
+        return tokenRole.name().equals(role);
+    }
+
+    /**
+     * evictIfPresent is immediate; a plain evict would be deferred by the transaction-aware
+     * decorator to an after-commit phase that has already run.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserStatusChanged(UserStatusChangedEvent event) {
+        Cache statuses = cacheManager.getCache(CacheSpecs.USER_STATUS);
+        if (statuses != null) {
+            statuses.evictIfPresent(key(event.userId()));
+        }
+        log.debug("Status do usuário {} invalidado", event.userId());
+    }
+
+    /**
+     * Prefixed so entries cached as a plain active flag by older nodes are never read as a role.
+     */
+    private static String key(UUID userId) {
+        return "role:" + userId;
+    }
+
+    private String load(UUID userId) {
+        return userRepository.findActiveRoleById(userId).map(Role::name).orElse(INACTIVE);
+    }
+}
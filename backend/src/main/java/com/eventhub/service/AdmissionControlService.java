@@ -0,0 +1,261 @@
+package com.eventhub.service;
+
+import com.eventhub.dto.response.QueueStatusResponse;
+import com.eventhub.enums.QueueStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Virtual waiting room for hot on-sales.
+ * <p>
+ * Each event lets at most {@code max-concurrent-per-event} purchases run at once. Everybody
+ * else gets a queue token and is admitted in FIFO order at {@code admit-rate-per-second},
+ * so buyers wait in memory instead of holding one of Hikari's connections.
+ * Admissions are pushed to {@code /topic/queue/{token}}; clients can also poll.
+ * Buyers admitted from the queue hold their slot until they come back or the admission
+ * expires. Gates of events with nothing running or waiting are dropped on the next tick.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AdmissionControlService {
+
+    private static final String QUEUE_TOPIC = "/topic/queue/";
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    private final Map<UUID, Gate> gates = new ConcurrentHashMap<>();
+    private final Map<UUID, QueueEntry> entries = new ConcurrentHashMap<>();
+
+    @Value("${application.tickets.admission.enabled:true}")
+    private boolean enabled;
+
+    @Value("${application.tickets.admission.max-concurrent-per-event:16}")
+    private int maxConcurrentPerEvent;
+
+    @Value("${application.tickets.admission.admit-rate-per-second:50}")
+    private int admitRatePerSecond;
+
+    @Value("${application.tickets.admission.admitted-ttl:60000}")
+    private long admittedTtlMs;
+
+    @Value("${application.tickets.admission.abandon-after:120000}")
+    private long abandonAfterMs;
+
+    @Value("${application.tickets.admission.tick-interval:200}")
+    private long tickIntervalMs;
+
+    /**
+     * Try to start a purchase for the event.
+     *
+     * @param queueToken token received earlier, or null on the first attempt
+     * @return ADMITTED when the caller may proceed (and must call {@link #exit(UUID)}),
+     * otherwise the caller's place in the queue
+     */
+    public QueueStatusResponse enter(UUID eventId, UUID userId, UUID queueToken) {
+        if (!enabled) {
+            return admitted(null, eventId);
+        }
+        Gate gate = gates.compute(eventId, (id, current) -> {
+            Gate entered = current != null ? current : new Gate();
+            entered.callers.incrementAndGet();
+            return entered;
+        });
+        try {
+            return enter(gate, eventId, userId, queueToken);
+        } finally {
+            gate.callers.decrementAndGet();
+        }
+    }
+
+    private QueueStatusResponse enter(Gate gate, UUID eventId, UUID userId, UUID queueToken) {
+        if (queueToken != null) {
+            QueueEntry entry = entries.get(queueToken);
+            if (entry == null || !entry.eventId.equals(eventId) || !entry.userId.equals(userId)) {
+                return QueueStatusResponse.expired(queueToken);
+            }
+            entry.lastSeen = System.currentTimeMillis();
+            if (entry.status == QueueStatus.ADMITTED && entries.remove(queueToken, entry)) {
+                gate.pendingAdmissions.decrementAndGet();
+                gate.inFlight.incrementAndGet();
+                return admitted(queueToken, eventId);
+            }
+            return statusOf(entry, gate);
+        }
+
+        if (gate.waiting.isEmpty() && tryAcquire(gate)) {
+            return admitted(null, eventId);
+        }
+
+        QueueEntry entry = new QueueEntry(UUID.randomUUID(), eventId, userId, gate.enqueued.incrementAndGet());
+        entries.put(entry.token, entry);
+        gate.waiting.add(entry);
+        log.debug("Evento {} lotado, compra enfileirada na posição {}", eventId, entry.sequence);
+        return statusOf(entry, gate);
+    }
+
+    public void exit(UUID eventId) {
+        if (!enabled) {
+            return;
+        }
+        Gate gate = gates.get(eventId);
+        if (gate != null) {
+            gate.inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * Give up a queue token whose purchase was rejected before {@link #enter} (sold out,
+     * waitlist). An admitted token frees its slot now instead of after {@code admitted-ttl};
+     * a waiting one is dropped as abandoned when its turn comes.
+     */
+    public void release(UUID eventId, UUID userId, UUID queueToken) {
+        if (!enabled || queueToken == null) {
+            return;
+        }
+        QueueEntry entry = entries.get(queueToken);
+        if (entry == null || !entry.eventId.equals(eventId) || !entry.userId.equals(userId)) {
+            return;
+        }
+        if (entry.status == QueueStatus.ADMITTED) {
+            if (entries.remove(queueToken, entry)) {
+                gates.get(eventId).pendingAdmissions.decrementAndGet();
+            }
+        } else {
+            entry.lastSeen = 0;
+        }
+    }
+
+    public QueueStatusResponse getStatus(UUID queueToken) {
+        QueueEntry entry = entries.get(queueToken);
+        if (entry == null) {
+            return QueueStatusResponse.expired(queueToken);
+        }
+        entry.lastSeen = System.currentTimeMillis();
+        return statusOf(entry, gates.get(entry.eventId));
+    }
+
+    /**
+     * Admit waiting buyers in FIFO order, limited by the admission rate and by free purchase slots.
+     */
+    @Scheduled(fixedDelayString = "${application.tickets.admission.tick-interval:200}")
+    public void admitWaiting() {
+        long now = System.currentTimeMillis();
+        double perTick = admitRatePerSecond * tickIntervalMs / 1000.0;
+        gates.forEach((eventId, gate) -> {
+            gate.budget = Math.min(gate.budget + perTick, Math.max(1.0, perTick));
+            int freeSlots = maxConcurrentPerEvent - gate.inFlight.get() - gate.pendingAdmissions.get();
+            while (gate.budget >= 1.0 && freeSlots > 0) {
+                QueueEntry entry = gate.waiting.poll();
+                if (entry == null) {
+                    break;
+                }
+                gate.served.set(entry.sequence);
+                if (now - entry.lastSeen > abandonAfterMs) {
+                    entries.remove(entry.token);
+                    continue;
+                }
+                entry.admittedAt = now;
+                entry.status = QueueStatus.ADMITTED;
+                gate.pendingAdmissions.incrementAndGet();
+                gate.budget -= 1.0;
+                freeSlots--;
+                messagingTemplate.convertAndSend(QUEUE_TOPIC + entry.token, statusOf(entry, gate));
+            }
+        });
+        expireStaleEntries(now);
+        evictIdleGates();
+    }
+
+    /**
+     * The check runs inside compute, which {@link #enter} also uses to register itself, so a
+     * gate is never dropped between a caller finding it and taking a slot.
+     */
+    private void evictIdleGates() {
+        gates.keySet().forEach(eventId -> gates.computeIfPresent(eventId,
+                (id, gate) -> gate.isIdle() ? null : gate));
+    }
+
+    private void expireStaleEntries(long now) {
+        entries.forEach((token, entry) -> {
+            if (entry.status == QueueStatus.ADMITTED
+                    && now - entry.admittedAt > admittedTtlMs
+                    && entries.remove(token, entry)) {
+                gates.get(entry.eventId).pendingAdmissions.decrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Slots promised to admitted buyers who have not come back yet count as taken.
+     */
+    private boolean tryAcquire(Gate gate) {
+        int current = gate.inFlight.get();
+        while (current + gate.pendingAdmissions.get() < maxConcurrentPerEvent) {
+            if (gate.inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+            current = gate.inFlight.get();
+        }
+        return false;
+    }
+
+    private QueueStatusResponse statusOf(QueueEntry entry, Gate gate) {
+        if (entry.status == QueueStatus.ADMITTED) {
+            return admitted(entry.token, entry.eventId);
+        }
+        long position = gate != null ? Math.max(1, entry.sequence - gate.served.get()) : 1;
+        long waitSeconds = admitRatePerSecond > 0 ? position / admitRatePerSecond : 0;
+        return new QueueStatusResponse(entry.token, entry.eventId, QueueStatus.WAITING, position, waitSeconds);
+    }
+
+    private QueueStatusResponse admitted(UUID token, UUID eventId) {
+        return new QueueStatusResponse(token, eventId, QueueStatus.ADMITTED, 0, 0);
+    }
+
+    private static final class Gate {
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger pendingAdmissions = new AtomicInteger();
+        private final Queue<QueueEntry> waiting = new ConcurrentLinkedQueue<>();
+        private final AtomicLong enqueued = new AtomicLong();
+        private final AtomicLong served = new AtomicLong();
+        private final AtomicInteger callers = new AtomicInteger();
+        private double budget;
+
+        private boolean isIdle() {
+            return callers.get() == 0
+                    && inFlight.get() == 0
+                    && pendingAdmissions.get() == 0
+                    && waiting.isEmpty();
+        }
+    }
+
+    private static final class QueueEntry {
+        private final UUID token;
+        private final UUID eventId;
+        private final UUID userId;
+        private final long sequence;
+        private volatile QueueStatus status = QueueStatus.WAITING;
+        private volatile long lastSeen = System.currentTimeMillis();
+        private volatile long admittedAt;
+
+        private QueueEntry(UUID token, UUID eventId, UUID userId, long sequence) {
+            this.token = token;
+            this.eventId = eventId;
+            this.userId = userId;
+            this.sequence = sequence;
+        }
+    }
+}
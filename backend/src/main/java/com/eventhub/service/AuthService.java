@@ -11,7 +11,6 @@ import com.eventhub.security.JwtTokenProvider;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,10 +19,14 @@ import org.springframework.transaction.annotation.Transactional;
 @Slf4j
 public class AuthService {
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashing;
+    private final LoginThrottle loginThrottle;
     private final JwtTokenProvider jwtTokenProvider;
 
-    @Transactional
+    /**
+     * Not transactional: the hash is computed between the short repository calls so a queue of
+     * BCrypt work never sits on pooled connections.
+     */
     public AuthResponse register(RegisterRequest request) {
         log.info("Attempting to register user: {}", request.username());
 
@@ -37,7 +40,7 @@ public class AuthService {
             log.warn("Registration failed: Email already exists: {}", normalizedEmail);
             throw new BusinessException("Email is already registered");
         }
-        String passwordHash = passwordEncoder.encode(request.password());
+        String passwordHash = passwordHashing.encode(request.password());
         User user = User.builder()
                 .username(request.username())
                 .email(normalizedEmail)
@@ -64,19 +67,28 @@ public class AuthService {
         );
     }
 
-    @Transactional(readOnly = true)
-    public AuthResponse login(LoginRequest request) {
+    /**
+     * Throttled per username and client IP before any BCrypt work; hashes made with an older
+     * cost are re-hashed with the current one on success.
+     * <p>
+     * Not transactional for the same reason as {@link #register}: the user is read, the hash
+     * checked with no connection held, and an upgraded hash saved in a transaction of its own.
+     */
+    public AuthResponse login(LoginRequest request, String clientIp) {
         log.info("Login attempt for: {}", request.username());
+        loginThrottle.acquire(request.username(), clientIp);
         User user = userRepository.findByUsernameOrEmail(
                         request.username(),
                         request.username()
                 )
                 .orElseThrow(() -> {
                     log.warn("Login failed: User not found: {}", request.username());
+                    loginThrottle.recordFailure(request.username());
                     return new BadCredentialsException("Invalid credentials");
                 });
-        if (!passwordEncoder.matches(request.password(), user.getPassword())) {
+        if (!passwordHashing.matches(request.password(), user.getPassword())) {
             log.warn("Login failed: Invalid password for user: {}", user.getUsername());
+            loginThrottle.recordFailure(request.username());
             throw new BadCredentialsException("Invalid credentials");
         }
         if (!user.isEnabled()) {
@@ -87,6 +99,11 @@ public class AuthService {
             log.warn("Login failed: Account locked: {}", user.getUsername());
             throw new BusinessException("Account is locked. Please contact support.");
         }
+        if (passwordHashing.needsUpgrade(user.getPassword())) {
+            user.setPasswordHash(passwordHashing.encode(request.password()));
+            userRepository.save(user);
+            log.info("Password hash upgraded for user: {}", user.getUsername());
+        }
         String token = jwtTokenProvider.generateToken(user);
         log.info("User logged in successfully: {}", user.getUsername());
         return new AuthResponse(
@@ -96,12 +113,11 @@ public class AuthService {
         );
     }
 
+    /**
+     * Load the full user behind an already verified token (non-stateless mode).
+     */
     @Transactional(readOnly = true)
-    public User validateTokenAndGetUser(String token) {
-        if (!jwtTokenProvider.validateToken(token)) {
-            throw new BadCredentialsException("Invalid or expired token");
-        }
-        String username = jwtTokenProvider.getUsernameFromToken(token);
+    public User loadAuthenticatedUser(String username) {
         return userRepository.findByUsername(username)
                 .orElseThrow(() -> new BadCredentialsException("User not found"));
     }
@@ -0,0 +1,163 @@
+package com.eventhub.service;
+
+import com.eventhub.entity.CapacityLease;
+import com.eventhub.entity.SeatHold;
+import com.eventhub.repository.CapacityLeaseRepository;
+import com.eventhub.repository.EventRepository;
+import com.eventhub.repository.SeatHoldRepository;
+import com.eventhub.repository.TicketRepository;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Moves seats between events.available_capacity and the in-memory {@link CapacityLedger}.
+ * Each call commits on its own so a rolled back purchase never undoes a lease.
+ * <p>
+ * Every lease is also recorded in capacity_leases under this node's id, in the same
+ * transaction as the events row. A node that dies takes its ledger with it; its rows stop
+ * getting heartbeats and another node hands the unsold seats back ({@link #reclaimStale}).
+ * Held seats ({@link SeatHoldService}) stay out of that count; they come back when the hold ends.
+ * <p>
+ * Statements that touch both rows lock the lease row first, then the events row.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CapacityLeaseService {
+
+    private static final int MAX_LEASE_ATTEMPTS = 3;
+
+    private final EventRepository eventRepository;
+    private final CapacityLeaseRepository capacityLeaseRepository;
+    private final TicketRepository ticketRepository;
+    private final SeatHoldRepository seatHoldRepository;
+
+    /**
+     * Identifies this process in capacity_leases and tickets.lease_node_id. A restarted node is
+     * a new node: its old rows are reclaimed like any other dead node's.
+     */
+    @Getter
+    private final UUID nodeId = UUID.randomUUID();
+
+    /**
+     * Take up to {@code maxSeats} seats from the event row.
+     *
+     * @return seats actually leased, 0 when the event is sold out or does not exist
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int lease(UUID eventId, int maxSeats) {
+        for (int attempt = 0; attempt < MAX_LEASE_ATTEMPTS; attempt++) {
+            int available = eventRepository.findAvailableCapacityById(eventId).orElse(0);
+            int seats = Math.min(maxSeats, available);
+            if (seats <= 0) {
+                return 0;
+            }
+            // Takes the lease row lock ahead of the events row
+            capacityLeaseRepository.addSeats(nodeId, eventId, 0);
+            if (eventRepository.decrementAvailableCapacity(eventId, seats) == 1) {
+                capacityLeaseRepository.addSeats(nodeId, eventId, seats);
+                log.debug("Leased {} seats for event {}", seats, eventId);
+                return seats;
+            }
+        }
+        log.debug("Lease for event {} lost the race {} times", eventId, MAX_LEASE_ATTEMPTS);
+        return 0;
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void release(UUID eventId, int seats) {
+        if (seats <= 0) {
+            return;
+        }
+        if (capacityLeaseRepository.removeSeats(nodeId, eventId, seats) == 0) {
+            // Reclaimed while this node looked dead: the seats are already back in the row
+            log.warn("Outro nó já devolveu os lugares do evento {}, {} lugares descartados", eventId, seats);
+            return;
+        }
+        eventRepository.incrementAvailableCapacity(eventId, seats);
+        log.debug("Returned {} unsold leased seats to event {}", seats, eventId);
+    }
+
+    /**
+     * Tell the other nodes this one is alive.
+     *
+     * @return events this node still has a lease row for; a row missing here was reclaimed
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Set<UUID> heartbeat() {
+        capacityLeaseRepository.heartbeat(nodeId);
+        return new HashSet<>(capacityLeaseRepository.findEventIdsByNodeId(nodeId));
+    }
+
+    /**
+     * Hand back the unsold seats of nodes without a heartbeat for {@code timeoutMillis}.
+     * Rows are locked with SKIP LOCKED, so nodes reclaiming at the same time split the work.
+     *
+     * @return seats returned to the events
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int reclaimStale(long timeoutMillis, int limit) {
+        List<CapacityLease> stale = capacityLeaseRepository.lockStale(timeoutMillis, limit);
+        int returned = 0;
+        for (CapacityLease lease : stale) {
+            long sold = ticketRepository.countSoldFromLease(lease.getNodeId(), lease.getEventId());
+            long held = seatHoldRepository.countByLeaseNodeIdAndEventId(lease.getNodeId(), lease.getEventId());
+            int unsold = (int) Math.max(0, lease.getSeats() - sold - held);
+            if (unsold > 0) {
+                eventRepository.incrementAvailableCapacity(lease.getEventId(), unsold);
+                returned += unsold;
+            }
+            capacityLeaseRepository.delete(lease);
+            log.info("Devolvidos {} lugares não vendidos do nó {} ao evento {}",
+                    unsold, lease.getNodeId(), lease.getEventId());
+        }
+        return returned;
+    }
+
+    /**
+     * End a hold whose seat came from another node's lease: the seat cannot go back into that
+     * node's ledger, so it goes to the events row and leaves the lease.
+     *
+     * @return false when the hold was already confirmed, released or expired
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean releaseHold(UUID holdId, UUID leaseNodeId, UUID eventId) {
+        if (seatHoldRepository.deleteHold(holdId) == 0) {
+            return false;
+        }
+        returnHeldSeats(leaseNodeId, eventId, 1);
+        return true;
+    }
+
+    /**
+     * Expire holds left past {@code expiredBefore}, typically by a node that stopped.
+     *
+     * @return the holds that were expired
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<SeatHold> expireAbandonedHolds(LocalDateTime expiredBefore, int limit) {
+        List<SeatHold> abandoned = seatHoldRepository.lockExpired(expiredBefore, limit);
+        abandoned.forEach(hold -> returnHeldSeats(hold.getLeaseNodeId(), hold.getEventId(), 1));
+        seatHoldRepository.deleteAllInBatch(abandoned);
+        return abandoned;
+    }
+
+    /**
+     * A reclaimed lease left held seats out, so they go back to the event whether or not the
+     * lease row is still there.
+     */
+    private void returnHeldSeats(UUID leaseNodeId, UUID eventId, int seats) {
+        capacityLeaseRepository.removeSeats(leaseNodeId, eventId, seats);
+        eventRepository.incrementAvailableCapacity(eventId, seats);
+    }
+}
@@ -0,0 +1,162 @@
+package com.eventhub.service;
+
+import com.eventhub.util.StripedCapacityCounter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory seat ledger used by {@link com.eventhub.enums.PurchaseMode#LEDGER}.
+ * <p>
+ * Seats are leased from the events row in blocks and split into per-core CAS slots,
+ * so a purchase only touches the database row once per block instead of once per ticket.
+ * Unsold seats of idle events are handed back by {@link CapacityReconciler}.
+ */
+@Service
+@Slf4j
+public class CapacityLedger {
+
+    private final CapacityLeaseService leaseService;
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+
+    @Value("${application.tickets.ledger.lease-size:32}")
+    private int leaseSize;
+
+    public CapacityLedger(CapacityLeaseService leaseService) {
+        this.leaseService = leaseService;
+    }
+
+    /**
+     * Reserve one seat for the event. Call it outside any transaction: a refill takes a
+     * connection of its own while other buyers wait on the refill lock.
+     *
+     * @return false when neither the ledger nor the events row has seats left
+     */
+    public boolean tryReserve(UUID eventId) {
+        while (true) {
+            Entry entry = entries.computeIfAbsent(eventId, id -> new Entry());
+            entry.touch();
+            if (entry.counter.tryAcquire()) {
+                return true;
+            }
+            entry.refillLock.lock();
+            try {
+                if (entry.retired) {
+                    // Drained by the reconciler while we waited, start over with a fresh entry
+                    continue;
+                }
+                // Another buyer may have refilled while we waited for the lock
+                if (entry.counter.tryAcquire()) {
+                    return true;
+                }
+                int leased = leaseService.lease(eventId, leaseSize);
+                if (leased == 0) {
+                    return false;
+                }
+                entry.counter.add(leased - 1);
+                entry.refilledAt = System.currentTimeMillis();
+                return true;
+            } finally {
+                entry.refillLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Put seats back into the ledger, e.g. when the purchase transaction rolled back.
+     */
+    public void release(UUID eventId, int seats) {
+        Entry entry = entries.computeIfAbsent(eventId, id -> new Entry());
+        entry.counter.add(seats);
+        if (entry.retired) {
+            leaseService.release(eventId, entry.counter.drain());
+        }
+    }
+
+    /**
+     * Seats currently held in memory for the event (leased but not sold).
+     */
+    public int localSeats(UUID eventId) {
+        Entry entry = entries.get(eventId);
+        return entry != null ? entry.counter.sum() : 0;
+    }
+
+    /**
+     * Remove events that saw no purchase for {@code idleMillis} and return their unsold seats.
+     */
+    Map<UUID, Integer> drainIdle(long idleMillis) {
+        long cutoff = System.currentTimeMillis() - idleMillis;
+        Map<UUID, Integer> drained = new HashMap<>();
+        entries.forEach((eventId, entry) -> {
+            if (entry.lastAccess < cutoff && entry.refillLock.tryLock()) {
+                try {
+                    entry.retired = true;
+                    entries.remove(eventId, entry);
+                    int seats = entry.counter.drain();
+                    if (seats > 0) {
+                        drained.put(eventId, seats);
+                    }
+                } finally {
+                    entry.refillLock.unlock();
+                }
+            }
+        });
+        return drained;
+    }
+
+    Map<UUID, Integer> drainAll() {
+        return drainIdle(-1);
+    }
+
+    /**
+     * Node whose lease the seats of this ledger belong to.
+     */
+    public UUID nodeId() {
+        return leaseService.getNodeId();
+    }
+
+    /**
+     * Drop seats whose lease row another node reclaimed while this one looked dead: they are
+     * back in events.available_capacity and must not be sold twice.
+     *
+     * @param leasedEvents events with a lease row, read after {@code checkedAt}
+     * @return seats dropped
+     */
+    int discardReclaimed(Set<UUID> leasedEvents, long checkedAt) {
+        int[] discarded = {0};
+        entries.forEach((eventId, entry) -> {
+            // A refill after checkedAt may have created a row the snapshot did not see
+            if (leasedEvents.contains(eventId) || entry.refilledAt >= checkedAt) {
+                return;
+            }
+            entry.refillLock.lock();
+            try {
+                if (entry.refilledAt < checkedAt) {
+                    discarded[0] += entry.counter.drain();
+                }
+            } finally {
+                entry.refillLock.unlock();
+            }
+        });
+        return discarded[0];
+    }
+
+    private static final class Entry {
+        private final StripedCapacityCounter counter = new StripedCapacityCounter();
+        private final ReentrantLock refillLock = new ReentrantLock();
+        private volatile long lastAccess = System.currentTimeMillis();
+        private volatile long refilledAt;
+        private volatile boolean retired;
+
+        private void touch() {
+            lastAccess = System.currentTimeMillis();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.eventhub.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Write-behind side of the {@link CapacityLedger}: seats leased for events that went quiet
+ * are flushed back to events.available_capacity, and everything is returned on shutdown.
+ * <p>
+ * Each run is also this node's heartbeat in capacity_leases, and returns the unsold seats of
+ * nodes that have been silent for {@code node-timeout}. A node that was only paused that long
+ * finds its rows gone on the next run and drops the seats they covered; sales it committed in
+ * between are the remaining window, so keep the timeout well above any expected pause.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CapacityReconciler {
+
+    private final CapacityLedger capacityLedger;
+    private final CapacityLeaseService leaseService;
+
+    @Value("${application.tickets.ledger.idle-timeout:30000}")
+    private long idleTimeoutMs;
+
+    @Value("${application.tickets.ledger.node-timeout:60000}")
+    private long nodeTimeoutMs;
+
+    @Value("${application.tickets.ledger.reclaim-batch-size:100}")
+    private int reclaimBatchSize;
+
+    @Scheduled(fixedDelayString = "${application.tickets.ledger.reconcile-interval:5000}")
+    public void reconcile() {
+        heartbeat();
+        flush(capacityLedger.drainIdle(idleTimeoutMs));
+        reclaimStaleLeases();
+    }
+
+    private void heartbeat() {
+        long checkedAt = System.currentTimeMillis();
+        Set<UUID> leasedEvents = leaseService.heartbeat();
+        int discarded = capacityLedger.discardReclaimed(leasedEvents, checkedAt);
+        if (discarded > 0) {
+            log.warn("{} lugares descartados: outro nó já os devolveu ao evento", discarded);
+        }
+    }
+
+    private void reclaimStaleLeases() {
+        int returned = leaseService.reclaimStale(nodeTimeoutMs, reclaimBatchSize);
+        if (returned > 0) {
+            log.info("{} lugares de nós inativos devolvidos aos eventos", returned);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        log.info("Returning leased seats to the database before shutdown");
+        flush(capacityLedger.drainAll());
+    }
+
+    private void flush(Map<UUID, Integer> seatsByEvent) {
+        seatsByEvent.forEach((eventId, seats) -> {
+            try {
+                leaseService.release(eventId, seats);
+            } catch (Exception e) {
+                // Put them back so the next run retries instead of losing the seats
+                log.warn("Falha ao devolver {} lugares do evento {}: {}", seats, eventId, e.getMessage());
+                capacityLedger.release(eventId, seats);
+            }
+        });
+    }
+}
@@ -0,0 +1,169 @@
+package com.eventhub.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Answers for standalone chat questions, keyed by the event-context snapshot version so an
+ * answer never outlives the event list it was generated from.
+ * <p>
+ * Exact tier: normalized message (case, accents, punctuation and spacing ignored).
+ * Semantic tier (optional): the message embedding from Ollama's /api/embeddings is compared by
+ * cosine similarity against the last {@code max-entries} answers; anything at or above
+ * {@code similarity-threshold} is a hit. The index is a brute-force scan, which stays well
+ * under a millisecond at these sizes and is negligible next to a generation.
+ */
+@Component
+@Slf4j
+public class ChatResponseCache {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final OllamaClient ollama;
+    private final Cache<String, String> exact;
+    private final SemanticEntry[] semanticIndex;
+    private final boolean semanticEnabled;
+    private final double similarityThreshold;
+    private final String embeddingModel;
+    private final Counter exactHits;
+    private final Counter semanticHits;
+    private final Counter misses;
+    private int nextSlot;
+
+    public ChatResponseCache(
+            OllamaClient ollama,
+            MeterRegistry meterRegistry,
+            @Value("${application.chat.response-cache.max-size:5000}") long maxSize,
+            @Value("${application.chat.response-cache.ttl:600000}") long ttlMs,
+            @Value("${application.chat.response-cache.semantic.enabled:false}") boolean semanticEnabled,
+            @Value("${application.chat.response-cache.semantic.max-entries:2000}") int maxSemanticEntries,
+            @Value("${application.chat.response-cache.semantic.similarity-threshold:0.92}") double similarityThreshold,
+            @Value("${application.chat.response-cache.semantic.model:nomic-embed-text}") String embeddingModel
+    ) {
+        this.ollama = ollama;
+        this.exact = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .build();
+        this.semanticEnabled = semanticEnabled;
+        this.semanticIndex = new SemanticEntry[Math.max(1, maxSemanticEntries)];
+        this.similarityThreshold = similarityThreshold;
+        this.embeddingModel = embeddingModel;
+        this.exactHits = Counter.builder("eventhub.chat.response_cache")
+                .tag("result", "exact_hit")
+                .register(meterRegistry);
+        this.semanticHits = Counter.builder("eventhub.chat.response_cache")
+                .tag("result", "semantic_hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("eventhub.chat.response_cache")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param answer  cached answer, or null on a miss
+     * @param vector  unit-length embedding computed for the lookup (null when unavailable),
+     *                reused by {@link #store(Lookup, String)}
+     */
+    public record Lookup(String key, long contextVersion, float[] vector, String answer) {
+        public boolean hit() {
+            return answer != null;
+        }
+    }
+
+    public Lookup lookup(String message, long contextVersion) {
+        String key = contextVersion + ":" + normalize(message);
+        String answer = exact.getIfPresent(key);
+        if (answer != null) {
+            exactHits.increment();
+            return new Lookup(key, contextVersion, null, answer);
+        }
+        float[] vector = semanticEnabled ? embed(message) : null;
+        if (vector != null) {
+            answer = nearest(vector, contextVersion);
+            if (answer != null) {
+                semanticHits.increment();
+                return new Lookup(key, contextVersion, vector, answer);
+            }
+        }
+        misses.increment();
+        return new Lookup(key, contextVersion, vector, null);
+    }
+
+    public void store(Lookup lookup, String answer) {
+        exact.put(lookup.key(), answer);
+        if (lookup.vector() != null) {
+            synchronized (semanticIndex) {
+                semanticIndex[nextSlot] = new SemanticEntry(lookup.vector(), lookup.contextVersion(), answer);
+                nextSlot = (nextSlot + 1) % semanticIndex.length;
+            }
+        }
+    }
+
+    static String normalize(String message) {
+        String folded = DIACRITICS.matcher(Normalizer.normalize(message, Normalizer.Form.NFD)).replaceAll("");
+        return NON_WORD.matcher(folded.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    private String nearest(float[] vector, long contextVersion) {
+        SemanticEntry best = null;
+        double bestScore = similarityThreshold;
+        synchronized (semanticIndex) {
+            for (SemanticEntry entry : semanticIndex) {
+                if (entry == null || entry.contextVersion != contextVersion
+                        || entry.vector.length != vector.length) {
+                    continue;
+                }
+                double score = dot(entry.vector, vector);
+                if (score >= bestScore) {
+                    bestScore = score;
+                    best = entry;
+                }
+            }
+        }
+        return best != null ? best.answer : null;
+    }
+
+    private float[] embed(String message) {
+        try {
+            float[] vector = ollama.embed(embeddingModel, normalize(message));
+            return vector != null && vector.length > 0 ? unit(vector) : null;
+        } catch (Exception e) {
+            log.warn("Falha ao gerar embedding da pergunta: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static float[] unit(float[] vector) {
+        double norm = Math.sqrt(dot(vector, vector));
+        if (norm == 0) {
+            return null;
+        }
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = (float) (vector[i] / norm);
+        }
+        return vector;
+    }
+
+    private static double dot(float[] a, float[] b) {
+        double sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    private record SemanticEntry(float[] vector, long contextVersion, String answer) {
+    }
+}
@@ -1,90 +1,125 @@
 package com.eventhub.service;
 
-import com.eventhub.entity.Event;
-import com.eventhub.repository.EventRepository;
+import com.eventhub.exception.ServiceBusyException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ChatService {
 
-    private final EventRepository eventRepository;
-    private final RestTemplate restTemplate = new RestTemplate();
-
-    @Value("${ollama.base-url:http://localhost:11434}")
-    private String ollamaBaseUrl;
-
-    @Value("${ollama.model:llama3.2:3b}")
-    private String ollamaModel;
-
-    private static final DateTimeFormatter DATE_FORMATTER =
-            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
-
-    @Transactional(readOnly = true)
-    public String chat(String userMessage) {
+    private final EventContextSnapshotService eventContext;
+    private final ConversationStore conversations;
+    private final ChatResponseCache responseCache;
+    private final OllamaClient ollama;
+
+    /**
+     * Answer one turn of the conversation. Follow-up turns resume from Ollama's saved context
+     * when possible, otherwise the prompt is rebuilt with the recent history.
+     * No transaction is held while the model generates.
+     *
+     * @throws ServiceBusyException when Ollama is saturated or its circuit is open
+     */
+    public String chat(String userMessage, String conversationId) {
         log.info("Processando mensagem do chat: {}", userMessage);
         try {
-            String context = buildEventContext();
-            String prompt = buildPrompt(context, userMessage);
-            String response = callOllama(prompt);
+            ConversationStore.Conversation conversation = conversations.get(conversationId);
+            EventContextSnapshotService.Snapshot snapshot = eventContext.current();
+            ChatResponseCache.Lookup cached = lookupStandalone(conversation, snapshot, userMessage);
+            if (cached != null && cached.hit()) {
+                conversation.record(userMessage, cached.answer(), null, snapshot.version());
+                return cached.answer();
+            }
+            int[] resume = conversation.resumableContext(snapshot.version());
+            String prompt = promptFor(conversation, resume, snapshot, userMessage);
+            log.info("Calling Ollama with model: {}", ollama.model());
+            OllamaClient.Reply reply = ollama.generate(prompt, resume);
+            conversation.record(userMessage, reply.response(), reply.context(), snapshot.version());
+            if (cached != null) {
+                responseCache.store(cached, reply.response());
+            }
             log.info("Resposta do chat gerada com sucesso");
-            return response;
+            return reply.response();
+        } catch (ServiceBusyException e) {
+            throw e;
         } catch (Exception e) {
-            log.error("Erro ao gerar resposta do chat no Ollama em {}: {}",
-                ollamaBaseUrl, e.getMessage(), e);
+            log.error("Erro ao gerar resposta do chat no Ollama: {}", e.getMessage(), e);
             return "Desculpe, estou tendo problemas para me conectar ao meu cérebro de IA agora. " +
                     "Por favor, tente novamente mais tarde ou navegue pelos eventos diretamente!\n\n" +
                     "Detalhes técnicos: " + e.getMessage();
         }
     }
 
-    private String buildEventContext() {
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime thirtyDaysFromNow = now.plusDays(30);
-        List<Event> events = eventRepository.findByEventDateBetween(
-                now,
-                thirtyDaysFromNow
-        );
-        events = events.stream()
-                .limit(10)
-                .toList();
-        if (events.isEmpty()) {
-            return "Atualmente, não há eventos programados.";
-        }
-        StringBuilder context = new StringBuilder();
-        context.append("Aqui estão os próximos eventos:\n\n");
-        for (int i = 0; i < events.size(); i++) {
-            Event event = events.get(i);
-            context.append(String.format(
-                    "Evento %d: %s\n" +
-                            "Data: %s\n" +
-                            "Local: %s\n" +
-                            "Capacidade: %d/%d lugares disponíveis\n" +
-                            "Descrição: %s\n\n",
-                    i + 1,
-                    event.getName(),
-                    event.getEventDate().format(DATE_FORMATTER),
-                    event.getLocation(),
-                    event.getAvailableCapacity(),
-                    event.getCapacity(),
-                    truncate(event.getDescription(), 200)
-            ));
+    /**
+     * Same prompt and conversation handling as {@link #chat(String, String)}, but Ollama's
+     * NDJSON stream is relayed chunk by chunk as it arrives. The HTTP exchange runs on
+     * HttpClient's non-blocking I/O, so no request thread waits for the generation.
+     * A saturated or unavailable Ollama fails the future with {@link ServiceBusyException}.
+     *
+     * @param onToken called for every generated chunk, in order; throwing from it aborts the stream
+     * @return the full response once Ollama reports {@code done}; cancelling it aborts the stream
+     */
+    public CompletableFuture<String> streamChat(String userMessage, String conversationId, Consumer<String> onToken) {
+        log.info("Processando mensagem do chat (streaming): {}", userMessage);
+        ConversationStore.Conversation conversation = conversations.get(conversationId);
+        EventContextSnapshotService.Snapshot snapshot = eventContext.current();
+        ChatResponseCache.Lookup cached = lookupStandalone(conversation, snapshot, userMessage);
+        if (cached != null && cached.hit()) {
+            onToken.accept(cached.answer());
+            conversation.record(userMessage, cached.answer(), null, snapshot.version());
+            return CompletableFuture.completedFuture(cached.answer());
         }
-        return context.toString();
+        int[] resume = conversation.resumableContext(snapshot.version());
+        String prompt = promptFor(conversation, resume, snapshot, userMessage);
+        CompletableFuture<OllamaClient.Reply> generation = ollama.generateStream(prompt, resume, onToken);
+        CompletableFuture<String> answer = generation.thenApply(reply -> {
+            conversation.record(userMessage, reply.response(), reply.context(), snapshot.version());
+            if (cached != null) {
+                responseCache.store(cached, reply.response());
+            }
+            return reply.response();
+        });
+        answer.whenComplete((response, error) -> {
+            if (error instanceof CancellationException) {
+                generation.cancel(true);
+            }
+        });
+        return answer;
+    }
+
+    /**
+     * Only the first question of a conversation is answered from (and stored in) the response
+     * cache; follow-ups depend on the history.
+     */
+    private ChatResponseCache.Lookup lookupStandalone(
+            ConversationStore.Conversation conversation,
+            EventContextSnapshotService.Snapshot snapshot,
+            String userMessage
+    ) {
+        return conversation.history().isEmpty()
+                ? responseCache.lookup(userMessage, snapshot.version())
+                : null;
     }
 
-    private String buildPrompt(String context, String userMessage) {
+    private String promptFor(
+            ConversationStore.Conversation conversation,
+            int[] resume,
+            EventContextSnapshotService.Snapshot snapshot,
+            String userMessage
+    ) {
+        return resume != null
+                ? buildFollowUpPrompt(userMessage)
+                : buildPrompt(snapshot.text(), conversation.history(), userMessage);
+    }
+
+    private String buildPrompt(String context, List<ConversationStore.Turn> history, String userMessage) {
         return String.format(
                 """
                         Você é um assistente virtual útil do EventHub, uma plataforma de venda de ingressos para eventos.
@@ -93,7 +128,7 @@ public class ChatService {
                         IMPORTANTE: Responda SEMPRE em português brasileiro de forma clara, amigável e concisa.
                         
                         %s
-                        
+                        %s
                         Pergunta do usuário: %s
                         
                         Forneça uma resposta amigável e concisa baseada nos eventos disponíveis.
@@ -103,50 +138,34 @@ public class ChatService {
                         Use emojis quando apropriado para tornar a conversa mais amigável. 😊
                         """,
                 context,
+                formatHistory(history),
                 userMessage
         );
     }
 
-    private String callOllama(String prompt) {
-        String url = ollamaBaseUrl + "/api/generate";
-        Map<String, Object> request = Map.of(
-                "model", ollamaModel,
-                "prompt", prompt,
-                "stream", false,
-                "options", Map.of(
-                    "temperature", 0.7,
-                    "num_predict", 500
-                )
+    /**
+     * Appended to Ollama's saved context, which already holds the instructions and events.
+     */
+    private String buildFollowUpPrompt(String userMessage) {
+        return String.format(
+                """
+                        Pergunta do usuário: %s
+                        
+                        Responda em português brasileiro, de forma amigável e concisa, com base nos eventos já listados.
+                        """,
+                userMessage
         );
-
-        log.info("Calling Ollama API: {} with model: {}", url, ollamaModel);
-
-        try {
-            @SuppressWarnings("unchecked")
-            Map<String, Object> response = restTemplate.postForObject(
-                    url,
-                    request,
-                    Map.class
-            );
-
-            if (response != null && response.containsKey("response")) {
-                String aiResponse = (String) response.get("response");
-                log.debug("Ollama response received: {} characters", aiResponse.length());
-                return aiResponse;
-            }
-
-            log.error("Invalid response from Ollama: {}", response);
-            throw new RuntimeException("Invalid response from Ollama - missing 'response' field");
-        } catch (Exception e) {
-            log.error("Failed to call Ollama API at {}: {}", url, e.getMessage());
-            throw new RuntimeException("Failed to connect to Ollama at " + url + ": " + e.getMessage(), e);
-        }
     }
 
-    private String truncate(String text, int maxLength) {
-        if (text == null || text.length() <= maxLength) {
-            return text;
+    private String formatHistory(List<ConversationStore.Turn> history) {
+        if (history.isEmpty()) {
+            return "";
+        }
+        StringBuilder text = new StringBuilder("Conversa até agora:\n");
+        for (ConversationStore.Turn turn : history) {
+            text.append("Usuário: ").append(turn.question()).append('\n')
+                    .append("Assistente: ").append(turn.answer()).append('\n');
         }
-        return text.substring(0, maxLength) + "...";
+        return text.toString();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,158 @@
+package com.eventhub.service;
+
+import com.eventhub.exception.BusinessException;
+import com.eventhub.repository.TicketRepository;
+import com.eventhub.util.ConfirmationCodeCodec;
+import com.eventhub.util.MpmcRingBuffer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Hands out confirmation codes from a per-node pool, so purchases never query for uniqueness.
+ * <p>
+ * A background thread reserves blocks of {@value #BLOCK_SIZE} code indexes from
+ * confirmation_code_block_seq and encodes them with {@link ConfirmationCodeCodec} into a
+ * lock-free ring buffer. It refills whenever the pool drops below half.
+ */
+@Service
+@Slf4j
+public class ConfirmationCodeAllocator {
+
+    /**
+     * Indexes per sequence value. Must match the MAXVALUE of confirmation_code_block_seq (V6).
+     */
+    static final int BLOCK_SIZE = 1024;
+
+    private static final int INLINE_REFILL_ATTEMPTS = 3;
+
+    private final TicketRepository ticketRepository;
+    private final ConfirmationCodeCodec codec;
+    private final MpmcRingBuffer<String> pool;
+    private final int lowWatermark;
+    private final AtomicBoolean refilling = new AtomicBoolean();
+    private final ExecutorService refillExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "confirmation-code-refill");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Timer refillTimer;
+    private final Counter blocksReserved;
+    private final Counter poolMisses;
+
+    public ConfirmationCodeAllocator(
+            TicketRepository ticketRepository,
+            MeterRegistry meterRegistry,
+            @Value("${application.tickets.confirmation-codes.pool-size:4096}") int poolSize,
+            @Value("${application.tickets.confirmation-codes.secret}") String secret
+    ) {
+        this.ticketRepository = ticketRepository;
+        this.codec = new ConfirmationCodeCodec(secret);
+        this.pool = new MpmcRingBuffer<>(Math.max(Integer.highestOneBit(poolSize - 1) << 1, 2 * BLOCK_SIZE));
+        this.lowWatermark = pool.capacity() / 2;
+
+        Gauge.builder("eventhub.confirmation_codes.pool.depth", pool, MpmcRingBuffer::size)
+                .description("Confirmation codes ready to be handed out")
+                .register(meterRegistry);
+        this.refillTimer = Timer.builder("eventhub.confirmation_codes.refill")
+                .description("Time to reserve and encode one block of confirmation codes")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.blocksReserved = Counter.builder("eventhub.confirmation_codes.blocks")
+                .description("Blocks reserved from confirmation_code_block_seq")
+                .register(meterRegistry);
+        this.poolMisses = Counter.builder("eventhub.confirmation_codes.pool.misses")
+                .description("Purchases that found the pool empty and reserved a block inline")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        requestRefill();
+    }
+
+    public String next() {
+        String code = pool.poll();
+        if (pool.size() < lowWatermark) {
+            requestRefill();
+        }
+        if (code != null) {
+            return code;
+        }
+
+        // Drained faster than the background thread refills: reserve a block on this thread
+        poolMisses.increment();
+        for (int attempt = 0; attempt < INLINE_REFILL_ATTEMPTS && code == null; attempt++) {
+            reserveBlock();
+            code = pool.poll();
+        }
+        if (code == null) {
+            throw new BusinessException(
+                    "Unable to generate unique confirmation code. Please try again."
+            );
+        }
+        return code;
+    }
+
+    public int poolDepth() {
+        return pool.size();
+    }
+
+    private void requestRefill() {
+        if (!refilling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refillExecutor.execute(this::refill);
+        } catch (RejectedExecutionException e) {
+            refilling.set(false);
+        }
+    }
+
+    private void refill() {
+        try {
+            while (pool.remainingCapacity() >= BLOCK_SIZE) {
+                reserveBlock();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Falha ao reabastecer códigos de confirmação: {}", e.getMessage());
+        } finally {
+            refilling.set(false);
+        }
+    }
+
+    /**
+     * Codes that do not fit because other threads filled the pool first are dropped;
+     * the code space has room for 26 million blocks.
+     */
+    private void reserveBlock() {
+        refillTimer.record(() -> {
+            long block = ticketRepository.nextConfirmationCodeBlock();
+            long first = block * BLOCK_SIZE;
+            for (int i = 0; i < BLOCK_SIZE; i++) {
+                if (!pool.offer(codec.encode(first + i))) {
+                    break;
+                }
+            }
+            blocksReserved.increment();
+            log.debug("Bloco {} de códigos de confirmação reservado", block);
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refillExecutor.shutdownNow();
+    }
+}
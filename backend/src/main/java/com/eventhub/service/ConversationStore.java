@@ -0,0 +1,111 @@
+package com.eventhub.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Chat history per conversationId, bounded in count (size eviction) and idle time (TTL).
+ * <p>
+ * Each conversation keeps the recent turns, trimmed to {@code history-token-budget}, and the
+ * {@code context} token array Ollama returned for the last turn. While that array stays under
+ * {@code max-context-tokens}, the next turn sends only the new question plus the array, and
+ * Ollama resumes from its KV state instead of re-reading the system prompt and event list.
+ */
+@Component
+public class ConversationStore {
+
+    private final Cache<String, Conversation> conversations;
+    private final int historyTokenBudget;
+    private final int maxContextTokens;
+
+    public ConversationStore(
+            MeterRegistry meterRegistry,
+            @Value("${application.chat.conversations.max-size:10000}") long maxSize,
+            @Value("${application.chat.conversations.ttl:1800000}") long ttlMs,
+            @Value("${application.chat.conversations.history-token-budget:1000}") int historyTokenBudget,
+            @Value("${application.chat.conversations.max-context-tokens:1800}") int maxContextTokens
+    ) {
+        this.historyTokenBudget = historyTokenBudget;
+        this.maxContextTokens = maxContextTokens;
+        this.conversations = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, conversations, "chat-conversations");
+    }
+
+    public Conversation get(String conversationId) {
+        return conversations.get(conversationId, id -> new Conversation(historyTokenBudget, maxContextTokens));
+    }
+
+    /**
+     * Rough token estimate (about 4 characters per token for Portuguese/English text);
+     * only used to budget the history window.
+     */
+    static int estimateTokens(String text) {
+        return text == null ? 0 : text.length() / 4 + 1;
+    }
+
+    public record Turn(String question, String answer) {
+        int tokens() {
+            return estimateTokens(question) + estimateTokens(answer);
+        }
+    }
+
+    public static final class Conversation {
+
+        private final int historyTokenBudget;
+        private final int maxContextTokens;
+        private final Deque<Turn> turns = new ArrayDeque<>();
+        private int historyTokens;
+        private int[] context;
+        private long contextVersion;
+
+        private Conversation(int historyTokenBudget, int maxContextTokens) {
+            this.historyTokenBudget = historyTokenBudget;
+            this.maxContextTokens = maxContextTokens;
+        }
+
+        /**
+         * Ollama context to resume from, or null when the next prompt must be rebuilt: first
+         * turn, context past the model window budget, or the event list changed since.
+         */
+        public synchronized int[] resumableContext(long eventContextVersion) {
+            return context != null && context.length <= maxContextTokens && contextVersion == eventContextVersion
+                    ? context
+                    : null;
+        }
+
+        /**
+         * Most recent turns, oldest first, within the token budget.
+         */
+        public synchronized List<Turn> history() {
+            return new ArrayList<>(turns);
+        }
+
+        public synchronized void record(String question, String answer, int[] newContext, long eventContextVersion) {
+            Turn turn = new Turn(question, answer);
+            turns.addLast(turn);
+            historyTokens += turn.tokens();
+            Iterator<Turn> oldest = turns.iterator();
+            while (historyTokens > historyTokenBudget && turns.size() > 1) {
+                historyTokens -= oldest.next().tokens();
+                oldest.remove();
+            }
+            this.context = newContext;
+            this.contextVersion = eventContextVersion;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.eventhub.service;
+
+import com.eventhub.entity.OutboxEmail;
+import com.eventhub.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Drains the email outbox.
+ * <p>
+ * Each batch is claimed in a short transaction ({@link EmailOutboxRepository#claimDue}) and
+ * then sent outside of it with a single {@code JavaMailSender.send(MimeMessage...)} call, which
+ * delivers the whole batch over one SMTP connection. Failed emails are retried with
+ * exponential backoff up to {@code max-attempts}; a node that dies mid-batch leaves its rows to
+ * be claimed again once the lease expires, so delivery is at-least-once and every message
+ * carries its idempotency key in the {@value #IDEMPOTENCY_HEADER} header.
+ * <p>
+ * With {@code application.email.enabled=false} emails are only logged and marked as sent.
+ */
+@Component
+@Slf4j
+public class EmailOutboxDispatcher {
+
+    static final String IDEMPOTENCY_HEADER = "X-EventHub-Idempotency-Key";
+
+    private final EmailOutboxRepository outbox;
+    private final ObjectProvider<JavaMailSender> mailSender;
+    private final boolean enabled;
+    private final String from;
+    private final int batchSize;
+    private final long leaseMs;
+    private final int maxAttempts;
+    private final long backoffInitialMs;
+    private final long backoffMaxMs;
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter failed;
+
+    public EmailOutboxDispatcher(
+            EmailOutboxRepository outbox,
+            ObjectProvider<JavaMailSender> mailSender,
+            MeterRegistry meterRegistry,
+            @Value("${application.email.enabled:false}") boolean enabled,
+            @Value("${application.email.from:noreply@eventhub.com}") String from,
+            @Value("${application.email.outbox.batch-size:50}") int batchSize,
+            @Value("${application.email.outbox.lease:60000}") long leaseMs,
+            @Value("${application.email.outbox.max-attempts:8}") int maxAttempts,
+            @Value("${application.email.outbox.backoff-initial:5000}") long backoffInitialMs,
+            @Value("${application.email.outbox.backoff-max:3600000}") long backoffMaxMs
+    ) {
+        this.outbox = outbox;
+        this.mailSender = mailSender;
+        this.enabled = enabled;
+        this.from = from;
+        this.batchSize = batchSize;
+        this.leaseMs = leaseMs;
+        this.maxAttempts = maxAttempts;
+        this.backoffInitialMs = backoffInitialMs;
+        this.backoffMaxMs = backoffMaxMs;
+        this.sent = Counter.builder("eventhub.email.outbox")
+                .tag("result", "sent")
+                .register(meterRegistry);
+        this.retried = Counter.builder("eventhub.email.outbox")
+                .tag("result", "retry")
+                .register(meterRegistry);
+        this.failed = Counter.builder("eventhub.email.outbox")
+                .tag("result", "failed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Keeps claiming batches while they come back full.
+     */
+    @Scheduled(fixedDelayString = "${application.email.outbox.poll-interval:1000}")
+    public void dispatch() {
+        int claimed;
+        do {
+            claimed = dispatchBatch();
+        } while (claimed == batchSize);
+    }
+
+    /**
+     * @return number of emails claimed
+     */
+    public int dispatchBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEmail> batch = outbox.claimDue(now, now.plus(Duration.ofMillis(leaseMs)), batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        JavaMailSender sender = enabled ? mailSender.getIfAvailable() : null;
+        if (sender == null) {
+            batch.forEach(email -> log.info("E-mail não enviado (envio desabilitado) para {}: {}",
+                    email.getRecipient(), email.getSubject()));
+            markSent(batch);
+            return batch.size();
+        }
+        deliver(sender, batch);
+        return batch.size();
+    }
+
+    private void deliver(JavaMailSender sender, List<OutboxEmail> batch) {
+        Map<MimeMessage, OutboxEmail> messages = new IdentityHashMap<>();
+        for (OutboxEmail email : batch) {
+            try {
+                messages.put(toMimeMessage(sender, email), email);
+            } catch (MessagingException e) {
+                retryOrFail(email, e);
+            }
+        }
+        List<OutboxEmail> delivered = new ArrayList<>(messages.values());
+        try {
+            sender.send(messages.keySet().toArray(MimeMessage[]::new));
+        } catch (MailSendException e) {
+            e.getFailedMessages().forEach((message, error) -> {
+                OutboxEmail email = messages.get(message);
+                if (email != null) {
+                    delivered.remove(email);
+                    retryOrFail(email, error);
+                }
+            });
+        } catch (MailException e) {
+            delivered.forEach(email -> retryOrFail(email, e));
+            delivered.clear();
+        }
+        markSent(delivered);
+    }
+
+    private MimeMessage toMimeMessage(JavaMailSender sender, OutboxEmail email) throws MessagingException {
+        MimeMessage message = sender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, StandardCharsets.UTF_8.name());
+        helper.setFrom(from);
+        helper.setTo(email.getRecipient());
+        helper.setSubject(email.getSubject());
+        helper.setText(email.getBody());
+        message.setHeader(IDEMPOTENCY_HEADER, email.getIdempotencyKey());
+        return message;
+    }
+
+    private void markSent(List<OutboxEmail> emails) {
+        if (emails.isEmpty()) {
+            return;
+        }
+        List<UUID> ids = emails.stream().map(OutboxEmail::getId).toList();
+        outbox.markSent(ids, LocalDateTime.now());
+        sent.increment(ids.size());
+    }
+
+    /**
+     * {@code attempts} already counts the attempt that just failed.
+     */
+    private void retryOrFail(OutboxEmail email, Exception error) {
+        String reason = error.getMessage();
+        if (email.getAttempts() >= maxAttempts) {
+            log.error("E-mail {} descartado após {} tentativas: {}",
+                    email.getIdempotencyKey(), email.getAttempts(), reason);
+            outbox.markFailed(email.getId(), reason);
+            failed.increment();
+            return;
+        }
+        long delayMs = backoffMs(email.getAttempts());
+        log.warn("Falha ao enviar e-mail {} (tentativa {}), nova tentativa em {} ms: {}",
+                email.getIdempotencyKey(), email.getAttempts(), delayMs, reason);
+        outbox.reschedule(email.getId(), LocalDateTime.now().plus(Duration.ofMillis(delayMs)), reason);
+        retried.increment();
+    }
+
+    private long backoffMs(int attempts) {
+        int exponent = Math.min(Math.max(0, attempts - 1), 30);
+        return Math.min(backoffMaxMs, backoffInitialMs << exponent);
+    }
+}
@@ -1,58 +1,187 @@
 package com.eventhub.service;
 
+import com.eventhub.dto.response.SeatHoldResponse;
+import com.eventhub.entity.Event;
 import com.eventhub.entity.Ticket;
 import com.eventhub.entity.User;
+import com.eventhub.enums.EmailType;
+import com.eventhub.repository.EmailOutboxRepository;
+import com.eventhub.repository.TicketReminder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+/**
+ * Writes emails to the outbox (V9) in the caller's transaction: an email exists only if the
+ * change that triggered it commits. Delivery is done by {@link EmailOutboxDispatcher}.
+ * Enqueueing the same email twice (same type and ticket/user) is a no-op.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class EmailService {
-    @Value("${app.email.from:noreply@eventhub.com}")
-    private String fromEmail;
 
-    @Async
+    private static final DateTimeFormatter EVENT_DATE = DateTimeFormatter.ofPattern("dd/MM/yyyy 'às' HH:mm");
+
+    private final EmailOutboxRepository outbox;
+
+    @Transactional
     public void sendTicketConfirmation(Ticket ticket) {
-        log.info("Sending ticket confirmation to: {}",
-                ticket.getParticipant().getEmail());
-        log.info("Ticket confirmation email sent successfully");
+        Event event = ticket.getEvent();
+        enqueue(EmailType.TICKET_CONFIRMATION, ticket.getId(),
+                ticket.getParticipant().getEmail(),
+                "Seu ingresso para " + event.getName(),
+                """
+                        Olá, %s!
+
+                        Seu ingresso está confirmado.
+
+                        Evento: %s
+                        Data: %s
+                        Local: %s
+                        Código de confirmação: %s
+
+                        Apresente o código na entrada do evento.
+                        """.formatted(ticket.getParticipant().getName(), event.getName(),
+                        EVENT_DATE.format(event.getEventDate()), event.getLocation(),
+                        ticket.getConfirmationCode()));
     }
 
-    @Async
+    @Transactional
     public void sendTicketCancellation(Ticket ticket) {
-        log.info("Sending cancellation confirmation to: {}",
-                ticket.getParticipant().getEmail());
-        log.info("Cancellation email sent successfully");
+        Event event = ticket.getEvent();
+        enqueue(EmailType.TICKET_CANCELLATION, ticket.getId(),
+                ticket.getParticipant().getEmail(),
+                "Ingresso cancelado: " + event.getName(),
+                """
+                        Olá, %s!
+
+                        Seu ingresso %s para %s (%s) foi cancelado.
+                        """.formatted(ticket.getParticipant().getName(), ticket.getConfirmationCode(),
+                        event.getName(), EVENT_DATE.format(event.getEventDate())));
     }
 
-    @Async
+    @Transactional
     public void sendEventReminder(Ticket ticket) {
-        log.info("Sending event reminder to: {}",
-                ticket.getParticipant().getEmail());
+        Event event = ticket.getEvent();
+        enqueueEventReminder(ticket.getId(), ticket.getParticipant().getName(),
+                ticket.getParticipant().getEmail(), ticket.getConfirmationCode(),
+                event.getName(), event.getEventDate(), event.getLocation());
+    }
 
-        log.info("Event reminder sent successfully");
+    /**
+     * Same email as {@link #sendEventReminder(Ticket)}, from a projection.
+     */
+    @Transactional
+    public void sendEventReminder(TicketReminder reminder) {
+        enqueueEventReminder(reminder.ticketId(), reminder.participantName(),
+                reminder.participantEmail(), reminder.confirmationCode(),
+                reminder.eventName(), reminder.eventDate(), reminder.location());
     }
 
-    @Async
-    public void sendWelcomeEmail(User user) {
-        log.info("Sending welcome email to: {}", user.getEmail());
+    /**
+     * Keyed by ticket, like the other ticket emails; written by the event cancellation job.
+     */
+    @Transactional
+    public void sendEventCancellation(TicketReminder ticket) {
+        enqueue(EmailType.EVENT_CANCELLATION, ticket.ticketId(),
+                ticket.participantEmail(),
+                "Evento cancelado: " + ticket.eventName(),
+                """
+                        Olá, %s!
 
-        // TODO: Implement
+                        Infelizmente o evento %s (%s, %s) foi cancelado pelo organizador.
 
-        log.info("Welcome email sent successfully");
+                        Seu ingresso %s foi cancelado.
+                        """.formatted(ticket.participantName(), ticket.eventName(),
+                        EVENT_DATE.format(ticket.eventDate()), ticket.location(),
+                        ticket.confirmationCode()));
     }
 
-    @Async
+    /**
+     * Keyed by hold, so a user offered a seat twice gets both emails.
+     */
+    @Transactional
+    public void sendWaitlistOffer(User user, Event event, SeatHoldResponse offer) {
+        enqueue(EmailType.WAITLIST_OFFER, offer.holdId(),
+                user.getEmail(),
+                "Um lugar abriu para " + event.getName(),
+                """
+                        Olá, %s!
+
+                        Um lugar foi liberado para %s (%s) e está reservado para você
+                        até %s.
+
+                        Acesse a página do evento para confirmar o seu ingresso. Depois desse
+                        horário o lugar passa para a próxima pessoa da lista de espera.
+                        """.formatted(user.getUsername(), event.getName(),
+                        EVENT_DATE.format(event.getEventDate()), EVENT_DATE.format(offer.expiresAt())));
+    }
+
+    @Transactional
+    public void sendWelcomeEmail(User user) {
+        enqueue(EmailType.WELCOME, user.getId(),
+                user.getEmail(),
+                "Bem-vindo ao EventHub",
+                """
+                        Olá, %s!
+
+                        Sua conta no EventHub foi criada. Aproveite os eventos!
+                        """.formatted(user.getUsername()));
+    }
+
+    @Transactional
     public void sendPasswordResetEmail(User user, String resetToken) {
-        log.info("Sending password reset email to: {}", user.getEmail());
+        enqueue(EmailType.PASSWORD_RESET, user.getId() + ":" + resetToken,
+                user.getEmail(),
+                "Redefinição de senha",
+                """
+                        Olá, %s!
+
+                        Use o código abaixo para redefinir sua senha:
 
-        // TODO: Implement
+                        %s
 
-        log.info("Password reset email sent successfully");
+                        Se você não pediu a redefinição, ignore este e-mail.
+                        """.formatted(user.getUsername(), resetToken));
     }
 
-}
\ No newline at end of file
+    private void enqueueEventReminder(
+            UUID ticketId,
+            String participantName,
+            String participantEmail,
+            String confirmationCode,
+            String eventName,
+            LocalDateTime eventDate,
+            String location
+    ) {
+        enqueue(EmailType.EVENT_REMINDER, ticketId,
+                participantEmail,
+                "Lembrete: " + eventName + " está chegando",
+                """
+                        Olá, %s!
+
+                        Lembrete do seu evento:
+
+                        Evento: %s
+                        Data: %s
+                        Local: %s
+                        Código de confirmação: %s
+                        """.formatted(participantName, eventName, EVENT_DATE.format(eventDate),
+                        location, confirmationCode));
+    }
+
+    private void enqueue(EmailType type, Object reference, String recipient, String subject, String body) {
+        String idempotencyKey = type.keyFor(reference);
+        if (outbox.enqueue(idempotencyKey, type.name(), recipient, subject, body, LocalDateTime.now()) == 0) {
+            log.debug("E-mail {} já estava na fila", idempotencyKey);
+        } else {
+            log.debug("E-mail {} enfileirado para {}", type, recipient);
+        }
+    }
+}
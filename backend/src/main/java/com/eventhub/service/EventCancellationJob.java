@@ -0,0 +1,97 @@
+package com.eventhub.service;
+
+import com.eventhub.entity.EventCancellation;
+import com.eventhub.repository.EventCancellationRepository;
+import com.eventhub.repository.JobCheckpointRepository;
+import com.eventhub.repository.TicketReminder;
+import com.eventhub.repository.TicketRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Queues the "event cancelled" email for every ticket cancelled with its event.
+ * <p>
+ * Tickets are walked by id in chunks of {@code chunk-size} ({@link TicketReminder}
+ * projections, no entities); each chunk commits with the cursor in {@code event_cancellations}
+ * ({@link EventCancellationProgressService}), which is also the progress reported to the
+ * admin. A run holds a PostgreSQL advisory lock for its event, so a resumed run never overlaps
+ * a live one. Before completing, tickets sold from seats leased before the cancellation
+ * committed are cancelled and notified as well.
+ */
+@Service
+@Slf4j
+public class EventCancellationJob {
+
+    static final String JOB_NAME = "event-cancellation:";
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+
+    private final TicketRepository ticketRepository;
+    private final EventCancellationRepository cancellations;
+    private final JobCheckpointRepository checkpoints;
+    private final EventCancellationProgressService progressService;
+    private final int chunkSize;
+    private final Counter enqueued;
+
+    public EventCancellationJob(
+            TicketRepository ticketRepository,
+            EventCancellationRepository cancellations,
+            JobCheckpointRepository checkpoints,
+            EventCancellationProgressService progressService,
+            MeterRegistry meterRegistry,
+            @Value("${application.events.cancellation.chunk-size:500}") int chunkSize
+    ) {
+        this.ticketRepository = ticketRepository;
+        this.cancellations = cancellations;
+        this.checkpoints = checkpoints;
+        this.progressService = progressService;
+        this.chunkSize = chunkSize;
+        this.enqueued = Counter.builder("eventhub.events.cancellation.emails")
+                .description("Event cancellation emails queued")
+                .register(meterRegistry);
+    }
+
+    @Transactional(readOnly = true)
+    public void run(UUID eventId) {
+        if (!checkpoints.tryLockForTransaction(JOB_NAME + eventId)) {
+            log.debug("Notificações do cancelamento do evento {} já estão rodando", eventId);
+            return;
+        }
+        EventCancellation cancellation = cancellations.findById(eventId).orElse(null);
+        if (cancellation == null || !cancellation.isRunning()) {
+            return;
+        }
+        UUID after = cancellation.getCursorTicketId() != null ? cancellation.getCursorTicketId() : MIN_UUID;
+        long processed = 0;
+        try {
+            while (true) {
+                List<TicketReminder> chunk = ticketRepository.findCancelledWithEvent(
+                        eventId, cancellation.getCancelledAt(), after, Limit.of(chunkSize));
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                progressService.writeChunk(eventId, chunk);
+                enqueued.increment(chunk.size());
+                processed += chunk.size();
+                after = chunk.get(chunk.size() - 1).ticketId();
+            }
+            int late = progressService.cancelRemaining(eventId);
+            if (late > 0) {
+                log.info("{} ingressos vendidos durante o cancelamento do evento {} também cancelados", late, eventId);
+            }
+            progressService.complete(eventId);
+        } catch (RuntimeException e) {
+            log.warn("Notificações do cancelamento do evento {} interrompidas após {} e-mails; "
+                    + "serão retomadas do cursor", eventId, processed);
+            throw e;
+        }
+        log.info("Cancelamento do evento {} concluído: {} e-mails enfileirados", eventId, processed);
+    }
+}
@@ -0,0 +1,75 @@
+package com.eventhub.service;
+
+import com.eventhub.entity.EventCancellation;
+import com.eventhub.enums.CancellationStatus;
+import com.eventhub.exception.ResourceNotFoundException;
+import com.eventhub.repository.EventCancellationRepository;
+import com.eventhub.repository.TicketReminder;
+import com.eventhub.repository.TicketRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Write side of {@link EventCancellationJob}. Each chunk of notification emails commits
+ * together with the cursor after it, on its own transaction, like
+ * {@link EventReminderCheckpointService}.
+ */
+@Service
+@RequiredArgsConstructor
+public class EventCancellationProgressService {
+
+    private final EventCancellationRepository cancellations;
+    private final TicketRepository ticketRepository;
+    private final EmailService emailService;
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void writeChunk(UUID eventId, List<TicketReminder> chunk) {
+        chunk.forEach(emailService::sendEventCancellation);
+        EventCancellation cancellation = load(eventId);
+        cancellation.setEmailsEnqueued(cancellation.getEmailsEnqueued() + chunk.size());
+        cancellation.setCursorTicketId(chunk.get(chunk.size() - 1).ticketId());
+        cancellations.save(cancellation);
+    }
+
+    /**
+     * Cancel and notify tickets that were still active: sold from seats leased before the
+     * cancellation committed. Their ids may lie behind the cursor, so they are not left to the
+     * chunked walk.
+     *
+     * @return tickets cancelled
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int cancelRemaining(UUID eventId) {
+        List<UUID> late = ticketRepository.cancelRemainingForEvent(eventId);
+        if (late.isEmpty()) {
+            return 0;
+        }
+        ticketRepository.findWithEventByIds(late).forEach(emailService::sendEventCancellation);
+        EventCancellation cancellation = load(eventId);
+        cancellation.setTicketsCancelled(cancellation.getTicketsCancelled() + late.size());
+        cancellation.setEmailsEnqueued(cancellation.getEmailsEnqueued() + late.size());
+        cancellations.save(cancellation);
+        return late.size();
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void complete(UUID eventId) {
+        EventCancellation cancellation = load(eventId);
+        cancellation.setStatus(CancellationStatus.COMPLETED);
+        cancellation.setCompletedAt(LocalDateTime.now());
+        cancellations.save(cancellation);
+    }
+
+    private EventCancellation load(UUID eventId) {
+        return cancellations.findById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Cancelamento não encontrado para o evento: " + eventId
+                ));
+    }
+}
@@ -0,0 +1,114 @@
+package com.eventhub.service;
+
+import com.eventhub.dto.response.EventCancellationResponse;
+import com.eventhub.entity.Event;
+import com.eventhub.event.EventCancelledEvent;
+import com.eventhub.event.EventCatalogChangedEvent;
+import com.eventhub.exception.BusinessException;
+import com.eventhub.exception.ResourceNotFoundException;
+import com.eventhub.repository.EventCancellationRepository;
+import com.eventhub.repository.EventRepository;
+import com.eventhub.repository.TicketRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Cancels an event with all its tickets.
+ * <p>
+ * The tickets, the capacity of the event row and the progress row are all written by one
+ * set-based statement ({@link TicketRepository#cancelAllForEvent}) instead of one
+ * {@link TicketService#cancelTicket} per ticket, each firing the per-row capacity trigger on
+ * the same event row. Notification emails are queued after the commit, off the request
+ * thread, by {@link EventCancellationJob}; the admin follows them with {@link #getProgress}.
+ */
+@Service
+@Slf4j
+public class EventCancellationService {
+
+    private final EventRepository eventRepository;
+    private final TicketRepository ticketRepository;
+    private final EventCancellationRepository cancellations;
+    private final EventCancellationJob cancellationJob;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration stallTimeout;
+
+    public EventCancellationService(
+            EventRepository eventRepository,
+            TicketRepository ticketRepository,
+            EventCancellationRepository cancellations,
+            EventCancellationJob cancellationJob,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${application.events.cancellation.stall-timeout:120000}") long stallTimeoutMs
+    ) {
+        this.eventRepository = eventRepository;
+        this.ticketRepository = ticketRepository;
+        this.cancellations = cancellations;
+        this.cancellationJob = cancellationJob;
+        this.eventPublisher = eventPublisher;
+        this.stallTimeout = Duration.ofMillis(stallTimeoutMs);
+    }
+
+    @Transactional
+    public EventCancellationResponse cancelEvent(UUID eventId) {
+        log.info("Cancelando evento: {}", eventId);
+        // The row lock serializes with purchases in locking mode and with a second cancellation
+        Event event = eventRepository.findByIdWithLock(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Evento não encontrado com ID: " + eventId
+                ));
+        if (!event.getStatus().canBeCancelled()) {
+            throw new BusinessException(
+                    "Apenas eventos agendados podem ser cancelados"
+            );
+        }
+        ticketRepository.markCapacityRestored();
+        int cancelled = ticketRepository.cancelAllForEvent(eventId);
+        eventPublisher.publishEvent(new EventCatalogChangedEvent(eventId));
+        eventPublisher.publishEvent(new EventCancelledEvent(eventId, cancelled));
+        log.info("Evento cancelado: {} ({} ingressos cancelados)", event.getName(), cancelled);
+        return getProgress(eventId);
+    }
+
+    @Transactional(readOnly = true)
+    public EventCancellationResponse getProgress(UUID eventId) {
+        return cancellations.findById(eventId)
+                .map(EventCancellationResponse::fromEntity)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Cancelamento não encontrado para o evento: " + eventId
+                ));
+    }
+
+    @Async
+    @TransactionalEventListener
+    public void onEventCancelled(EventCancelledEvent event) {
+        cancellationJob.run(event.eventId());
+    }
+
+    /**
+     * Picks up cancellations whose notifications stopped, e.g. because the node restarted.
+     */
+    @Scheduled(
+            fixedDelayString = "${application.events.cancellation.resume-interval:60000}",
+            initialDelayString = "${application.events.cancellation.resume-interval:60000}"
+    )
+    public void resumeStalled() {
+        for (UUID eventId : cancellations.findStalled(LocalDateTime.now().minus(stallTimeout))) {
+            log.info("Retomando notificações do cancelamento do evento {}", eventId);
+            try {
+                cancellationJob.run(eventId);
+            } catch (RuntimeException e) {
+                log.warn("Falha ao retomar o cancelamento do evento {}: {}", eventId, e.getMessage());
+            }
+        }
+    }
+}
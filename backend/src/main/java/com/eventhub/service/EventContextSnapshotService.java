@@ -0,0 +1,133 @@
+package com.eventhub.service;
+
+import com.eventhub.entity.Event;
+import com.eventhub.event.EventCapacityChangedEvent;
+import com.eventhub.event.EventCatalogChangedEvent;
+import com.eventhub.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pre-rendered "upcoming events" text used in chat prompts.
+ * <p>
+ * Chat messages read the current snapshot without touching the database. Catalog and
+ * capacity changes only mark it dirty; a background tick re-renders it once changes have
+ * been quiet for {@code debounce}, or after {@code max-age} so the 30-day window moves on.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EventContextSnapshotService {
+
+    private static final DateTimeFormatter DATE_FORMATTER =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private final EventRepository eventRepository;
+    private final LiveCapacityRegistry liveCapacity;
+
+    private final AtomicLong lastChange = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    @Value("${application.chat.context.max-events:10}")
+    private int maxEvents;
+
+    @Value("${application.chat.context.window-days:30}")
+    private int windowDays;
+
+    @Value("${application.chat.context.debounce:2000}")
+    private long debounceMs;
+
+    @Value("${application.chat.context.max-age:60000}")
+    private long maxAgeMs;
+
+    /**
+     * @param text    rendered context for the prompt
+     * @param version changes only when the rendered text does; lets callers key caches on it
+     */
+    public record Snapshot(String text, long version, long renderedAt) {
+    }
+
+    public Snapshot current() {
+        Snapshot current = snapshot;
+        return current != null ? current : refresh();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(EventCatalogChangedEvent event) {
+        lastChange.set(System.currentTimeMillis());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCapacityChanged(EventCapacityChangedEvent event) {
+        lastChange.set(System.currentTimeMillis());
+    }
+
+    @Scheduled(fixedDelayString = "${application.chat.context.tick-interval:1000}")
+    public void refreshIfStale() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long changedAt = lastChange.get();
+        boolean dirty = changedAt >= current.renderedAt() && now - changedAt >= debounceMs;
+        if (dirty || now - current.renderedAt() >= maxAgeMs) {
+            refresh();
+        }
+    }
+
+    synchronized Snapshot refresh() {
+        long renderedAt = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now();
+        List<Event> events = eventRepository.findByEventDateBetweenOrderByEventDateAsc(
+                now, now.plusDays(windowDays), Limit.of(maxEvents));
+        String text = render(events);
+        Snapshot previous = snapshot;
+        long version = previous == null ? 1
+                : previous.text().equals(text) ? previous.version() : previous.version() + 1;
+        Snapshot rendered = new Snapshot(text, version, renderedAt);
+        snapshot = rendered;
+        log.debug("Contexto de eventos do chat renderizado (v{}, {} eventos)", version, events.size());
+        return rendered;
+    }
+
+    private String render(List<Event> events) {
+        if (events.isEmpty()) {
+            return "Atualmente, não há eventos programados.";
+        }
+        Map<UUID, Integer> seats = liveCapacity.availableFor(
+                events.stream().map(Event::getId).toList());
+        StringBuilder context = new StringBuilder(events.size() * 400);
+        context.append("Aqui estão os próximos eventos:\n\n");
+        for (int i = 0; i < events.size(); i++) {
+            Event event = events.get(i);
+            context.append("Evento ").append(i + 1).append(": ").append(event.getName()).append('\n')
+                    .append("Data: ").append(event.getEventDate().format(DATE_FORMATTER)).append('\n')
+                    .append("Local: ").append(event.getLocation()).append('\n')
+                    .append("Capacidade: ")
+                    .append(seats.getOrDefault(event.getId(), event.getAvailableCapacity()))
+                    .append('/').append(event.getCapacity()).append(" lugares disponíveis\n")
+                    .append("Descrição: ").append(truncate(event.getDescription(), 200)).append("\n\n");
+        }
+        return context.toString();
+    }
+
+    private static String truncate(String text, int maxLength) {
+        if (text == null || text.length() <= maxLength) {
+            return text;
+        }
+        return text.substring(0, maxLength) + "...";
+    }
+}
@@ -0,0 +1,57 @@
+package com.eventhub.service;
+
+import com.eventhub.entity.JobCheckpoint;
+import com.eventhub.repository.JobCheckpointRepository;
+import com.eventhub.repository.TicketReminder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Write side of {@link EventReminderJob}. Each chunk of reminder emails commits together with
+ * the cursor after it, on its own transaction, so progress is never ahead of (or behind) the
+ * emails actually queued.
+ */
+@Service
+@RequiredArgsConstructor
+public class EventReminderCheckpointService {
+
+    private final JobCheckpointRepository checkpoints;
+    private final EmailService emailService;
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void writeChunk(String jobName, LocalDateTime runUntil, List<TicketReminder> chunk) {
+        chunk.forEach(emailService::sendEventReminder);
+        TicketReminder last = chunk.get(chunk.size() - 1);
+        JobCheckpoint checkpoint = load(jobName);
+        checkpoint.setRunUntil(runUntil);
+        checkpoint.setCursorEventDate(last.eventDate());
+        checkpoint.setCursorEventId(last.eventId());
+        checkpoint.setCursorTicketId(last.ticketId());
+        checkpoint.setProcessed(checkpoint.getProcessed() + chunk.size());
+        checkpoints.save(checkpoint);
+    }
+
+    /**
+     * Every event up to {@code coveredUntil} had its reminders queued; clears the resume cursor.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void complete(String jobName, LocalDateTime coveredUntil) {
+        JobCheckpoint checkpoint = load(jobName);
+        checkpoint.setCoveredUntil(coveredUntil);
+        checkpoint.setRunUntil(null);
+        checkpoint.setCursorEventDate(null);
+        checkpoint.setCursorEventId(null);
+        checkpoint.setCursorTicketId(null);
+        checkpoints.save(checkpoint);
+    }
+
+    private JobCheckpoint load(String jobName) {
+        return checkpoints.findById(jobName)
+                .orElseGet(() -> JobCheckpoint.builder().jobName(jobName).build());
+    }
+}
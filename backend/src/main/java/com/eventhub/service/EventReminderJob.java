@@ -0,0 +1,141 @@
+package com.eventhub.service;
+
+import com.eventhub.entity.JobCheckpoint;
+import com.eventhub.repository.JobCheckpointRepository;
+import com.eventhub.repository.TicketReminder;
+import com.eventhub.repository.TicketRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Queues a reminder email for every active ticket of the events starting within
+ * {@code lead-time}.
+ * <p>
+ * Tickets are read as {@link TicketReminder} projections from a server-side cursor
+ * ({@link TicketRepository#streamReminders}), so memory stays flat whatever the event size and
+ * there are no lazy loads. Every {@code chunk-size} reminders are committed together with the
+ * keyset cursor ({@link EventReminderCheckpointService}); an interrupted run resumes after the
+ * last committed chunk; a fresh run rescans the whole window. Runs are serialized across
+ * nodes by a PostgreSQL advisory lock held for the read transaction. Reminders queued by an
+ * earlier run are absorbed by the per-ticket outbox idempotency key.
+ */
+@Service
+@Slf4j
+public class EventReminderJob {
+
+    static final String JOB_NAME = "event-reminders";
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+
+    private final TicketRepository ticketRepository;
+    private final JobCheckpointRepository checkpoints;
+    private final EventReminderCheckpointService checkpointService;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Duration leadTime;
+    private final int chunkSize;
+    private final Counter enqueued;
+
+    public EventReminderJob(
+            TicketRepository ticketRepository,
+            JobCheckpointRepository checkpoints,
+            EventReminderCheckpointService checkpointService,
+            MeterRegistry meterRegistry,
+            @Value("${application.reminders.enabled:true}") boolean enabled,
+            @Value("${application.reminders.lead-time:86400000}") long leadTimeMs,
+            @Value("${application.reminders.chunk-size:500}") int chunkSize
+    ) {
+        this.ticketRepository = ticketRepository;
+        this.checkpoints = checkpoints;
+        this.checkpointService = checkpointService;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.leadTime = Duration.ofMillis(leadTimeMs);
+        this.chunkSize = chunkSize;
+        this.enqueued = Counter.builder("eventhub.reminders.enqueued")
+                .description("Event reminder emails queued")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(
+            fixedDelayString = "${application.reminders.interval:900000}",
+            initialDelayString = "${application.reminders.initial-delay:60000}"
+    )
+    @Transactional(readOnly = true)
+    public void run() {
+        if (!enabled) {
+            return;
+        }
+        if (!checkpoints.tryLockForTransaction(JOB_NAME)) {
+            log.debug("Lembretes de eventos já estão rodando em outro nó");
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        JobCheckpoint checkpoint = checkpoints.findById(JOB_NAME).orElse(null);
+
+        LocalDateTime until;
+        LocalDateTime afterDate;
+        UUID afterEventId;
+        UUID afterTicketId;
+        if (checkpoint != null && checkpoint.inProgress()) {
+            until = checkpoint.getRunUntil();
+            afterDate = checkpoint.getCursorEventDate();
+            afterEventId = checkpoint.getCursorEventId();
+            afterTicketId = checkpoint.getCursorTicketId();
+            log.info("Retomando lembretes de eventos após {} (até {})", afterDate, until);
+        } else {
+            // Always the whole window: tickets bought, reactivated or moved into a range an
+            // earlier run covered still need their reminder, and the outbox drops repeats
+            until = now.plus(leadTime);
+            afterDate = now;
+            afterEventId = MIN_UUID;
+            afterTicketId = MIN_UUID;
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        long processed = 0;
+        try (Stream<TicketReminder> reminders =
+                     ticketRepository.streamReminders(afterDate, afterEventId, afterTicketId, until)) {
+            List<TicketReminder> chunk = new ArrayList<>(chunkSize);
+            Iterator<TicketReminder> iterator = reminders.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == chunkSize || !iterator.hasNext()) {
+                    checkpointService.writeChunk(JOB_NAME, until, chunk);
+                    enqueued.increment(chunk.size());
+                    processed += chunk.size();
+                    chunk.clear();
+                }
+            }
+            checkpointService.complete(JOB_NAME, until);
+        } catch (RuntimeException e) {
+            outcome = "error";
+            log.warn("Lembretes de eventos interrompidos após {} e-mails; a próxima execução retoma do checkpoint",
+                    processed);
+            throw e;
+        } finally {
+            long elapsedNanos = sample.stop(Timer.builder("eventhub.reminders.run")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+            if (processed > 0) {
+                long elapsedMs = Math.max(1, elapsedNanos / 1_000_000);
+                log.info("{} lembretes de eventos enfileirados em {} ms ({} por segundo)",
+                        processed, elapsedMs, processed * 1000 / elapsedMs);
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.eventhub.service;
+
+import com.eventhub.entity.Event;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Ranked event search, selected with {@code application.search.engine}:
+ * {@code postgres} (full-text + trigram indexes) or {@code memory} (in-process inverted index,
+ * for H2 and tests).
+ */
+public interface EventSearchEngine {
+
+    /**
+     * @param pageable page number and size; results are always ordered by relevance, then date
+     */
+    Page<Event> search(String query, Pageable pageable);
+}
@@ -1,25 +1,37 @@
 package com.eventhub.service;
 
+import com.eventhub.cache.CacheSpecs;
+import com.eventhub.cache.CacheVersion;
+import com.eventhub.cache.EventListing;
 import com.eventhub.dto.request.CreateEventRequest;
 import com.eventhub.dto.request.UpdateEventRequest;
+import com.eventhub.dto.response.CursorPage;
+import com.eventhub.dto.response.EventDescriptor;
 import com.eventhub.dto.response.EventResponse;
 import com.eventhub.entity.Event;
+import com.eventhub.event.EventCatalogChangedEvent;
 import com.eventhub.exception.ResourceNotFoundException;
 import com.eventhub.exception.BusinessException;
 import com.eventhub.repository.EventRepository;
+import com.eventhub.util.CursorCodec;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
@@ -27,10 +39,13 @@ import java.util.UUID;
 public class EventService {
 
     private final EventRepository eventRepository;
-
+    private final CacheManager cacheManager;
+    private final CacheVersion eventListingVersion;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LiveCapacityRegistry liveCapacity;
+    private final EventSearchEngine searchEngine;
 
     @Transactional
-    @CacheEvict(value = "events", allEntries = true)
     public EventResponse createEvent(CreateEventRequest request) {
         log.info("Criando evento: {}", request.name());
         if (request.eventDate().isBefore(LocalDateTime.now())) {
@@ -52,53 +67,103 @@ public class EventService {
                 .imageUrl(request.imageUrl())
                 .build();
         Event saved = eventRepository.save(event);
+        eventPublisher.publishEvent(new EventCatalogChangedEvent(saved.getId()));
         log.info("Evento criado com sucesso: {} (ID: {})",
                 saved.getName(), saved.getId());
         return EventResponse.fromEntity(saved);
     }
 
-    @Transactional(readOnly = true)
-    @Cacheable(value = "events", key = "#id")
+    /**
+     * Served from the descriptor cache and the live seat counters; no transaction is opened
+     * unless one of them misses.
+     */
     public EventResponse getEventById(UUID id) {
         log.debug("Buscando evento por ID: {}", id);
+        Cache descriptors = cacheManager.getCache(CacheSpecs.EVENT_DESCRIPTORS);
+        EventDescriptor descriptor = descriptors != null
+                ? cachedDescriptor(descriptors, id)
+                : loadDescriptor(id);
+        return EventResponse.of(descriptor, liveCapacity.available(id));
+    }
+
+    private EventDescriptor cachedDescriptor(Cache descriptors, UUID id) {
+        try {
+            return descriptors.get(id, () -> loadDescriptor(id));
+        } catch (Cache.ValueRetrievalException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
 
+    private EventDescriptor loadDescriptor(UUID id) {
         Event event = eventRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Evento não encontrado com ID: " + id
                 ));
-
-        return EventResponse.fromEntity(event);
+        liveCapacity.seed(id, event.getAvailableCapacity());
+        return EventDescriptor.fromEntity(event);
     }
 
     @Transactional(readOnly = true)
     public Page<EventResponse> getAllEvents(Pageable pageable) {
         log.debug("Fetching all events with pagination");
 
-        Page<Event> events = eventRepository.findAll(pageable);
+        return cachedPage("all:" + pageKey(pageable), pageable,
+                () -> eventRepository.findAll(pageable).map(this::describe));
+    }
+
+    /**
+     * Keyset pagination over (eventDate, id). Not cached: pages are cheap index range scans,
+     * and the seats are merged from the live counters like every other listing.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<EventResponse> scrollEvents(String cursor, int size, boolean descending, boolean includeTotal) {
+        log.debug("Scrolling events (desc: {})", descending);
 
-        return events.map(EventResponse::fromEntity);
+        CursorCodec.Position after = CursorCodec.decode(cursor);
+        Limit limit = Limit.of(size + 1);
+        List<Event> rows;
+        if (descending) {
+            rows = after == null
+                    ? eventRepository.findFirstByDateDesc(limit)
+                    : eventRepository.findAfterByDateDesc(after.timestamp(), after.id(), limit);
+        } else {
+            rows = after == null
+                    ? eventRepository.findFirstByDateAsc(limit)
+                    : eventRepository.findAfterByDateAsc(after.timestamp(), after.id(), limit);
+        }
+        Long total = includeTotal ? eventRepository.count() : null;
+        return CursorPage.of(rows, size,
+                event -> CursorCodec.encode(event.getEventDate(), event.getId()),
+                page -> withLiveCapacity(page.stream().map(this::describe).toList()),
+                total);
     }
 
+    /**
+     * The cached listing ignores seats, which the catalog version does not follow; sold-out
+     * (and meanwhile started) events are dropped here from the live counters.
+     */
     @Transactional(readOnly = true)
     public List<EventResponse> getUpcomingEvents() {
         log.debug("Fetching upcoming events");
 
-        List<Event> events = eventRepository.findUpcomingEvents();
-
-        return events.stream()
-                .map(EventResponse::fromEntity)
+        return cachedList("upcoming:any-seats", () -> eventRepository.findAllUpcomingEvents().stream()
+                .map(this::describe)
+                .toList())
+                .stream()
+                .filter(EventResponse::isAvailable)
                 .toList();
     }
 
     @Transactional(readOnly = true)
-    public List<EventResponse> searchEvents(String searchTerm) {
+    public Page<EventResponse> searchEvents(String searchTerm, Pageable pageable) {
         log.debug("Searching events with term: {}", searchTerm);
 
-        List<Event> events = eventRepository.searchEvents(searchTerm);
-
-        return events.stream()
-                .map(EventResponse::fromEntity)
-                .toList();
+        String normalized = searchTerm == null ? "" : searchTerm.trim().toLowerCase(Locale.ROOT);
+        return cachedPage("search:" + normalized + ":" + pageKey(pageable), pageable,
+                () -> searchEngine.search(normalized, pageable).map(this::describe));
     }
 
     @Transactional(readOnly = true)
@@ -108,19 +173,12 @@ public class EventService {
     ) {
         log.debug("Fetching events by location: {}", location);
 
-        Page<Event> events = eventRepository.findUpcomingEventsByLocation(
-                location,
-                pageable
-        );
-
-        return events.map(EventResponse::fromEntity);
+        return cachedPage("location:" + location + ":" + pageKey(pageable), pageable,
+                () -> eventRepository.findUpcomingEventsByLocation(location, pageable)
+                        .map(this::describe));
     }
 
     @Transactional
-    @Caching(evict = {
-        @CacheEvict(value = "events", key = "#id"),
-        @CacheEvict(value = "events", allEntries = true)
-    })
     public EventResponse updateEvent(UUID id, UpdateEventRequest request) {
         log.info("Atualizando evento: {}", id);
         Event event = eventRepository.findById(id)
@@ -162,6 +220,7 @@ public class EventService {
             event.setImageUrl(request.imageUrl());
         }
         Event updated = eventRepository.save(event);
+        eventPublisher.publishEvent(new EventCatalogChangedEvent(id));
         log.info("Event updated successfully: {} (ID: {})",
                 updated.getName(), updated.getId());
         return EventResponse.fromEntity(updated);
@@ -189,10 +248,6 @@ public class EventService {
 
 
     @Transactional
-    @Caching(evict = {
-        @CacheEvict(value = "events", key = "#id"),
-        @CacheEvict(value = "events", allEntries = true)
-    })
     public void deleteEvent(UUID id) {
         log.info("Excluindo evento: {}", id);
         Event event = eventRepository.findById(id)
@@ -211,9 +266,52 @@ public class EventService {
             );
         }
         eventRepository.delete(event);
+        eventPublisher.publishEvent(new EventCatalogChangedEvent(id));
         log.info("Evento excluído com sucesso: {}", event.getName());
     }
 
+    /**
+     * Listings are cached under the current listing version plus their query parameters;
+     * {@link com.eventhub.cache.EventCacheInvalidator} bumps the version instead of flushing.
+     * Only descriptors are cached, seats are merged in on every read.
+     */
+    private Page<EventResponse> cachedPage(String query, Pageable pageable, Supplier<Page<EventDescriptor>> loader) {
+        Cache listings = cacheManager.getCache(CacheSpecs.EVENT_LISTINGS);
+        EventListing listing = listings != null
+                ? listings.get(listingKey(query), () -> EventListing.of(loader.get()))
+                : EventListing.of(loader.get());
+        return new PageImpl<>(withLiveCapacity(listing.content()), pageable, listing.totalElements());
+    }
+
+    private List<EventResponse> cachedList(String query, Supplier<List<EventDescriptor>> loader) {
+        Cache listings = cacheManager.getCache(CacheSpecs.EVENT_LISTINGS);
+        EventListing listing = listings != null
+                ? listings.get(listingKey(query), () -> EventListing.of(loader.get()))
+                : EventListing.of(loader.get());
+        return withLiveCapacity(listing.content());
+    }
+
+    private EventDescriptor describe(Event event) {
+        liveCapacity.seed(event.getId(), event.getAvailableCapacity());
+        return EventDescriptor.fromEntity(event);
+    }
+
+    private List<EventResponse> withLiveCapacity(List<EventDescriptor> descriptors) {
+        Map<UUID, Integer> seats = liveCapacity.availableFor(
+                descriptors.stream().map(EventDescriptor::id).toList());
+        return descriptors.stream()
+                .map(descriptor -> EventResponse.of(descriptor, seats.getOrDefault(descriptor.id(), 0)))
+                .toList();
+    }
+
+    private String listingKey(String query) {
+        return "v" + eventListingVersion.current() + ":" + query;
+    }
+
+    private static String pageKey(Pageable pageable) {
+        return pageable.getPageNumber() + ":" + pageable.getPageSize() + ":" + pageable.getSort();
+    }
+
     private Event findEventById(UUID id) {
         return eventRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(
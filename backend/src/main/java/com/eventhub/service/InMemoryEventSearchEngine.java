@@ -0,0 +1,193 @@
+package com.eventhub.service;
+
+import com.eventhub.entity.Event;
+import com.eventhub.event.EventCatalogChangedEvent;
+import com.eventhub.repository.EventRepository;
+import com.eventhub.util.SearchTokenizer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-process inverted index for databases without full-text search (H2, tests).
+ * <p>
+ * Every token points to the events containing it, weighted by field (name 4, location 2,
+ * description 1). Query tokens match as prefixes and must all match; results are ranked by
+ * total weight, then by date. The index is built at startup and follows catalog changes.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "application.search.engine", havingValue = "memory")
+public class InMemoryEventSearchEngine implements EventSearchEngine {
+
+    private static final int NAME_WEIGHT = 4;
+    private static final int LOCATION_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int REBUILD_PAGE_SIZE = 1000;
+
+    private final EventRepository eventRepository;
+    private final NavigableMap<String, Map<UUID, Integer>> postings = new ConcurrentSkipListMap<>();
+    private final Map<UUID, Document> documents = new ConcurrentHashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public InMemoryEventSearchEngine(EventRepository eventRepository) {
+        this.eventRepository = eventRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long begin = System.currentTimeMillis();
+        Page<Event> page = eventRepository.findAll(PageRequest.of(0, REBUILD_PAGE_SIZE));
+        while (true) {
+            page.forEach(this::index);
+            if (!page.hasNext()) {
+                break;
+            }
+            page = eventRepository.findAll(page.nextPageable());
+        }
+        log.info("Índice de busca em memória construído: {} eventos em {} ms",
+                documents.size(), System.currentTimeMillis() - begin);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(EventCatalogChangedEvent event) {
+        if (event.eventId() == null) {
+            return;
+        }
+        eventRepository.findById(event.eventId())
+                .ifPresentOrElse(this::index, () -> remove(event.eventId()));
+    }
+
+    public void index(Event event) {
+        index(event.getId(), event.getName(), event.getLocation(), event.getDescription(), event.getEventDate());
+    }
+
+    public void index(UUID id, String name, String location, String description, LocalDateTime eventDate) {
+        Map<String, Integer> weights = new HashMap<>();
+        SearchTokenizer.tokens(description).forEach(token -> weights.merge(token, DESCRIPTION_WEIGHT, Math::max));
+        SearchTokenizer.tokens(location).forEach(token -> weights.merge(token, LOCATION_WEIGHT, Math::max));
+        SearchTokenizer.tokens(name).forEach(token -> weights.merge(token, NAME_WEIGHT, Math::max));
+
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(id);
+            weights.forEach((token, weight) ->
+                    postings.computeIfAbsent(token, t -> new ConcurrentHashMap<>()).put(id, weight));
+            documents.put(id, new Document(List.copyOf(weights.keySet()), eventDate));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Page<Event> search(String query, Pageable pageable) {
+        List<String> tokens = SearchTokenizer.tokens(query);
+        if (tokens.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        List<Map.Entry<UUID, Integer>> ranked;
+        lock.readLock().lock();
+        try {
+            ranked = rank(tokens);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        int from = (int) Math.min(pageable.getOffset(), ranked.size());
+        int to = Math.min(from + pageable.getPageSize(), ranked.size());
+        List<UUID> pageIds = ranked.subList(from, to).stream().map(Map.Entry::getKey).toList();
+        Map<UUID, Event> events = eventRepository.findAllById(pageIds).stream()
+                .collect(Collectors.toMap(Event::getId, Function.identity()));
+        List<Event> content = pageIds.stream()
+                .map(events::get)
+                .filter(event -> event != null)
+                .toList();
+        return new PageImpl<>(content, pageable, ranked.size());
+    }
+
+    /**
+     * Events matching every token (as a prefix), best score first.
+     */
+    private List<Map.Entry<UUID, Integer>> rank(List<String> tokens) {
+        Map<UUID, Integer> scores = null;
+        for (String token : tokens) {
+            Map<UUID, Integer> matches = new HashMap<>();
+            postings.subMap(token, true, token + Character.MAX_VALUE, false).values()
+                    .forEach(posting -> posting.forEach((id, weight) -> matches.merge(id, weight, Math::max)));
+            if (scores == null) {
+                scores = matches;
+            } else {
+                Map<UUID, Integer> previous = scores;
+                scores = new HashMap<>();
+                for (Map.Entry<UUID, Integer> match : matches.entrySet()) {
+                    Integer score = previous.get(match.getKey());
+                    if (score != null) {
+                        scores.put(match.getKey(), score + match.getValue());
+                    }
+                }
+            }
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+        }
+        List<Map.Entry<UUID, Integer>> ranked = new ArrayList<>(scores.entrySet());
+        ranked.sort(Comparator.<Map.Entry<UUID, Integer>>comparingInt(Map.Entry::getValue).reversed()
+                .thenComparing(entry -> documents.get(entry.getKey()).eventDate(),
+                        Comparator.nullsLast(Comparator.naturalOrder())));
+        return ranked;
+    }
+
+    private void removeUnlocked(UUID id) {
+        Document previous = documents.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String token : previous.tokens()) {
+            Map<UUID, Integer> posting = postings.get(token);
+            if (posting != null) {
+                posting.remove(id);
+                if (posting.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    private record Document(List<String> tokens, LocalDateTime eventDate) {
+    }
+}
@@ -0,0 +1,145 @@
+package com.eventhub.service;
+
+import com.eventhub.event.EventCapacityChangedEvent;
+import com.eventhub.event.EventCatalogChangedEvent;
+import com.eventhub.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Free seats per event, kept in memory so event reads do not hit the database during on-sales.
+ * <p>
+ * Counters are seeded from events.available_capacity (plus seats sitting in this node's
+ * {@link CapacityLedger}), follow committed purchases and cancellations through
+ * {@link EventCapacityChangedEvent}, and are re-read from the database every
+ * {@code reseed-interval} to pick up sales made on other nodes.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LiveCapacityRegistry {
+
+    private static final int LOAD_CHUNK = 500;
+
+    private final EventRepository eventRepository;
+    private final CapacityLedger capacityLedger;
+
+    private final Map<UUID, Counter> counters = new ConcurrentHashMap<>();
+
+    @Value("${application.events.live-capacity.idle-after:600000}")
+    private long idleAfterMs;
+
+    public int available(UUID eventId) {
+        Counter counter = counters.get(eventId);
+        if (counter != null) {
+            counter.touch();
+            return counter.seats.get();
+        }
+        return availableFor(List.of(eventId)).getOrDefault(eventId, 0);
+    }
+
+    /**
+     * Free seats for several events; the ones not tracked yet are loaded with a single query.
+     */
+    public Map<UUID, Integer> availableFor(Collection<UUID> eventIds) {
+        Map<UUID, Integer> result = new HashMap<>();
+        List<UUID> missing = new ArrayList<>();
+        for (UUID eventId : eventIds) {
+            Counter counter = counters.get(eventId);
+            if (counter != null) {
+                counter.touch();
+                result.put(eventId, counter.seats.get());
+            } else {
+                missing.add(eventId);
+            }
+        }
+        if (!missing.isEmpty()) {
+            load(missing).forEach((eventId, seats) -> result.put(eventId,
+                    counters.computeIfAbsent(eventId, id -> new Counter(seats)).seats.get()));
+        }
+        return result;
+    }
+
+    /**
+     * Start tracking an event from a row that was just read anyway.
+     */
+    public void seed(UUID eventId, int rowAvailableCapacity) {
+        counters.computeIfAbsent(eventId,
+                id -> new Counter(rowAvailableCapacity + capacityLedger.localSeats(id)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCapacityChanged(EventCapacityChangedEvent event) {
+        Counter counter = counters.get(event.eventId());
+        if (counter != null) {
+            counter.seats.updateAndGet(seats -> Math.max(0, seats + event.delta()));
+        }
+    }
+
+    /**
+     * Capacity edits and deletions go through the catalog: re-read on next access.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(EventCatalogChangedEvent event) {
+        if (event.eventId() != null) {
+            counters.remove(event.eventId());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${application.events.live-capacity.reseed-interval:5000}")
+    public void reseed() {
+        long now = System.currentTimeMillis();
+        counters.entrySet().removeIf(entry -> now - entry.getValue().lastAccess > idleAfterMs);
+
+        List<UUID> tracked = new ArrayList<>(counters.keySet());
+        for (int from = 0; from < tracked.size(); from += LOAD_CHUNK) {
+            List<UUID> chunk = tracked.subList(from, Math.min(from + LOAD_CHUNK, tracked.size()));
+            Map<UUID, Integer> current = load(chunk);
+            for (UUID eventId : chunk) {
+                Integer seats = current.get(eventId);
+                if (seats == null) {
+                    counters.remove(eventId);
+                } else {
+                    Counter counter = counters.get(eventId);
+                    if (counter != null) {
+                        counter.seats.set(seats);
+                    }
+                }
+            }
+        }
+    }
+
+    private Map<UUID, Integer> load(Collection<UUID> eventIds) {
+        Map<UUID, Integer> seats = new HashMap<>();
+        for (EventRepository.CapacityView view : eventRepository.findAvailableCapacityByIds(eventIds)) {
+            seats.put(view.getId(), view.getAvailableCapacity() + capacityLedger.localSeats(view.getId()));
+        }
+        return seats;
+    }
+
+    private static final class Counter {
+        private final AtomicInteger seats;
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        private Counter(int seats) {
+            this.seats = new AtomicInteger(seats);
+        }
+
+        private void touch() {
+            lastAccess = System.currentTimeMillis();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.eventhub.service;
+
+import com.eventhub.exception.TooManyRequestsException;
+import com.eventhub.util.TokenBucket;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-username and per-IP token buckets in front of the password check.
+ * <p>
+ * Every attempt costs one token from both buckets; a failed attempt costs the username
+ * {@code failure-penalty} more, so guessing one account slows down much faster than a user
+ * mistyping once. Throttled attempts are rejected before any BCrypt work is done.
+ */
+@Component
+@Slf4j
+public class LoginThrottle {
+
+    private final Cache<String, TokenBucket> buckets;
+    private final int usernameCapacity;
+    private final double usernameRefillPerSecond;
+    private final int ipCapacity;
+    private final double ipRefillPerSecond;
+    private final double failurePenalty;
+    private final Counter throttled;
+
+    public LoginThrottle(
+            MeterRegistry meterRegistry,
+            @Value("${application.security.login-throttle.username.capacity:5}") int usernameCapacity,
+            @Value("${application.security.login-throttle.username.refill-per-minute:5}") double usernameRefillPerMinute,
+            @Value("${application.security.login-throttle.ip.capacity:20}") int ipCapacity,
+            @Value("${application.security.login-throttle.ip.refill-per-minute:30}") double ipRefillPerMinute,
+            @Value("${application.security.login-throttle.failure-penalty:1}") double failurePenalty,
+            @Value("${application.security.login-throttle.max-tracked:100000}") long maxTracked
+    ) {
+        this.usernameCapacity = usernameCapacity;
+        this.usernameRefillPerSecond = usernameRefillPerMinute / 60.0;
+        this.ipCapacity = ipCapacity;
+        this.ipRefillPerSecond = ipRefillPerMinute / 60.0;
+        this.failurePenalty = failurePenalty;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxTracked)
+                .expireAfterAccess(Duration.ofMinutes(15))
+                .build();
+        this.throttled = Counter.builder("eventhub.auth.login.throttled")
+                .description("Login attempts rejected by the per-username/IP throttle")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @throws TooManyRequestsException when either bucket is empty
+     */
+    public void acquire(String username, String clientIp) {
+        long waitNanos = Math.max(
+                usernameBucket(username).tryConsume(1),
+                ipBucket(clientIp).tryConsume(1)
+        );
+        if (waitNanos > 0) {
+            throttled.increment();
+            log.warn("Login throttled for user {} from {}", username, clientIp);
+            throw new TooManyRequestsException(
+                    "Muitas tentativas de login. Tente novamente em instantes.",
+                    Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1)
+            );
+        }
+    }
+
+    public void recordFailure(String username) {
+        usernameBucket(username).consume(failurePenalty);
+    }
+
+    private TokenBucket usernameBucket(String username) {
+        String key = "u:" + (username == null ? "" : username.trim().toLowerCase(Locale.ROOT));
+        return buckets.get(key, k -> new TokenBucket(usernameCapacity, usernameRefillPerSecond));
+    }
+
+    private TokenBucket ipBucket(String clientIp) {
+        return buckets.get("ip:" + clientIp, k -> new TokenBucket(ipCapacity, ipRefillPerSecond));
+    }
+}
@@ -0,0 +1,402 @@
+package com.eventhub.service;
+
+import com.eventhub.exception.ServiceBusyException;
+import com.eventhub.util.CircuitBreaker;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * The only way the application talks to Ollama.
+ * <p>
+ * One shared HttpClient keeps connections to Ollama alive between calls, with a connect
+ * timeout and a per-request {@code timeout} (until the response headers, for streams). A stream
+ * as a whole is cut off after {@code stream-timeout}.
+ * At most {@code max-concurrent} generations run at once; a caller waits up to
+ * {@code queue-timeout} for a slot and then gets a 503 with Retry-After. After
+ * {@code circuit.failure-threshold} consecutive failures the circuit opens and every call fails
+ * fast for {@code circuit.open-duration}, then a single trial call decides whether it closes.
+ */
+@Component
+@Slf4j
+public class OllamaClient {
+
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+    private final URI generateUri;
+    private final URI embeddingsUri;
+    private final String model;
+    private final Duration timeout;
+    private final long streamTimeoutMs;
+    private final int maxTokens;
+    private final long queueTimeoutMs;
+    private final long retryAfterSeconds;
+    private final Semaphore generations;
+    private final CircuitBreaker circuitBreaker;
+    private final MeterRegistry meterRegistry;
+    private final Counter saturatedRejections;
+    private final Counter circuitRejections;
+
+    public OllamaClient(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${application.ollama.base-url:http://localhost:11434}") String baseUrl,
+            @Value("${application.ollama.model:llama3.2:3b}") String model,
+            @Value("${application.ollama.timeout:30000}") long timeoutMs,
+            @Value("${application.ollama.stream-timeout:120000}") long streamTimeoutMs,
+            @Value("${application.ollama.connect-timeout:2000}") long connectTimeoutMs,
+            @Value("${application.ollama.max-tokens:500}") int maxTokens,
+            @Value("${application.ollama.max-concurrent:4}") int maxConcurrent,
+            @Value("${application.ollama.queue-timeout:2000}") long queueTimeoutMs,
+            @Value("${application.ollama.retry-after:5}") long retryAfterSeconds,
+            @Value("${application.ollama.circuit.failure-threshold:5}") int failureThreshold,
+            @Value("${application.ollama.circuit.open-duration:30000}") long openDurationMs
+    ) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .build();
+        this.generateUri = URI.create(baseUrl + "/api/generate");
+        this.embeddingsUri = URI.create(baseUrl + "/api/embeddings");
+        this.model = model;
+        this.timeout = Duration.ofMillis(timeoutMs);
+        this.streamTimeoutMs = streamTimeoutMs;
+        this.maxTokens = maxTokens;
+        this.queueTimeoutMs = queueTimeoutMs;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.generations = new Semaphore(maxConcurrent, true);
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, openDurationMs);
+
+        Gauge.builder("eventhub.ollama.in_flight", generations, s -> maxConcurrent - s.availablePermits())
+                .description("Generations currently running on Ollama")
+                .register(meterRegistry);
+        Gauge.builder("eventhub.ollama.waiting", generations, Semaphore::getQueueLength)
+                .description("Generations waiting for a free Ollama slot")
+                .register(meterRegistry);
+        Gauge.builder("eventhub.ollama.circuit_state", circuitBreaker, c -> c.state().ordinal())
+                .description("0 = closed, 1 = open, 2 = half-open")
+                .register(meterRegistry);
+        this.saturatedRejections = Counter.builder("eventhub.ollama.rejected")
+                .tag("reason", "saturated")
+                .register(meterRegistry);
+        this.circuitRejections = Counter.builder("eventhub.ollama.rejected")
+                .tag("reason", "circuit_open")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param response generated text
+     * @param context  Ollama's token context to resume the conversation from (may be null)
+     */
+    public record Reply(String response, int[] context) {
+    }
+
+    public Reply generate(String prompt, int[] resume) {
+        acquireGeneration();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        boolean success = false;
+        try {
+            HttpResponse<byte[]> response = httpClient.send(
+                    post(generateUri, generateRequest(prompt, false, resume)),
+                    HttpResponse.BodyHandlers.ofByteArray());
+            checkStatus(response.statusCode());
+            JsonNode body = objectMapper.readTree(response.body());
+            if (!body.hasNonNull("response")) {
+                throw new IllegalStateException("Resposta inválida do Ollama: campo 'response' ausente");
+            }
+            success = true;
+            return new Reply(body.get("response").asText(), toContext(body.get("context")));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Chamada ao Ollama interrompida", e);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Falha ao chamar o Ollama: " + e.getMessage(), e);
+        } finally {
+            complete(sample, "generate", success);
+            generations.release();
+        }
+    }
+
+    /**
+     * Streams /api/generate on HttpClient's non-blocking I/O. The generation slot is held
+     * until the returned future completes: with the reply, with an error, with a
+     * {@link java.util.concurrent.TimeoutException} after {@code stream-timeout}, or when the
+     * caller cancels it. Whatever ends it also aborts the HTTP exchange. Rejections (busy or
+     * circuit open) are returned as a failed future with {@link ServiceBusyException}.
+     *
+     * @param onToken called for every generated chunk, in order; throwing from it aborts the
+     *                stream without counting against Ollama's health
+     */
+    public CompletableFuture<Reply> generateStream(String prompt, int[] resume, Consumer<String> onToken) {
+        HttpRequest request;
+        try {
+            request = post(generateUri, generateRequest(prompt, true, resume));
+            acquireGeneration();
+        } catch (RuntimeException | JsonProcessingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        StreamSubscriber subscriber = new StreamSubscriber(onToken);
+        CompletableFuture<Reply> result = subscriber.result.orTimeout(streamTimeoutMs, TimeUnit.MILLISECONDS);
+        CompletableFuture<HttpResponse<Void>> exchange = httpClient.sendAsync(
+                request, HttpResponse.BodyHandlers.fromLineSubscriber(subscriber));
+        exchange.whenComplete((response, error) -> {
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else if (response.statusCode() != 200) {
+                result.completeExceptionally(new IllegalStateException(
+                        "Ollama respondeu com status " + response.statusCode()));
+            }
+        });
+        // Completed only once the slot is back; cancelling it cancels the stream itself
+        CompletableFuture<Reply> released = new CompletableFuture<>();
+        result.whenComplete((reply, error) -> {
+            if (error != null) {
+                subscriber.cancel();
+                exchange.cancel(true);
+            }
+            boolean callerGone = subscriber.abortedByCaller || error instanceof CancellationException;
+            complete(sample, "generate_stream", error == null || callerGone);
+            generations.release();
+            if (error != null) {
+                released.completeExceptionally(error);
+            } else {
+                released.complete(reply);
+            }
+        });
+        released.whenComplete((reply, error) -> {
+            if (error instanceof CancellationException) {
+                result.cancel(true);
+            }
+        });
+        return released;
+    }
+
+    /**
+     * Embedding of {@code text} from /api/embeddings. Short calls, so they skip the generation
+     * bulkhead, but still fail fast while the circuit is open.
+     */
+    public float[] embed(String embeddingModel, String text) {
+        acquireCircuit();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        boolean success = false;
+        try {
+            HttpResponse<byte[]> response = httpClient.send(
+                    post(embeddingsUri, Map.of("model", embeddingModel, "prompt", text)),
+                    HttpResponse.BodyHandlers.ofByteArray());
+            checkStatus(response.statusCode());
+            success = true;
+            return objectMapper.convertValue(objectMapper.readTree(response.body()).path("embedding"), float[].class);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Chamada ao Ollama interrompida", e);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Falha ao chamar o Ollama: " + e.getMessage(), e);
+        } finally {
+            complete(sample, "embed", success);
+        }
+    }
+
+    public String model() {
+        return model;
+    }
+
+    /**
+     * The slot is taken first: while the circuit is open nothing holds a slot for long, so
+     * fast-failing calls never wait in the queue.
+     */
+    private void acquireGeneration() {
+        boolean acquired;
+        try {
+            acquired = generations.tryAcquire(queueTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            saturatedRejections.increment();
+            log.warn("Ollama saturado: {} gerações na fila", generations.getQueueLength());
+            throw new ServiceBusyException(
+                    "O assistente está atendendo muitas conversas agora. Tente novamente em instantes.",
+                    retryAfterSeconds
+            );
+        }
+        try {
+            acquireCircuit();
+        } catch (ServiceBusyException e) {
+            generations.release();
+            throw e;
+        }
+    }
+
+    private void acquireCircuit() {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            circuitRejections.increment();
+            throw new ServiceBusyException(
+                    "O assistente está temporariamente indisponível. Tente novamente em instantes.",
+                    Math.max(1, TimeUnit.MILLISECONDS.toSeconds(circuitBreaker.remainingOpenMs() + 999))
+            );
+        }
+    }
+
+    private void complete(Timer.Sample sample, String operation, boolean success) {
+        if (success) {
+            circuitBreaker.onSuccess();
+        } else {
+            circuitBreaker.onFailure();
+            if (circuitBreaker.state() == CircuitBreaker.State.OPEN) {
+                log.warn("Circuito do Ollama aberto por falhas consecutivas");
+            }
+        }
+        sample.stop(Timer.builder("eventhub.ollama.latency")
+                .tag("operation", operation)
+                .tag("outcome", success ? "success" : "error")
+                .register(meterRegistry));
+    }
+
+    private static void checkStatus(int status) {
+        if (status != 200) {
+            throw new IllegalStateException("Ollama respondeu com status " + status);
+        }
+    }
+
+    private HttpRequest post(URI uri, Object body) throws JsonProcessingException {
+        return HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .timeout(timeout)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+    }
+
+    private Map<String, Object> generateRequest(String prompt, boolean stream, int[] resume) {
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("model", model);
+        request.put("prompt", prompt);
+        request.put("stream", stream);
+        request.put("options", Map.of(
+                "temperature", 0.7,
+                "num_predict", maxTokens
+        ));
+        if (resume != null) {
+            request.put("context", resume);
+        }
+        return request;
+    }
+
+    private int[] toContext(JsonNode context) {
+        return context != null && context.isArray() ? objectMapper.convertValue(context, int[].class) : null;
+    }
+
+    /**
+     * Parses /api/generate's NDJSON lines: each carries a {@code response} chunk, the last one
+     * has {@code done: true}. Demand is one line at a time, so a slow client backs off Ollama.
+     */
+    private final class StreamSubscriber implements Flow.Subscriber<String> {
+
+        private final Consumer<String> onToken;
+        private final StringBuilder fullResponse = new StringBuilder();
+        private final CompletableFuture<Reply> result = new CompletableFuture<>();
+        private volatile Flow.Subscription subscription;
+        private volatile boolean abortedByCaller;
+
+        private StreamSubscriber(Consumer<String> onToken) {
+            this.onToken = onToken;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (result.isDone()) {
+                subscription.cancel();
+                return;
+            }
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (result.isDone()) {
+                subscription.cancel();
+                return;
+            }
+            if (line.isBlank()) {
+                subscription.request(1);
+                return;
+            }
+            try {
+                JsonNode chunk = objectMapper.readTree(line);
+                if (chunk.hasNonNull("error")) {
+                    throw new IllegalStateException("Ollama: " + chunk.get("error").asText());
+                }
+                String token = chunk.path("response").asText("");
+                if (!token.isEmpty()) {
+                    fullResponse.append(token);
+                    deliver(token);
+                }
+                if (chunk.path("done").asBoolean(false)) {
+                    result.complete(new Reply(fullResponse.toString(), toContext(chunk.get("context"))));
+                    subscription.cancel();
+                    return;
+                }
+                subscription.request(1);
+            } catch (Exception e) {
+                subscription.cancel();
+                result.completeExceptionally(e);
+            }
+        }
+
+        private void deliver(String token) {
+            try {
+                onToken.accept(token);
+            } catch (RuntimeException e) {
+                abortedByCaller = true;
+                throw e;
+            }
+        }
+
+        private void cancel() {
+            Flow.Subscription current = subscription;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            result.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            if (!result.isDone()) {
+                result.completeExceptionally(new IllegalStateException("Stream do Ollama terminou antes de 'done'"));
+            }
+        }
+    }
+}
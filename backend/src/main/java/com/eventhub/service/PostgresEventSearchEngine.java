@@ -0,0 +1,39 @@
+package com.eventhub.service;
+
+import com.eventhub.entity.Event;
+import com.eventhub.repository.EventRepository;
+import com.eventhub.util.SearchTokenizer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.util.Locale;
+
+/**
+ * Search on events.search_vector (GIN) for whole and prefix words, plus pg_trgm similarity on
+ * name and location for misspelled or partial input.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "application.search.engine", havingValue = "postgres", matchIfMissing = true)
+public class PostgresEventSearchEngine implements EventSearchEngine {
+
+    private final EventRepository eventRepository;
+
+    @Override
+    public Page<Event> search(String query, Pageable pageable) {
+        String tsQuery = SearchTokenizer.toPrefixTsQuery(query);
+        if (tsQuery.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        String term = query.trim().toLowerCase(Locale.ROOT);
+        return eventRepository.searchRanked(
+                tsQuery,
+                term,
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize())
+        );
+    }
+}
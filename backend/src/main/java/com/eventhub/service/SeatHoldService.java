@@ -0,0 +1,376 @@
+package com.eventhub.service;
+
+import com.eventhub.dto.request.ConfirmHoldRequest;
+import com.eventhub.dto.request.PurchaseTicketRequest;
+import com.eventhub.dto.response.SeatHoldResponse;
+import com.eventhub.dto.response.TicketResponse;
+import com.eventhub.entity.Event;
+import com.eventhub.entity.SeatHold;
+import com.eventhub.entity.User;
+import com.eventhub.event.EventCapacityChangedEvent;
+import com.eventhub.event.SeatHoldClosedEvent;
+import com.eventhub.exception.BusinessException;
+import com.eventhub.exception.ResourceNotFoundException;
+import com.eventhub.exception.SoldOutException;
+import com.eventhub.repository.EventRepository;
+import com.eventhub.repository.SeatHoldRepository;
+import com.eventhub.repository.TicketRepository;
+import com.eventhub.util.HierarchicalTimingWheel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reserve-then-confirm purchases.
+ * <p>
+ * A hold takes one seat from the {@link CapacityLedger}, which leases seats from the events row
+ * in blocks: creating or expiring a hold takes no events row lock. Every hold is a
+ * {@code seat_holds} row (V14), so it can be confirmed ({@link TicketService#purchaseFromHold})
+ * or released through any node and outlives the node that placed it. The placing node expires
+ * its holds with a {@link HierarchicalTimingWheel} advanced every {@code tick-interval} on its
+ * own thread, so no query polls for them; holds still there {@code abandoned-after} their
+ * expiry (their node stopped) are expired by whichever node sweeps first.
+ * <p>
+ * A seat goes back to the ledger it came from when the hold ends on that node, and to the
+ * events row otherwise.
+ */
+@Service
+@Slf4j
+public class SeatHoldService {
+
+    private final EventRepository eventRepository;
+    private final TicketRepository ticketRepository;
+    private final SeatHoldRepository seatHoldRepository;
+    private final TicketService ticketService;
+    private final CapacityLedger capacityLedger;
+    private final CapacityLeaseService leaseService;
+    private final SoldOutRegistry soldOutRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long holdDurationMs;
+    private final HierarchicalTimingWheel<LocalHold> wheel;
+    private final long tickIntervalMs;
+    private final long sweepIntervalMs;
+    private final long abandonedAfterMs;
+    private final int sweepBatchSize;
+    private final ScheduledExecutorService expiryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "seat-hold-expiry");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Holds placed by this node, waiting on the wheel.
+     */
+    private final Map<UUID, LocalHold> holds = new ConcurrentHashMap<>();
+
+    private final Counter created;
+    private final Counter confirmed;
+    private final Counter released;
+    private final Counter expired;
+
+    public SeatHoldService(
+            EventRepository eventRepository,
+            TicketRepository ticketRepository,
+            SeatHoldRepository seatHoldRepository,
+            TicketService ticketService,
+            CapacityLedger capacityLedger,
+            CapacityLeaseService leaseService,
+            SoldOutRegistry soldOutRegistry,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${application.tickets.holds.duration:600000}") long holdDurationMs,
+            @Value("${application.tickets.holds.tick-interval:100}") long tickIntervalMs,
+            @Value("${application.tickets.holds.wheel-size:512}") int wheelSize,
+            @Value("${application.tickets.holds.levels:3}") int levels,
+            @Value("${application.tickets.holds.sweep-interval:30000}") long sweepIntervalMs,
+            @Value("${application.tickets.holds.abandoned-after:60000}") long abandonedAfterMs,
+            @Value("${application.tickets.holds.sweep-batch-size:500}") int sweepBatchSize
+    ) {
+        this.eventRepository = eventRepository;
+        this.ticketRepository = ticketRepository;
+        this.seatHoldRepository = seatHoldRepository;
+        this.ticketService = ticketService;
+        this.capacityLedger = capacityLedger;
+        this.leaseService = leaseService;
+        this.soldOutRegistry = soldOutRegistry;
+        this.eventPublisher = eventPublisher;
+        this.holdDurationMs = holdDurationMs;
+        this.wheel = new HierarchicalTimingWheel<>(tickIntervalMs, wheelSize, levels, System.currentTimeMillis());
+        this.tickIntervalMs = tickIntervalMs;
+        this.sweepIntervalMs = sweepIntervalMs;
+        this.abandonedAfterMs = abandonedAfterMs;
+        this.sweepBatchSize = sweepBatchSize;
+        Gauge.builder("eventhub.tickets.holds.active", holds, Map::size)
+                .description("Seat holds placed by this node waiting for confirmation")
+                .register(meterRegistry);
+        this.created = holdCounter(meterRegistry, "created");
+        this.confirmed = holdCounter(meterRegistry, "confirmed");
+        this.released = holdCounter(meterRegistry, "released");
+        this.expired = holdCounter(meterRegistry, "expired");
+    }
+
+    /**
+     * Hold one seat of the event for {@code duration}. A user has at most one hold per event.
+     */
+    public SeatHoldResponse hold(UUID eventId, User user) {
+        soldOutRegistry.rejectIfSoldOut(eventId);
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Evento não encontrado com ID: " + eventId
+                ));
+        if (event.isPast()) {
+            throw new BusinessException(
+                    "Não é possível comprar ingressos para eventos passados"
+            );
+        }
+        if (event.isCancelled()) {
+            throw new BusinessException("Este evento foi cancelado");
+        }
+        if (ticketRepository.userHasActiveTicketForEvent(user, event)) {
+            throw new BusinessException(
+                    "Você já possui um ingresso para este evento"
+            );
+        }
+
+        SeatHold hold = place(eventId, user.getId(), holdDurationMs);
+        if (hold == null) {
+            soldOutRegistry.markSoldOut(eventId);
+            throw SoldOutException.INSTANCE;
+        }
+        log.info("Lugar reservado para {} no evento {} até {}", user.getUsername(), eventId, hold.getExpiresAt());
+        return toResponse(hold);
+    }
+
+    /**
+     * Hold a seat on behalf of a user who did not ask for it right now (waitlist offers).
+     * Skips the checks of {@link #hold}; the caller vetted the user when they joined.
+     *
+     * @return empty when no seat is left
+     */
+    public Optional<SeatHoldResponse> offer(UUID eventId, UUID userId, long durationMs) {
+        SeatHold hold = place(eventId, userId, durationMs);
+        return Optional.ofNullable(hold).map(SeatHoldService::toResponse);
+    }
+
+    /**
+     * Turn the hold into a ticket. The hold is consumed even when the purchase fails.
+     */
+    public TicketResponse confirm(UUID holdId, ConfirmHoldRequest request, User user) {
+        SeatHold hold = find(holdId, user);
+        UUID eventId = hold.getEventId();
+        try {
+            TicketResponse ticket = ticketService.purchaseFromHold(
+                    new PurchaseTicketRequest(eventId, request.participantName(), request.participantEmail()),
+                    user,
+                    hold
+            );
+            forget(holdId);
+            confirmed.increment();
+            eventPublisher.publishEvent(new SeatHoldClosedEvent(holdId, eventId, user.getId(), true));
+            return ticket;
+        } catch (RuntimeException e) {
+            // The purchase rolled back with the hold row still there
+            if (end(hold)) {
+                released.increment();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Give the seat back before the hold expires.
+     */
+    public void release(UUID holdId, User user) {
+        if (!end(find(holdId, user))) {
+            throw new ResourceNotFoundException("Reserva não encontrada ou expirada: " + holdId);
+        }
+        released.increment();
+        log.info("Reserva {} liberada por {}", holdId, user.getUsername());
+    }
+
+    @PostConstruct
+    void startExpiry() {
+        expiryScheduler.scheduleWithFixedDelay(() -> {
+            try {
+                expireHolds();
+            } catch (Exception e) {
+                // An exception would cancel the periodic task
+                log.error("Falha ao expirar reservas", e);
+            }
+        }, tickIntervalMs, tickIntervalMs, TimeUnit.MILLISECONDS);
+        expiryScheduler.scheduleWithFixedDelay(() -> {
+            try {
+                expireAbandonedHolds();
+            } catch (Exception e) {
+                log.error("Falha ao expirar reservas abandonadas", e);
+            }
+        }, sweepIntervalMs, sweepIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public void expireHolds() {
+        // Collected first: returning seats publishes events, which must not run inside the wheel
+        List<LocalHold> due = new ArrayList<>();
+        wheel.advanceTo(System.currentTimeMillis(), due::add);
+        due.forEach(hold -> {
+            if (holds.remove(hold.id, hold) && returnLocalSeat(hold.id, hold.eventId, hold.userId)) {
+                expired.increment();
+                log.debug("Reserva {} expirou", hold.id);
+            }
+        });
+    }
+
+    /**
+     * Holds whose node did not expire them, most likely because it stopped.
+     */
+    public void expireAbandonedHolds() {
+        LocalDateTime expiredBefore = LocalDateTime.now().minus(Duration.ofMillis(abandonedAfterMs));
+        List<SeatHold> abandoned;
+        do {
+            abandoned = leaseService.expireAbandonedHolds(expiredBefore, sweepBatchSize);
+            abandoned.forEach(hold -> {
+                forget(hold.getId());
+                seatReturned(hold.getId(), hold.getEventId(), hold.getUserId());
+                expired.increment();
+            });
+            if (!abandoned.isEmpty()) {
+                log.info("{} reservas abandonadas expiradas", abandoned.size());
+            }
+        } while (abandoned.size() == sweepBatchSize);
+    }
+
+    /**
+     * Held seats stay held: the rows outlive this node and are confirmed or expired elsewhere.
+     */
+    @PreDestroy
+    public void shutdown() {
+        expiryScheduler.shutdownNow();
+        if (!holds.isEmpty()) {
+            log.info("{} reservas ficam no banco para os outros nós", holds.size());
+        }
+    }
+
+    /**
+     * @return null when the ledger has no seat left
+     */
+    private SeatHold place(UUID eventId, UUID userId, long durationMs) {
+        if (seatHoldRepository.existsByEventIdAndUserId(eventId, userId)) {
+            throw new BusinessException("Você já possui uma reserva ativa para este evento");
+        }
+        if (!capacityLedger.tryReserve(eventId)) {
+            return null;
+        }
+        long expiresAt = System.currentTimeMillis() + durationMs;
+        SeatHold hold;
+        try {
+            hold = seatHoldRepository.save(SeatHold.builder()
+                    .eventId(eventId)
+                    .userId(userId)
+                    .leaseNodeId(capacityLedger.nodeId())
+                    .expiresAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(expiresAt), ZoneId.systemDefault()))
+                    .build());
+        } catch (RuntimeException e) {
+            capacityLedger.release(eventId, 1);
+            if (e instanceof DataIntegrityViolationException) {
+                // Lost a race with another hold of the same user (uq_seat_hold_event_user)
+                throw new BusinessException("Você já possui uma reserva ativa para este evento");
+            }
+            throw e;
+        }
+        LocalHold local = new LocalHold(hold.getId(), eventId, userId);
+        holds.put(local.id, local);
+        local.timeout = wheel.schedule(local, expiresAt);
+        eventPublisher.publishEvent(EventCapacityChangedEvent.taken(eventId, 1));
+        created.increment();
+        return hold;
+    }
+
+    private SeatHold find(UUID holdId, User user) {
+        return seatHoldRepository.findById(holdId)
+                .filter(hold -> hold.getUserId().equals(user.getId()))
+                .orElseThrow(() -> new ResourceNotFoundException("Reserva não encontrada ou expirada: " + holdId));
+    }
+
+    /**
+     * Only one of confirm, release and expiry wins the hold: the one that deletes its row.
+     */
+    private boolean end(SeatHold hold) {
+        forget(hold.getId());
+        if (hold.getLeaseNodeId().equals(capacityLedger.nodeId())) {
+            return returnLocalSeat(hold.getId(), hold.getEventId(), hold.getUserId());
+        }
+        if (!leaseService.releaseHold(hold.getId(), hold.getLeaseNodeId(), hold.getEventId())) {
+            return false;
+        }
+        seatReturned(hold.getId(), hold.getEventId(), hold.getUserId());
+        return true;
+    }
+
+    /**
+     * The seat came from this node's ledger and goes back to it. If the node dies in between,
+     * its lease counts the seat as unsold: it is neither a ticket nor held any more.
+     */
+    private boolean returnLocalSeat(UUID holdId, UUID eventId, UUID userId) {
+        if (seatHoldRepository.deleteHold(holdId) == 0) {
+            return false;
+        }
+        capacityLedger.release(eventId, 1);
+        seatReturned(holdId, eventId, userId);
+        return true;
+    }
+
+    private void seatReturned(UUID holdId, UUID eventId, UUID userId) {
+        eventPublisher.publishEvent(EventCapacityChangedEvent.released(eventId, 1));
+        eventPublisher.publishEvent(new SeatHoldClosedEvent(holdId, eventId, userId, false));
+    }
+
+    private void forget(UUID holdId) {
+        LocalHold local = holds.remove(holdId);
+        if (local != null && local.timeout != null) {
+            local.timeout.cancel();
+        }
+    }
+
+    private static SeatHoldResponse toResponse(SeatHold hold) {
+        return new SeatHoldResponse(hold.getId(), hold.getEventId(), hold.getExpiresAt());
+    }
+
+    private static Counter holdCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("eventhub.tickets.holds")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static final class LocalHold {
+        private final UUID id;
+        private final UUID eventId;
+        private final UUID userId;
+        private volatile HierarchicalTimingWheel.Timeout<LocalHold> timeout;
+
+        private LocalHold(UUID id, UUID eventId, UUID userId) {
+            this.id = id;
+            this.eventId = eventId;
+            this.userId = userId;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.eventhub.service;
+
+import com.eventhub.event.EventCapacityChangedEvent;
+import com.eventhub.event.EventCatalogChangedEvent;
+import com.eventhub.exception.SoldOutException;
+import com.eventhub.repository.EventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Events this node knows to be sold out, so purchases for them are turned away before a
+ * transaction or a connection is taken.
+ * <p>
+ * An event is marked when a purchase finds no seat left (events row and {@link CapacityLedger}
+ * both empty) and cleared as soon as a seat comes back: a committed cancellation or released
+ * hold on this node ({@link EventCapacityChangedEvent}), a catalog edit, or, for cancellations
+ * on other nodes, the periodic re-check of {@code available_capacity}.
+ */
+@Service
+@Slf4j
+public class SoldOutRegistry {
+
+    private final EventRepository eventRepository;
+    private final CapacityLedger capacityLedger;
+    private final Set<UUID> soldOut = ConcurrentHashMap.newKeySet();
+    private final Counter rejected;
+
+    public SoldOutRegistry(EventRepository eventRepository, CapacityLedger capacityLedger, MeterRegistry meterRegistry) {
+        this.eventRepository = eventRepository;
+        this.capacityLedger = capacityLedger;
+        Gauge.builder("eventhub.tickets.sold_out.events", soldOut, Set::size)
+                .description("Events rejected without touching the database")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("eventhub.tickets.sold_out.rejected")
+                .description("Purchases rejected by the sold-out registry")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @throws SoldOutException (shared instance) when the event is known to be sold out
+     */
+    public void rejectIfSoldOut(UUID eventId) {
+        if (soldOut.contains(eventId)) {
+            rejected.increment();
+            throw SoldOutException.INSTANCE;
+        }
+    }
+
+    public boolean isSoldOut(UUID eventId) {
+        return soldOut.contains(eventId);
+    }
+
+    /**
+     * Record that a purchase found no seat left; the caller then throws
+     * {@link SoldOutException#INSTANCE}.
+     */
+    public void markSoldOut(UUID eventId) {
+        if (soldOut.add(eventId)) {
+            log.info("Evento {} esgotado, novas compras serão recusadas sem acessar o banco", eventId);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCapacityChanged(EventCapacityChangedEvent event) {
+        if (event.delta() > 0) {
+            soldOut.remove(event.eventId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(EventCatalogChangedEvent event) {
+        if (event.eventId() != null) {
+            soldOut.remove(event.eventId());
+        }
+    }
+
+    /**
+     * Picks up seats freed on other nodes (cancellations, ledger seats handed back).
+     */
+    @Scheduled(fixedDelayString = "${application.tickets.sold-out.recheck-interval:5000}")
+    public void recheck() {
+        if (soldOut.isEmpty()) {
+            return;
+        }
+        List<UUID> tracked = new ArrayList<>(soldOut);
+        Set<UUID> stillSoldOut = new HashSet<>();
+        for (EventRepository.CapacityView view : eventRepository.findAvailableCapacityByIds(tracked)) {
+            if (view.getAvailableCapacity() + capacityLedger.localSeats(view.getId()) <= 0) {
+                stillSoldOut.add(view.getId());
+            }
+        }
+        // Deleted events drop out as well
+        tracked.stream()
+                .filter(eventId -> !stillSoldOut.contains(eventId))
+                .forEach(soldOut::remove);
+    }
+}
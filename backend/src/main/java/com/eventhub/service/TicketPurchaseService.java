@@ -0,0 +1,41 @@
+package com.eventhub.service;
+
+import com.eventhub.dto.request.PurchaseTicketRequest;
+import com.eventhub.dto.response.TicketResponse;
+import com.eventhub.entity.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+/**
+ * Entry point for single-ticket purchases.
+ * <p>
+ * In ledger mode the seat is taken from the {@link CapacityLedger} before the purchase
+ * transaction opens, the same way {@link SeatHoldService} does. A ledger refill leases seats in
+ * a transaction of its own; if it ran inside the purchase, every buyer waiting for the refill
+ * would sit on a pooled connection while the refill needed one more, and with more buyers than
+ * Hikari connections the pool ran dry.
+ */
+@Service
+@RequiredArgsConstructor
+public class TicketPurchaseService {
+
+    private final TicketService ticketService;
+    private final CapacityLedger capacityLedger;
+
+    public TicketResponse purchase(PurchaseTicketRequest request, User user) {
+        if (!ticketService.reservesFromLedger()) {
+            return ticketService.purchaseTicket(request, user);
+        }
+        if (!capacityLedger.tryReserve(request.eventId())) {
+            throw ticketService.explainRejectedPurchase(request.eventId());
+        }
+        try {
+            return ticketService.purchaseReserved(request, user);
+        } catch (CannotCreateTransactionException e) {
+            // No transaction, so no rollback hook to give the seat back
+            capacityLedger.release(request.eventId(), 1);
+            throw e;
+        }
+    }
+}
@@ -1,28 +1,47 @@
 package com.eventhub.service;
 
+import com.eventhub.dto.request.BatchPurchaseRequest;
 import com.eventhub.dto.request.PurchaseTicketRequest;
+import com.eventhub.dto.response.BatchPurchaseResponse;
+import com.eventhub.dto.response.CursorPage;
 import com.eventhub.dto.response.TicketResponse;
 import com.eventhub.entity.Event;
 import com.eventhub.entity.Participant;
+import com.eventhub.entity.SeatHold;
 import com.eventhub.entity.Ticket;
 import com.eventhub.entity.User;
+import com.eventhub.event.EventCapacityChangedEvent;
+import com.eventhub.enums.PurchaseMode;
 import com.eventhub.enums.TicketStatus;
 import com.eventhub.exception.BusinessException;
 import com.eventhub.exception.ResourceNotFoundException;
+import com.eventhub.exception.SoldOutException;
 import com.eventhub.repository.EventRepository;
+import com.eventhub.repository.SeatHoldRepository;
 import com.eventhub.repository.TicketRepository;
+import com.eventhub.util.CursorCodec;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.security.SecureRandom;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -31,11 +50,20 @@ public class TicketService {
 
     private final TicketRepository ticketRepository;
     private final EventRepository eventRepository;
+    private final SeatHoldRepository seatHoldRepository;
     private final EmailService emailService;
+    private final CapacityLedger capacityLedger;
+    private final ConfirmationCodeAllocator confirmationCodeAllocator;
+    private final SoldOutRegistry soldOutRegistry;
+    private final ApplicationEventPublisher eventPublisher;
 
-    private static final SecureRandom RANDOM = new SecureRandom();
-    private static final String CONFIRMATION_CHARS = "ABCDEFGHJKMNPQRSTUVWXYZ23456789";
+    @Value("${application.tickets.purchase-mode:locking}")
+    private PurchaseMode purchaseMode = PurchaseMode.LOCKING;
 
+    /**
+     * Locking and conditional modes. Ledger purchases go through {@link TicketPurchaseService},
+     * which takes the seat before the transaction opens.
+     */
     @Transactional
     public TicketResponse purchaseTicket(
             PurchaseTicketRequest request,
@@ -43,6 +71,9 @@ public class TicketService {
     ) {
         log.info("User {} purchasing ticket for event {}",
                 user.getUsername(), request.eventId());
+        if (purchaseMode.usesConditionalUpdate()) {
+            return purchaseWithConditionalUpdate(request, user);
+        }
         try {
             // Use pessimistic locking to prevent race conditions
             Event event = eventRepository.findByIdWithLock(request.eventId())
@@ -55,24 +86,13 @@ public class TicketService {
                         "Você já possui um ingresso para este evento"
                 );
             }
-            Participant participant = Participant.builder()
-                    .name(request.getNormalizedParticipantName())
-                    .email(request.getNormalizedParticipantEmail())
-                    .build();
-            String confirmationCode = generateConfirmationCode();
-            Ticket ticket = Ticket.builder()
-                    .event(event)
-                    .user(user)
-                    .participant(participant)
-                    .status(TicketStatus.ACTIVE)
-                    .confirmationCode(confirmationCode)
-                    .purchaseDate(LocalDateTime.now())
-                    .build();
+            Ticket ticket = buildTicket(request, user, event, confirmationCodeAllocator.next());
 
             // Save the ticket (trigger no banco irá decrementar automaticamente)
             Ticket saved = ticketRepository.save(ticket);
+            eventPublisher.publishEvent(EventCapacityChangedEvent.taken(event.getId(), 1));
 
-            // Send confirmation email (async - won't block the response)
+            // Queue the confirmation email (outbox, same transaction)
             emailService.sendTicketConfirmation(saved);
 
             log.info("Ticket purchased successfully: {} for event: {}",
@@ -87,38 +107,261 @@ public class TicketService {
         }
     }
 
-    private void validateEventAvailability(Event event) {
+    /**
+     * Group purchase: every seat of an event is taken with one conditional decrement and the
+     * tickets are written with JDBC batch inserts (hibernate.jdbc.batch_size). Either all
+     * tickets are bought or none.
+     */
+    @Transactional
+    public BatchPurchaseResponse purchaseBatch(BatchPurchaseRequest request, User user) {
+        Map<UUID, Integer> seatsPerEvent = request.seatsPerEvent();
+        log.info("User {} purchasing {} tickets for {} events",
+                user.getUsername(), request.tickets().size(), seatsPerEvent.size());
+
+        Map<UUID, Event> events = eventRepository.findAllById(seatsPerEvent.keySet()).stream()
+                .collect(Collectors.toMap(Event::getId, Function.identity()));
+        // Decrement in id order so two overlapping group purchases cannot deadlock
+        new TreeMap<>(seatsPerEvent).forEach((eventId, seats) -> {
+            Event event = events.get(eventId);
+            if (event == null) {
+                throw new ResourceNotFoundException("Evento não encontrado com ID: " + eventId);
+            }
+            if (event.isPast()) {
+                throw new BusinessException(
+                        "Não é possível comprar ingressos para eventos passados"
+                );
+            }
+            if (event.isCancelled()) {
+                throw new BusinessException("Este evento foi cancelado");
+            }
+            if (eventRepository.decrementAvailableCapacity(eventId, seats) == 0) {
+                throw new BusinessException(
+                        "Não há lugares suficientes no evento " + event.getName()
+                );
+            }
+            eventPublisher.publishEvent(EventCapacityChangedEvent.taken(eventId, seats));
+        });
+        ticketRepository.markCapacityReserved();
+
+        UUID batchId = UUID.randomUUID();
+        List<Ticket> tickets = new ArrayList<>(request.tickets().size());
+        for (PurchaseTicketRequest item : request.tickets()) {
+            Ticket ticket = buildTicket(item, user, events.get(item.eventId()),
+                    confirmationCodeAllocator.next());
+            ticket.setBatchId(batchId);
+            tickets.add(ticket);
+        }
+        List<Ticket> saved;
+        try {
+            saved = ticketRepository.saveAll(tickets);
+            ticketRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            throw translateConstraintViolation(e);
+        }
+        saved.forEach(emailService::sendTicketConfirmation);
+
+        log.info("Batch {} purchased: {} tickets", batchId, saved.size());
+        return BatchPurchaseResponse.of(batchId, saved.stream()
+                .map(TicketResponse::fromEntity)
+                .toList());
+    }
+
+    public boolean reservesFromLedger() {
+        return purchaseMode.usesLedger();
+    }
+
+    /**
+     * Ledger mode: the seat already came from {@link CapacityLedger} (see
+     * {@link TicketPurchaseService}), so the event row is neither locked nor updated by the
+     * per-ticket trigger. The seat goes back to the ledger if the purchase rolls back.
+     */
+    @Transactional
+    public TicketResponse purchaseReserved(PurchaseTicketRequest request, User user) {
+        releaseSeatOnRollback(request.eventId());
+        Event event = eventRepository.findById(request.eventId())
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Evento não encontrado com ID: " + request.eventId()
+                ));
         if (event.isPast()) {
             throw new BusinessException(
                     "Não é possível comprar ingressos para eventos passados"
             );
         }
-        if (!event.hasAvailableCapacity()) {
+        if (event.isCancelled()) {
+            throw new BusinessException("Este evento foi cancelado");
+        }
+        if (ticketRepository.userHasActiveTicketForEvent(user, event)) {
             throw new BusinessException(
-                    "Evento esgotado"
+                    "Você já possui um ingresso para este evento"
             );
         }
+        ticketRepository.markCapacityReserved();
+
+        Ticket ticket = buildTicket(request, user, event, confirmationCodeAllocator.next());
+        // Counted against the lease when another node reclaims it
+        ticket.setLeaseNodeId(capacityLedger.nodeId());
+        Ticket saved = ticketRepository.save(ticket);
+        eventPublisher.publishEvent(EventCapacityChangedEvent.taken(event.getId(), 1));
+        emailService.sendTicketConfirmation(saved);
+
+        log.info("Ticket purchased from ledger: {} for event: {}",
+                saved.getConfirmationCode(), event.getName());
+        return TicketResponse.fromEntity(saved);
     }
 
-    private String generateConfirmationCode() {
-        int maxAttempts = 10;
-        for (int attempt = 0; attempt < maxAttempts; attempt++) {
-            StringBuilder code = new StringBuilder(6);
-            for (int i = 0; i < 6; i++) {
-                int index = RANDOM.nextInt(CONFIRMATION_CHARS.length());
-                code.append(CONFIRMATION_CHARS.charAt(index));
-            }
-            String confirmationCode = code.toString();
-            if (!ticketRepository.findByConfirmationCode(confirmationCode)
-                    .isPresent()) {
-                return confirmationCode;
+    /**
+     * Confirms a seat held by {@link SeatHoldService}, on whichever node placed the hold: the
+     * seat already came out of a {@link CapacityLedger}, so only the ticket is written. Deleting
+     * the hold row is part of the purchase, so a rolled back purchase leaves the hold in place.
+     */
+    @Transactional
+    public TicketResponse purchaseFromHold(PurchaseTicketRequest request, User user, SeatHold hold) {
+        if (seatHoldRepository.claim(hold.getId(), user.getId(), LocalDateTime.now()) == 0) {
+            throw new ResourceNotFoundException("Reserva não encontrada ou expirada: " + hold.getId());
+        }
+        Event event = eventRepository.findById(request.eventId())
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Evento não encontrado com ID: " + request.eventId()
+                ));
+        // Holds and waitlist offers outlive minutes; the event may have started meanwhile
+        if (event.isPast()) {
+            throw new BusinessException(
+                    "Não é possível comprar ingressos para eventos passados"
+            );
+        }
+        if (event.isCancelled()) {
+            throw new BusinessException("Este evento foi cancelado");
+        }
+        if (ticketRepository.userHasActiveTicketForEvent(user, event)) {
+            throw new BusinessException(
+                    "Você já possui um ingresso para este evento"
+            );
+        }
+        ticketRepository.markCapacityReserved();
+
+        Ticket ticket = buildTicket(request, user, event, confirmationCodeAllocator.next());
+        ticket.setLeaseNodeId(hold.getLeaseNodeId());
+        Ticket saved = ticketRepository.save(ticket);
+        emailService.sendTicketConfirmation(saved);
+
+        log.info("Ticket purchased from hold: {} for event: {}",
+                saved.getConfirmationCode(), event.getName());
+        return TicketResponse.fromEntity(saved);
+    }
+
+    /**
+     * Conditional mode: one statement takes the seat with
+     * {@code UPDATE ... WHERE available_capacity > 0} and inserts the ticket, without
+     * SELECT ... FOR UPDATE or a duplicate pre-check; the partial unique index
+     * idx_unique_active_ticket_per_user_event rejects a second active ticket.
+     */
+    private TicketResponse purchaseWithConditionalUpdate(PurchaseTicketRequest request, User user) {
+        LocalDateTime purchaseDate = LocalDateTime.now();
+        String confirmationCode = confirmationCodeAllocator.next();
+        ticketRepository.markCapacityReserved();
+        UUID ticketId;
+        try {
+            ticketId = ticketRepository.insertReservingCapacity(
+                    request.eventId(),
+                    user.getId(),
+                    request.getNormalizedParticipantName(),
+                    request.getNormalizedParticipantEmail(),
+                    confirmationCode,
+                    purchaseDate
+            ).orElseThrow(() -> explainRejectedPurchase(request.eventId()));
+        } catch (DataIntegrityViolationException e) {
+            throw translateConstraintViolation(e);
+        }
+        eventPublisher.publishEvent(EventCapacityChangedEvent.taken(request.eventId(), 1));
+
+        Event event = eventRepository.findById(request.eventId())
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Evento não encontrado com ID: " + request.eventId()
+                ));
+        Ticket ticket = buildTicket(request, user, event, confirmationCode);
+        ticket.setId(ticketId);
+        ticket.setPurchaseDate(purchaseDate);
+        emailService.sendTicketConfirmation(ticket);
+
+        log.info("Ticket purchased with conditional update: {} for event: {}",
+                confirmationCode, event.getName());
+        return TicketResponse.fromEntity(ticket);
+    }
+
+    /**
+     * Only runs when the conditional insert matched no event row, or the ledger had no seat
+     * left, to tell the buyer why.
+     */
+    RuntimeException explainRejectedPurchase(UUID eventId) {
+        Event event = eventRepository.findById(eventId).orElse(null);
+        if (event == null) {
+            return new ResourceNotFoundException("Evento não encontrado com ID: " + eventId);
+        }
+        if (event.isPast()) {
+            return new BusinessException("Não é possível comprar ingressos para eventos passados");
+        }
+        if (event.isCancelled()) {
+            return new BusinessException("Este evento foi cancelado");
+        }
+        soldOutRegistry.markSoldOut(eventId);
+        return SoldOutException.INSTANCE;
+    }
+
+    private RuntimeException translateConstraintViolation(DataIntegrityViolationException e) {
+        String detail = String.valueOf(e.getMostSpecificCause().getMessage());
+        if (detail.contains("idx_unique_active_ticket_per_user_event")) {
+            return new BusinessException("Você já possui um ingresso para este evento");
+        }
+        return e;
+    }
+
+    private void releaseSeatOnRollback(UUID eventId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    capacityLedger.release(eventId, 1);
+                }
             }
-            log.warn("Confirmation code collision, retrying: {}",
-                    confirmationCode);
+        });
+    }
+
+    private Ticket buildTicket(
+            PurchaseTicketRequest request,
+            User user,
+            Event event,
+            String confirmationCode
+    ) {
+        Participant participant = Participant.builder()
+                .name(request.getNormalizedParticipantName())
+                .email(request.getNormalizedParticipantEmail())
+                .build();
+        return Ticket.builder()
+                .event(event)
+                .user(user)
+                .participant(participant)
+                .status(TicketStatus.ACTIVE)
+                .confirmationCode(confirmationCode)
+                .purchaseDate(LocalDateTime.now())
+                .build();
+    }
+
+    private void validateEventAvailability(Event event) {
+        if (event.isPast()) {
+            throw new BusinessException(
+                    "Não é possível comprar ingressos para eventos passados"
+            );
+        }
+        if (event.isCancelled()) {
+            throw new BusinessException("Este evento foi cancelado");
+        }
+        if (!event.hasAvailableCapacity()) {
+            soldOutRegistry.markSoldOut(event.getId());
+            throw SoldOutException.INSTANCE;
         }
-        throw new BusinessException(
-                "Unable to generate unique confirmation code. Please try again."
-        );
     }
 
     @Transactional(readOnly = true)
@@ -153,6 +396,26 @@ public class TicketService {
         return tickets.map(TicketResponse::fromEntity);
     }
 
+    /**
+     * Keyset variant of {@link #getUserTickets}: newest first, cost independent of how deep
+     * the caller scrolls. The total is only counted when asked for.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<TicketResponse> scrollUserTickets(User user, String cursor, int size, boolean includeTotal) {
+        log.debug("Scrolling tickets for user: {}", user.getUsername());
+
+        CursorCodec.Position after = CursorCodec.decode(cursor);
+        Limit limit = Limit.of(size + 1);
+        List<Ticket> rows = after == null
+                ? ticketRepository.findFirstByUserWithEvent(user, limit)
+                : ticketRepository.findAfterByUserWithEvent(user, after.timestamp(), after.id(), limit);
+        Long total = includeTotal ? ticketRepository.countByUser(user) : null;
+        return CursorPage.of(rows, size,
+                ticket -> CursorCodec.encode(ticket.getPurchaseDate(), ticket.getId()),
+                page -> page.stream().map(TicketResponse::fromEntity).toList(),
+                total);
+    }
+
     @Transactional(readOnly = true)
     public List<TicketResponse> getUserActiveTickets(User user) {
         log.debug("Fetching active tickets for user: {}", user.getUsername());
@@ -184,8 +447,9 @@ public class TicketService {
         // Cancel the ticket (trigger no banco irá restaurar capacidade automaticamente)
         ticket.setStatus(TicketStatus.CANCELLED);
         Ticket cancelled = ticketRepository.save(ticket);
+        eventPublisher.publishEvent(EventCapacityChangedEvent.released(cancelled.getEvent().getId(), 1));
 
-        // Send cancellation confirmation email (async)
+        // Queue the cancellation email (outbox, same transaction)
         emailService.sendTicketCancellation(cancelled);
 
         log.info("Ingresso cancelado com sucesso: {}",
@@ -0,0 +1,334 @@
+package com.eventhub.service;
+
+import com.eventhub.dto.response.SeatHoldResponse;
+import com.eventhub.dto.response.WaitlistStatusResponse;
+import com.eventhub.entity.Event;
+import com.eventhub.entity.User;
+import com.eventhub.entity.WaitlistEntry;
+import com.eventhub.enums.WaitlistStatus;
+import com.eventhub.event.EventCancelledEvent;
+import com.eventhub.event.EventCapacityChangedEvent;
+import com.eventhub.event.SeatHoldClosedEvent;
+import com.eventhub.exception.BusinessException;
+import com.eventhub.exception.ResourceNotFoundException;
+import com.eventhub.exception.SoldOutException;
+import com.eventhub.repository.EventRepository;
+import com.eventhub.repository.TicketRepository;
+import com.eventhub.repository.UserRepository;
+import com.eventhub.repository.WaitlistRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * FIFO waitlist for sold-out events.
+ * <p>
+ * The queue is {@code waitlist_entries} (V11), shared by every node and ordered by
+ * {@code (joined_at, id)}. When a seat comes back (cancellation, released or expired hold) it is
+ * offered to the head of the queue as a {@link SeatHoldService seat hold} that lasts
+ * {@code offer-duration}; an offer that lapses returns the seat, which then goes to the next
+ * user. A node first claims the head entry with a conditional update, so two nodes never offer
+ * to the same user. While anybody is waiting, purchases and holds for the event are turned away
+ * ({@link #rejectIfWaitlisted}), so freed seats are not raced for and sold-out pages send no
+ * purchase traffic; that answer is cached per node for {@code membership-ttl}.
+ * <p>
+ * A periodic sweep offers seats freed where no capacity event reached this node.
+ */
+@Service
+@Slf4j
+public class WaitlistService {
+
+    private static final String WAITLIST_TOPIC = "/topic/waitlist/";
+    private static final Duration CLAIM_TIMEOUT = Duration.ofMinutes(1);
+
+    private final WaitlistRepository waitlistRepository;
+    private final EventRepository eventRepository;
+    private final UserRepository userRepository;
+    private final TicketRepository ticketRepository;
+    private final SeatHoldService seatHoldService;
+    private final SoldOutRegistry soldOutRegistry;
+    private final LiveCapacityRegistry liveCapacityRegistry;
+    private final EmailService emailService;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final long offerDurationMs;
+
+    /**
+     * Whether the event has anybody waiting, as last read from the table.
+     */
+    private final Cache<UUID, Boolean> waitlisted;
+
+    private final Counter joined;
+    private final Counter offered;
+    private final Counter claimed;
+    private final Counter lapsed;
+    private final Counter left;
+
+    public WaitlistService(
+            WaitlistRepository waitlistRepository,
+            EventRepository eventRepository,
+            UserRepository userRepository,
+            TicketRepository ticketRepository,
+            SeatHoldService seatHoldService,
+            SoldOutRegistry soldOutRegistry,
+            LiveCapacityRegistry liveCapacityRegistry,
+            EmailService emailService,
+            SimpMessagingTemplate messagingTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${application.waitlist.offer-duration:900000}") long offerDurationMs,
+            @Value("${application.waitlist.membership-ttl:1000}") long membershipTtlMs
+    ) {
+        this.waitlistRepository = waitlistRepository;
+        this.eventRepository = eventRepository;
+        this.userRepository = userRepository;
+        this.ticketRepository = ticketRepository;
+        this.seatHoldService = seatHoldService;
+        this.soldOutRegistry = soldOutRegistry;
+        this.liveCapacityRegistry = liveCapacityRegistry;
+        this.emailService = emailService;
+        this.messagingTemplate = messagingTemplate;
+        this.offerDurationMs = offerDurationMs;
+        this.waitlisted = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofMillis(membershipTtlMs))
+                .build();
+        Gauge.builder("eventhub.waitlist.waiting", waitlistRepository, WaitlistRepository::countByHoldIdIsNull)
+                .description("Users waiting for a seat, all events")
+                .register(meterRegistry);
+        this.joined = waitlistCounter(meterRegistry, "joined");
+        this.offered = waitlistCounter(meterRegistry, "offered");
+        this.claimed = waitlistCounter(meterRegistry, "claimed");
+        this.lapsed = waitlistCounter(meterRegistry, "lapsed");
+        this.left = waitlistCounter(meterRegistry, "left");
+    }
+
+    /**
+     * Join the waitlist of a sold-out event. Joining twice returns the current place.
+     */
+    public WaitlistStatusResponse join(UUID eventId, User user) {
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Evento não encontrado com ID: " + eventId
+                ));
+        if (event.isPast()) {
+            throw new BusinessException(
+                    "Não é possível entrar na lista de espera de eventos passados"
+            );
+        }
+        if (event.isCancelled()) {
+            throw new BusinessException("Este evento foi cancelado");
+        }
+        if (ticketRepository.userHasActiveTicketForEvent(user, event)) {
+            throw new BusinessException(
+                    "Você já possui um ingresso para este evento"
+            );
+        }
+        Optional<WaitlistEntry> existing = waitlistRepository.findByEventIdAndUserId(eventId, user.getId());
+        if (existing.isPresent()) {
+            return statusOf(existing.get());
+        }
+        if (!waitlistRepository.existsByEventIdAndHoldIdIsNull(eventId)
+                && liveCapacityRegistry.available(eventId) > 0) {
+            throw new BusinessException("Ainda há ingressos disponíveis para este evento");
+        }
+        WaitlistEntry saved;
+        try {
+            saved = waitlistRepository.save(WaitlistEntry.builder()
+                    .eventId(eventId)
+                    .userId(user.getId())
+                    .joinedAt(LocalDateTime.now())
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            // Joined twice at once (uq_waitlist_event_user): answer with the entry that won
+            return statusOf(waitlistRepository.findByEventIdAndUserId(eventId, user.getId())
+                    .orElseThrow(() -> e));
+        }
+        waitlisted.put(eventId, true);
+        joined.increment();
+        WaitlistStatusResponse status = statusOf(saved);
+        log.info("Usuário {} entrou na lista de espera do evento {} (posição {})",
+                user.getUsername(), eventId, status.position());
+        return status;
+    }
+
+    public WaitlistStatusResponse getStatus(UUID eventId, User user) {
+        return waitlistRepository.findByEventIdAndUserId(eventId, user.getId())
+                .map(this::statusOf)
+                .orElseThrow(() -> new ResourceNotFoundException("Você não está na lista de espera deste evento"));
+    }
+
+    /**
+     * Leave the waitlist; a seat already offered goes to the next user.
+     */
+    public void leave(UUID eventId, User user) {
+        WaitlistEntry entry = waitlistRepository.findByEventIdAndUserId(eventId, user.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Você não está na lista de espera deste evento"));
+        waitlistRepository.deleteById(entry.getId());
+        waitlisted.invalidate(eventId);
+        left.increment();
+        if (entry.getHoldId() != null) {
+            try {
+                seatHoldService.release(entry.getHoldId(), user);
+            } catch (ResourceNotFoundException e) {
+                // Expired in the meantime; the seat was already returned
+            }
+        }
+        log.info("Usuário {} saiu da lista de espera do evento {}", user.getUsername(), eventId);
+    }
+
+    /**
+     * Check for the purchase path: seats of an event with a waitlist belong to the queue. Reads
+     * the table at most once per {@code membership-ttl} and event.
+     *
+     * @throws SoldOutException (shared instance) while anybody is waiting
+     */
+    public void rejectIfWaitlisted(UUID eventId) {
+        if (waitlisted.get(eventId, waitlistRepository::existsByEventIdAndHoldIdIsNull)) {
+            throw SoldOutException.INSTANCE;
+        }
+    }
+
+    /**
+     * Off the caller's thread: cancellations publish this after their commit, and expired holds
+     * from the hold scheduler.
+     */
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCapacityChanged(EventCapacityChangedEvent event) {
+        if (event.delta() > 0) {
+            promote(event.eventId());
+        }
+    }
+
+    /**
+     * Published by whichever node confirmed, released or expired the hold.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHoldClosed(SeatHoldClosedEvent event) {
+        if (waitlistRepository.deleteByHoldId(event.holdId()) == 0) {
+            return;
+        }
+        if (event.confirmed()) {
+            claimed.increment();
+        } else {
+            // Lapsed offers lose their place; the returned seat is offered to the next user
+            lapsed.increment();
+            log.debug("Oferta {} da lista de espera não foi confirmada", event.holdId());
+        }
+    }
+
+    /**
+     * Nobody waits for a cancelled event; seats already offered can no longer be confirmed and
+     * go back when their hold expires.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventCancelled(EventCancelledEvent event) {
+        int dropped = waitlistRepository.deleteByEventId(event.eventId());
+        waitlisted.invalidate(event.eventId());
+        if (dropped > 0) {
+            log.info("Lista de espera do evento cancelado {} descartada ({} usuários)", event.eventId(), dropped);
+        }
+    }
+
+    /**
+     * Offers seats freed where no event reached this node (e.g. cancellations on other nodes).
+     * Events still marked sold out are skipped, so this costs nothing while they stay full.
+     */
+    @Scheduled(fixedDelayString = "${application.waitlist.sweep-interval:5000}")
+    public void sweep() {
+        waitlistRepository.releaseStaleClaims(LocalDateTime.now());
+        for (UUID eventId : waitlistRepository.findEventIdsWithWaiting()) {
+            if (!soldOutRegistry.isSoldOut(eventId)) {
+                promote(eventId);
+            }
+        }
+    }
+
+    /**
+     * Offer every seat that can be taken to the head of the queue, in order.
+     */
+    private void promote(UUID eventId) {
+        Optional<WaitlistEntry> head;
+        while ((head = waitlistRepository.findNextWaiting(eventId)).isPresent()) {
+            WaitlistEntry next = head.get();
+            if (waitlistRepository.claimForOffer(next.getId(), LocalDateTime.now().plus(CLAIM_TIMEOUT)) == 0) {
+                // Another node is offering this one a seat
+                continue;
+            }
+            Optional<SeatHoldResponse> offer;
+            try {
+                offer = seatHoldService.offer(eventId, next.getUserId(), offerDurationMs);
+            } catch (BusinessException e) {
+                // Already holding a seat of this event on their own: skip the offer
+                waitlistRepository.deleteById(next.getId());
+                continue;
+            } catch (RuntimeException e) {
+                waitlistRepository.unclaim(next.getId());
+                throw e;
+            }
+            if (offer.isEmpty()) {
+                waitlistRepository.unclaim(next.getId());
+                soldOutRegistry.markSoldOut(eventId);
+                return;
+            }
+            makeOffer(next, offer.get());
+        }
+        waitlisted.invalidate(eventId);
+    }
+
+    private void makeOffer(WaitlistEntry entry, SeatHoldResponse offer) {
+        offered.increment();
+        try {
+            if (waitlistRepository.markOffered(entry.getId(), offer.holdId(), offer.expiresAt()) == 0) {
+                // Left the waitlist while the seat was being held for them
+                userRepository.findById(entry.getUserId())
+                        .ifPresent(user -> seatHoldService.release(offer.holdId(), user));
+                return;
+            }
+            entry.setHoldId(offer.holdId());
+            entry.setOfferExpiresAt(offer.expiresAt());
+            Event event = eventRepository.findById(entry.getEventId()).orElse(null);
+            User user = userRepository.findById(entry.getUserId()).orElse(null);
+            if (event != null && user != null) {
+                emailService.sendWaitlistOffer(user, event, offer);
+            }
+        } catch (RuntimeException e) {
+            // The hold stands and expires on its own if the offer was not recorded
+            log.warn("Falha ao registrar oferta {} da lista de espera: {}", offer.holdId(), e.getMessage());
+            return;
+        }
+        messagingTemplate.convertAndSend(WAITLIST_TOPIC + entry.getId(), statusOf(entry));
+        log.info("Lugar do evento {} oferecido ao usuário {} até {}",
+                entry.getEventId(), entry.getUserId(), offer.expiresAt());
+    }
+
+    private WaitlistStatusResponse statusOf(WaitlistEntry entry) {
+        if (entry.getHoldId() != null) {
+            return new WaitlistStatusResponse(entry.getId(), entry.getEventId(), WaitlistStatus.OFFERED, 0,
+                    entry.getHoldId(), entry.getOfferExpiresAt());
+        }
+        long ahead = waitlistRepository.countWaitingAhead(entry.getEventId(), entry.getJoinedAt(), entry.getId());
+        return new WaitlistStatusResponse(entry.getId(), entry.getEventId(), WaitlistStatus.WAITING,
+                (int) ahead + 1, null, null);
+    }
+
+    private static Counter waitlistCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("eventhub.waitlist")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
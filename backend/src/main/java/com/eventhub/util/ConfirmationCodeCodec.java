@@ -0,0 +1,87 @@
+package com.eventhub.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Maps a code index onto a 7-character confirmation code.
+ * <p>
+ * The index goes through a keyed 4-round Feistel network over 36 bits, cycle-walked down to the
+ * 31^7 code space, then written in base 31. The mapping is a bijection: distinct indexes always
+ * give distinct codes, while consecutive indexes look unrelated. The secret must never change
+ * once codes have been issued, otherwise new codes may repeat old ones.
+ */
+public class ConfirmationCodeCodec {
+
+    public static final String ALPHABET = "ABCDEFGHJKMNPQRSTUVWXYZ23456789";
+    public static final int LENGTH = 7;
+    public static final long SPACE = pow(ALPHABET.length(), LENGTH);
+
+    private static final int HALF_BITS = 18;
+    private static final long HALF_MASK = (1L << HALF_BITS) - 1;
+    private static final int ROUNDS = 4;
+
+    private final long[] roundKeys = new long[ROUNDS];
+
+    public ConfirmationCodeCodec(String secret) {
+        ByteBuffer digest = ByteBuffer.wrap(sha256(secret));
+        for (int i = 0; i < ROUNDS; i++) {
+            roundKeys[i] = digest.getLong();
+        }
+    }
+
+    public String encode(long index) {
+        if (index < 0 || index >= SPACE) {
+            throw new IllegalArgumentException("Confirmation code index out of range: " + index);
+        }
+        long value = permute(index);
+        char[] code = new char[LENGTH];
+        for (int i = LENGTH - 1; i >= 0; i--) {
+            code[i] = ALPHABET.charAt((int) (value % ALPHABET.length()));
+            value /= ALPHABET.length();
+        }
+        return new String(code);
+    }
+
+    private long permute(long index) {
+        long value = index;
+        do {
+            value = feistel(value);
+        } while (value >= SPACE);
+        return value;
+    }
+
+    private long feistel(long value) {
+        long left = value >>> HALF_BITS;
+        long right = value & HALF_MASK;
+        for (long key : roundKeys) {
+            long next = left ^ round(right, key);
+            left = right;
+            right = next;
+        }
+        return (left << HALF_BITS) | right;
+    }
+
+    private static long round(long half, long key) {
+        long mixed = (half ^ key) * 0x9E3779B97F4A7C15L;
+        return (mixed ^ (mixed >>> 29)) >>> 23 & HALF_MASK;
+    }
+
+    private static byte[] sha256(String secret) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static long pow(int base, int exponent) {
+        long result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= base;
+        }
+        return result;
+    }
+}
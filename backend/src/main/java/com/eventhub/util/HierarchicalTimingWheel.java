@@ -0,0 +1,187 @@
+package com.eventhub.util;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel (Varghese &amp; Lauck) for many short-lived timeouts.
+ * <p>
+ * Level 0 has {@code wheelSize} slots of {@code tickMs}; every level above has the same number
+ * of slots, each as wide as the whole level below. Scheduling and cancelling are O(1) (a slot
+ * is an intrusive doubly linked list); {@link #advanceTo} walks one slot per elapsed tick and,
+ * when a higher-level slot comes due, cascades its timeouts down to finer levels. Deadlines past
+ * the top level are parked in its last slot and re-placed when they cascade.
+ * <p>
+ * Thread-safe: every method synchronizes on the wheel. {@code onExpire} runs while
+ * {@link #advanceTo} holds that lock, so it must not block.
+ *
+ * @param <T> payload handed to the expiry callback
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final Timeout<T>[][] slots;
+    private final long[] ticksPerSlot;
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, int levels, long startMs) {
+        if (tickMs <= 0 || wheelSize < 2 || levels < 1) {
+            throw new IllegalArgumentException("tickMs > 0, wheelSize >= 2 and levels >= 1 required");
+        }
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.slots = (Timeout<T>[][]) new Timeout<?>[levels][wheelSize];
+        this.ticksPerSlot = new long[levels];
+        long span = 1;
+        for (int level = 0; level < levels; level++) {
+            ticksPerSlot[level] = span;
+            span = Math.multiplyExact(span, wheelSize);
+        }
+        this.currentTick = startMs / tickMs;
+    }
+
+    /**
+     * Fires {@code payload} once {@link #advanceTo} reaches {@code deadlineMs} (rounded up to the
+     * next tick). A deadline that already passed fires on the next tick.
+     */
+    public synchronized Timeout<T> schedule(T payload, long deadlineMs) {
+        Timeout<T> timeout = new Timeout<>(this, payload, Math.floorDiv(deadlineMs + tickMs - 1, tickMs));
+        place(timeout, currentTick + 1);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Moves time forward to {@code nowMs}, handing every expired payload to {@code onExpire}
+     * in deadline order (tick granularity).
+     */
+    public synchronized void advanceTo(long nowMs, Consumer<? super T> onExpire) {
+        long targetTick = nowMs / tickMs;
+        while (currentTick < targetTick) {
+            currentTick++;
+            for (int level = slots.length - 1; level > 0; level--) {
+                if (currentTick % ticksPerSlot[level] == 0) {
+                    cascade(level, (int) ((currentTick / ticksPerSlot[level]) % wheelSize));
+                }
+            }
+            int slot = (int) (currentTick % wheelSize);
+            Timeout<T> timeout = slots[0][slot];
+            slots[0][slot] = null;
+            while (timeout != null) {
+                Timeout<T> next = timeout.next;
+                timeout.unlink();
+                if (timeout.deadlineTick > currentTick) {
+                    // parked past the top level
+                    place(timeout, currentTick + 1);
+                } else {
+                    size--;
+                    onExpire.accept(timeout.payload);
+                }
+                timeout = next;
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private void cascade(int level, int slot) {
+        Timeout<T> timeout = slots[level][slot];
+        slots[level][slot] = null;
+        while (timeout != null) {
+            Timeout<T> next = timeout.next;
+            timeout.unlink();
+            place(timeout, currentTick);
+            timeout = next;
+        }
+    }
+
+    /**
+     * @param earliestTick first tick whose level-0 slot has not been expired yet
+     */
+    private void place(Timeout<T> timeout, long earliestTick) {
+        long deadlineTick = Math.max(timeout.deadlineTick, earliestTick);
+        long delta = deadlineTick - currentTick;
+        int level = 0;
+        while (level < slots.length - 1 && delta >= ticksPerSlot[level + 1]) {
+            level++;
+        }
+        long slotTick = delta < ticksPerSlot[level] * wheelSize
+                ? deadlineTick
+                : currentTick + ticksPerSlot[level] * (wheelSize - 1);
+        int slot = (int) ((slotTick / ticksPerSlot[level]) % wheelSize);
+        timeout.link(level, slot);
+    }
+
+    private synchronized boolean cancel(Timeout<T> timeout) {
+        if (timeout.level < 0) {
+            return false;
+        }
+        timeout.unlink();
+        size--;
+        return true;
+    }
+
+    /**
+     * Handle of a scheduled payload.
+     */
+    public static final class Timeout<T> {
+
+        private final HierarchicalTimingWheel<T> wheel;
+        private final T payload;
+        private final long deadlineTick;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+        private int level = -1;
+        private int slot;
+
+        private Timeout(HierarchicalTimingWheel<T> wheel, T payload, long deadlineTick) {
+            this.wheel = wheel;
+            this.payload = payload;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public T payload() {
+            return payload;
+        }
+
+        /**
+         * @return false when the timeout already fired or was cancelled
+         */
+        public boolean cancel() {
+            return wheel.cancel(this);
+        }
+
+        private void link(int level, int slot) {
+            this.level = level;
+            this.slot = slot;
+            Timeout<T> head = wheel.slots[level][slot];
+            this.prev = null;
+            this.next = head;
+            if (head != null) {
+                head.prev = this;
+            }
+            wheel.slots[level][slot] = this;
+        }
+
+        private void unlink() {
+            if (level < 0) {
+                return;
+            }
+            if (prev != null) {
+                prev.next = next;
+            } else if (wheel.slots[level][slot] == this) {
+                wheel.slots[level][slot] = next;
+            }
+            if (next != null) {
+                next.prev = prev;
+            }
+            prev = null;
+            next = null;
+            level = -1;
+        }
+    }
+}
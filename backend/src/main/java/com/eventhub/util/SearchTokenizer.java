@@ -0,0 +1,48 @@
+package com.eventhub.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Splits search input into lowercase word tokens (letters and digits only), the same units
+ * Postgres' 'simple' text search configuration produces.
+ */
+public final class SearchTokenizer {
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MAX_TOKENS = 8;
+
+    private SearchTokenizer() {
+    }
+
+    public static List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : SEPARATORS.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty() && !tokens.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Prefix tsquery ({@code rock:* & sao:*}) for what the user typed so far. Only the first
+     * {@value #MAX_TOKENS} tokens are used; returns an empty string when nothing is searchable.
+     */
+    public static String toPrefixTsQuery(String text) {
+        List<String> tokens = tokens(text);
+        StringBuilder query = new StringBuilder();
+        for (int i = 0; i < Math.min(tokens.size(), MAX_TOKENS); i++) {
+            if (i > 0) {
+                query.append(" & ");
+            }
+            query.append(tokens.get(i)).append(":*");
+        }
+        return query.toString();
+    }
+}
@@ -0,0 +1,94 @@
+package com.eventhub.util;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Seat counter split into per-core slots so concurrent buyers of the same event
+ * CAS different memory words instead of contending on a single counter.
+ * Slots are padded to separate cache lines.
+ */
+public class StripedCapacityCounter {
+
+    private static final int PADDING = 16;
+
+    private final AtomicIntegerArray slots;
+    private final int stripes;
+    private final int mask;
+
+    public StripedCapacityCounter() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public StripedCapacityCounter(int parallelism) {
+        int size = Integer.highestOneBit(Math.max(1, parallelism - 1)) << 1;
+        this.stripes = size;
+        this.mask = size - 1;
+        this.slots = new AtomicIntegerArray(size * PADDING);
+    }
+
+    /**
+     * Takes one seat, starting at the caller's home slot and stealing from the others.
+     *
+     * @return false when every slot is empty
+     */
+    public boolean tryAcquire() {
+        int home = homeSlot();
+        for (int i = 0; i < stripes; i++) {
+            int index = ((home + i) & mask) * PADDING;
+            int current = slots.get(index);
+            while (current > 0) {
+                if (slots.compareAndSet(index, current, current - 1)) {
+                    return true;
+                }
+                current = slots.get(index);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Spreads seats evenly over the slots.
+     */
+    public void add(int seats) {
+        if (seats <= 0) {
+            return;
+        }
+        int share = seats / stripes;
+        int remainder = seats % stripes;
+        int home = homeSlot();
+        for (int i = 0; i < stripes; i++) {
+            int amount = share + (i < remainder ? 1 : 0);
+            if (amount > 0) {
+                slots.addAndGet(((home + i) & mask) * PADDING, amount);
+            }
+        }
+    }
+
+    /**
+     * Empties every slot and returns how many seats were removed.
+     */
+    public int drain() {
+        int drained = 0;
+        for (int i = 0; i < stripes; i++) {
+            drained += slots.getAndSet(i * PADDING, 0);
+        }
+        return drained;
+    }
+
+    public int sum() {
+        int total = 0;
+        for (int i = 0; i < stripes; i++) {
+            total += slots.get(i * PADDING);
+        }
+        return total;
+    }
+
+    public int stripes() {
+        return stripes;
+    }
+
+    private int homeSlot() {
+        long id = Thread.currentThread().getId();
+        return (int) (id ^ (id >>> 16)) & mask;
+    }
+}
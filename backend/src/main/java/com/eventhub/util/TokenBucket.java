@@ -0,0 +1,48 @@
+package com.eventhub.util;
+
+/**
+ * Classic token bucket: holds up to {@code capacity} tokens, refilled continuously at
+ * {@code refillPerSecond}. Starts full.
+ */
+public class TokenBucket {
+
+    private final double capacity;
+    private final double refillPerNano;
+    private double tokens;
+    private long lastRefill;
+
+    public TokenBucket(double capacity, double refillPerSecond) {
+        this.capacity = capacity;
+        this.refillPerNano = refillPerSecond / 1_000_000_000.0;
+        this.tokens = capacity;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * Take {@code amount} tokens if available.
+     *
+     * @return 0 when taken, otherwise the nanoseconds until enough tokens are available
+     */
+    public synchronized long tryConsume(double amount) {
+        refill();
+        if (tokens >= amount) {
+            tokens -= amount;
+            return 0;
+        }
+        return (long) Math.ceil((amount - tokens) / refillPerNano);
+    }
+
+    /**
+     * Take tokens unconditionally, going negative if needed (penalties).
+     */
+    public synchronized void consume(double amount) {
+        refill();
+        tokens = Math.max(tokens - amount, -capacity);
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * refillPerNano);
+        lastRefill = now;
+    }
+}
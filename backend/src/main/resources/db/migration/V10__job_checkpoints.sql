@@ -0,0 +1,22 @@
+-- V10: Checkpoints for resumable background jobs
+-- EventReminderJob saves its keyset cursor (event_date, event_id, ticket_id) in the same
+-- transaction as each chunk of reminder emails, so a run that dies resumes after the last
+-- committed chunk. covered_until is the event date up to which reminders were all queued.
+
+CREATE TABLE IF NOT EXISTS job_checkpoints
+(
+    job_name          VARCHAR(100) PRIMARY KEY,
+    covered_until     TIMESTAMP NULL,
+    run_until         TIMESTAMP NULL,
+    cursor_event_date TIMESTAMP NULL,
+    cursor_event_id   UUID      NULL,
+    cursor_ticket_id  UUID      NULL,
+    processed         BIGINT    NOT NULL DEFAULT 0,
+    updated_at        TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Reminder scan: active tickets of the events in the window, walked event by event
+CREATE INDEX idx_tickets_event_active_id ON tickets (event_id, id) WHERE status = 'ACTIVE';
+
+COMMENT ON TABLE job_checkpoints IS 'Progress of background jobs (one row per job)';
+COMMENT ON COLUMN job_checkpoints.run_until IS 'Upper bound of the run in progress; NULL when the last run completed';
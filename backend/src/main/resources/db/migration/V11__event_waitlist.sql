@@ -0,0 +1,29 @@
+-- V11: Per-event waitlist for sold-out events
+-- WaitlistService keeps the queue in memory and writes every change here so a restart keeps
+-- everybody's place. Rows are ordered by (joined_at, id). hold_id is set while the entry has
+-- a seat offered (a seat hold, see SeatHoldService); offers do not survive a restart and are
+-- reset to waiting, still at the front of the queue.
+
+CREATE TABLE IF NOT EXISTS waitlist_entries
+(
+    id               UUID PRIMARY KEY   DEFAULT gen_random_uuid(),
+    event_id         UUID      NOT NULL,
+    user_id          UUID      NOT NULL,
+    joined_at        TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    hold_id          UUID      NULL,
+    offer_expires_at TIMESTAMP NULL,
+    CONSTRAINT fk_waitlist_event
+        FOREIGN KEY (event_id)
+            REFERENCES events (id)
+            ON DELETE CASCADE,
+    CONSTRAINT fk_waitlist_user
+        FOREIGN KEY (user_id)
+            REFERENCES users (id)
+            ON DELETE CASCADE,
+    CONSTRAINT uq_waitlist_event_user UNIQUE (event_id, user_id)
+);
+
+CREATE INDEX idx_waitlist_event_order ON waitlist_entries (event_id, joined_at, id);
+
+COMMENT ON TABLE waitlist_entries IS 'Users queued for a seat of a sold-out event';
+COMMENT ON COLUMN waitlist_entries.hold_id IS 'Seat hold currently offered to the user; NULL while waiting';
@@ -0,0 +1,54 @@
+-- V12: Cancelling a whole event
+-- EventCancellationService cancels every active ticket of the event in one statement and
+-- adjusts events.available_capacity once for all of them. It sets
+-- eventhub.capacity_restored = 'on' for that transaction so the per-ticket
+-- restore_capacity_on_cancel trigger does not update the event row again for every ticket.
+-- event_cancellations tracks the notification emails, queued afterwards in chunks: the
+-- cursor (last ticket id) commits with each chunk, so an interrupted run resumes after it.
+
+CREATE OR REPLACE FUNCTION restore_event_capacity()
+    RETURNS TRIGGER AS
+$$
+BEGIN
+    IF current_setting('eventhub.capacity_restored', true) = 'on' THEN
+        RETURN NEW;
+    END IF;
+    IF TG_OP = 'UPDATE' AND OLD.status = 'ACTIVE' AND NEW.status = 'CANCELLED' THEN
+        UPDATE events
+        SET available_capacity = available_capacity + 1,
+            version            = version + 1
+        WHERE id = NEW.event_id;
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+COMMENT ON FUNCTION restore_event_capacity() IS
+    'Restores events.available_capacity per cancelled ticket unless eventhub.capacity_restored is set for the transaction';
+
+CREATE TABLE IF NOT EXISTS event_cancellations
+(
+    event_id          UUID PRIMARY KEY,
+    status            VARCHAR(20) NOT NULL DEFAULT 'RUNNING',
+    tickets_cancelled INTEGER     NOT NULL DEFAULT 0,
+    emails_enqueued   INTEGER     NOT NULL DEFAULT 0,
+    cursor_ticket_id  UUID        NULL,
+    cancelled_at      TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    completed_at      TIMESTAMP   NULL,
+    updated_at        TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_event_cancellation_event
+        FOREIGN KEY (event_id)
+            REFERENCES events (id)
+            ON DELETE CASCADE,
+    CONSTRAINT chk_event_cancellation_status
+        CHECK (status IN ('RUNNING', 'COMPLETED'))
+);
+
+CREATE INDEX idx_event_cancellations_running ON event_cancellations (updated_at) WHERE status = 'RUNNING';
+
+-- Notification scan: tickets of the cancelled event, walked by id
+CREATE INDEX idx_tickets_event_cancelled_id ON tickets (event_id, id) WHERE status = 'CANCELLED';
+
+COMMENT ON TABLE event_cancellations IS 'Progress of event cancellations (one row per cancelled event)';
+COMMENT ON COLUMN event_cancellations.cancelled_at IS 'Transaction time of the cancellation; tickets cancelled by it have updated_at >= cancelled_at';
+COMMENT ON COLUMN event_cancellations.cursor_ticket_id IS 'Last ticket whose notification email was queued';
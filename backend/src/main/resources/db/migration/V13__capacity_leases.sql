@@ -0,0 +1,30 @@
+-- V13: Durable record of the seats leased by the capacity ledger
+-- Every node (a random node_id per process) keeps one row per event with the seats it has taken
+-- from events.available_capacity and not handed back. Tickets sold from a lease carry the node
+-- in lease_node_id, so the seats still unsold are seats minus those tickets. Nodes refresh
+-- heartbeat_at while they run; rows of a node that stopped are reclaimed by the others and the
+-- unsold seats go back to the event.
+
+CREATE TABLE IF NOT EXISTS capacity_leases
+(
+    node_id      UUID      NOT NULL,
+    event_id     UUID      NOT NULL,
+    seats        INTEGER   NOT NULL DEFAULT 0,
+    heartbeat_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT pk_capacity_leases PRIMARY KEY (node_id, event_id),
+    CONSTRAINT fk_capacity_lease_event
+        FOREIGN KEY (event_id)
+            REFERENCES events (id)
+            ON DELETE CASCADE
+);
+
+CREATE INDEX idx_capacity_leases_heartbeat ON capacity_leases (heartbeat_at);
+
+ALTER TABLE tickets
+    ADD COLUMN lease_node_id UUID NULL;
+
+CREATE INDEX idx_tickets_lease_node ON tickets (lease_node_id, event_id) WHERE lease_node_id IS NOT NULL;
+
+COMMENT ON TABLE capacity_leases IS 'Seats each node took from events.available_capacity for its in-memory ledger';
+COMMENT ON COLUMN capacity_leases.seats IS 'Seats leased minus seats returned; tickets with the same lease_node_id were sold from them';
+COMMENT ON COLUMN tickets.lease_node_id IS 'Node whose capacity lease the seat came from (NULL outside ledger mode)';
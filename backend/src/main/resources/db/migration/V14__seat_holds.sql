@@ -0,0 +1,31 @@
+-- V14: Seat holds survive the node that created them
+-- A hold is written here when it is placed and deleted when it is confirmed, released or
+-- expired, so it can be confirmed through any node. lease_node_id is the node whose capacity
+-- lease (V13) the seat came from: the seat is neither in that node's ledger nor sold, so a
+-- reclaimed lease leaves held seats alone. Holds left behind by a node that stopped are
+-- expired by the others once expires_at has passed.
+
+CREATE TABLE IF NOT EXISTS seat_holds
+(
+    id            UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    event_id      UUID      NOT NULL,
+    user_id       UUID      NOT NULL,
+    lease_node_id UUID      NOT NULL,
+    expires_at    TIMESTAMP NOT NULL,
+    created_at    TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_seat_hold_event
+        FOREIGN KEY (event_id)
+            REFERENCES events (id)
+            ON DELETE CASCADE,
+    CONSTRAINT fk_seat_hold_user
+        FOREIGN KEY (user_id)
+            REFERENCES users (id)
+            ON DELETE CASCADE,
+    CONSTRAINT uq_seat_hold_event_user UNIQUE (event_id, user_id)
+);
+
+CREATE INDEX idx_seat_holds_expires_at ON seat_holds (expires_at);
+CREATE INDEX idx_seat_holds_lease ON seat_holds (lease_node_id, event_id);
+
+COMMENT ON TABLE seat_holds IS 'Seats reserved for a user until confirmed into a ticket or expired';
+COMMENT ON COLUMN seat_holds.lease_node_id IS 'Node whose capacity lease the held seat came from';
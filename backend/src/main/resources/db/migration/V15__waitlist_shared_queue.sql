@@ -0,0 +1,15 @@
+-- V15: The waitlist is read from the table by every node
+-- waitlist_entries is now the queue itself: there are no per-node copies to rebuild, and since
+-- seat holds are stored too (V14) offers survive a restart. An entry with offer_expires_at set
+-- and hold_id NULL is claimed by the node offering it a seat; the claim lapses at that time.
+
+CREATE INDEX IF NOT EXISTS idx_waitlist_waiting
+    ON waitlist_entries (event_id, joined_at, id)
+    WHERE hold_id IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_waitlist_hold_id
+    ON waitlist_entries (hold_id)
+    WHERE hold_id IS NOT NULL;
+
+COMMENT ON COLUMN waitlist_entries.offer_expires_at IS
+    'Offer deadline; with hold_id NULL, the end of a node''s claim to make the offer';
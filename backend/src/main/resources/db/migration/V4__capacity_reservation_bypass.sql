@@ -0,0 +1,28 @@
+-- V4: Allow the application to reserve capacity itself
+-- When the transaction sets eventhub.capacity_reserved = 'on' the seat was already taken
+-- from events.available_capacity (leased in blocks by the capacity ledger), so the
+-- per-ticket trigger must not lock and decrement the event row again.
+
+CREATE OR REPLACE FUNCTION decrement_event_capacity()
+    RETURNS TRIGGER AS
+$$
+BEGIN
+    IF current_setting('eventhub.capacity_reserved', true) = 'on' THEN
+        RETURN NEW;
+    END IF;
+    IF TG_OP = 'INSERT' AND NEW.status = 'ACTIVE' THEN
+        UPDATE events
+        SET available_capacity = available_capacity - 1,
+            version            = version + 1
+        WHERE id = NEW.event_id
+          AND available_capacity > 0;
+        IF NOT FOUND THEN
+            RAISE EXCEPTION 'No available capacity for event %', NEW.event_id;
+        END IF;
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+COMMENT ON FUNCTION decrement_event_capacity() IS
+    'Decrements events.available_capacity per ticket unless eventhub.capacity_reserved is set for the transaction';
@@ -0,0 +1,16 @@
+-- V5: Group purchases
+-- Tickets bought together through /api/tickets/purchase/batch share a batch_id. A group
+-- buyer may hold several active tickets for the same event, so the one-ticket-per-user
+-- rule only applies to single purchases.
+
+ALTER TABLE tickets
+    ADD COLUMN batch_id UUID NULL;
+
+DROP INDEX IF EXISTS idx_unique_active_ticket_per_user_event;
+CREATE UNIQUE INDEX idx_unique_active_ticket_per_user_event
+    ON tickets (event_id, user_id)
+    WHERE status = 'ACTIVE' AND batch_id IS NULL;
+
+CREATE INDEX idx_tickets_batch_id ON tickets (batch_id) WHERE batch_id IS NOT NULL;
+
+COMMENT ON COLUMN tickets.batch_id IS 'Group purchase the ticket belongs to (NULL for single purchases)';
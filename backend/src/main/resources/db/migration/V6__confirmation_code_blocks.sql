@@ -0,0 +1,22 @@
+-- V6: Confirmation codes are allocated by the application
+-- Each node reserves blocks of 1024 code indexes with nextval and maps every index through a
+-- keyed permutation of the 7-character code space (31^7 codes), so codes are unique without
+-- probing the table. Legacy codes have 6 characters and can never clash with the new ones.
+-- MAXVALUE is the last full block: floor(31^7 / 1024) - 1.
+
+CREATE SEQUENCE IF NOT EXISTS confirmation_code_block_seq
+    AS BIGINT
+    MINVALUE 0
+    START WITH 0
+    MAXVALUE 26867786
+    NO CYCLE;
+
+-- Every insert path supplies its own code; drop the trigger that generated one with an EXISTS loop
+DROP TRIGGER IF EXISTS set_ticket_confirmation_code ON tickets;
+DROP FUNCTION IF EXISTS set_confirmation_code();
+DROP FUNCTION IF EXISTS generate_confirmation_code();
+
+COMMENT ON SEQUENCE confirmation_code_block_seq IS
+    'Blocks of 1024 confirmation code indexes handed out to ConfirmationCodeAllocator';
+COMMENT ON COLUMN tickets.confirmation_code IS
+    'Unique confirmation code (6 characters for legacy tickets, 7 for allocated ones)';
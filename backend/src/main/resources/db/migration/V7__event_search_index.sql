@@ -0,0 +1,36 @@
+-- V7: Full-text and trigram search over events
+-- search_vector is maintained by a trigger that only fires when a searchable column changes:
+-- a STORED generated column would be recomputed on every capacity update made by a purchase.
+-- The 'simple' configuration does no stemming, so names in any language match as typed.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE events
+    ADD COLUMN search_vector TSVECTOR;
+
+CREATE OR REPLACE FUNCTION update_event_search_vector()
+    RETURNS TRIGGER AS
+$$
+BEGIN
+    NEW.search_vector :=
+            setweight(to_tsvector('simple', coalesce(NEW.name, '')), 'A') ||
+            setweight(to_tsvector('simple', coalesce(NEW.location, '')), 'B') ||
+            setweight(to_tsvector('simple', coalesce(NEW.description, '')), 'C');
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER update_events_search_vector
+    BEFORE INSERT OR UPDATE OF name, location, description
+    ON events
+    FOR EACH ROW
+EXECUTE FUNCTION update_event_search_vector();
+
+-- Backfill existing rows (fires the trigger above)
+UPDATE events SET name = name;
+
+CREATE INDEX idx_events_search_vector ON events USING GIN (search_vector);
+CREATE INDEX idx_events_name_trgm ON events USING GIN (lower(name) gin_trgm_ops);
+CREATE INDEX idx_events_location_trgm ON events USING GIN (lower(location) gin_trgm_ops);
+
+COMMENT ON COLUMN events.search_vector IS 'Weighted full-text document: name (A), location (B), description (C)';
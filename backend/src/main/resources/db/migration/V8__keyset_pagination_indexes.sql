@@ -0,0 +1,6 @@
+-- V8: Indexes for keyset (cursor) pagination
+-- Same leading columns as idx_events_date / idx_tickets_user_id, with the id tiebreaker the
+-- cursor compares on, so every page is a single index range scan in either direction.
+
+CREATE INDEX idx_events_date_id ON events (event_date, id);
+CREATE INDEX idx_tickets_user_purchase_date_id ON tickets (user_id, purchase_date, id);
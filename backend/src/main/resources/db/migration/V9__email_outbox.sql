@@ -0,0 +1,30 @@
+-- V9: Transactional email outbox
+-- Emails are inserted in the same transaction as the change that triggers them, so a
+-- rolled-back purchase sends nothing and a restart loses nothing. EmailOutboxDispatcher claims
+-- due rows with FOR UPDATE SKIP LOCKED (safe with several nodes) and pushes next_attempt_at
+-- forward as a lease while it sends. idempotency_key makes enqueueing the same email twice a no-op.
+
+CREATE TABLE IF NOT EXISTS email_outbox
+(
+    id              UUID PRIMARY KEY      DEFAULT gen_random_uuid(),
+    idempotency_key VARCHAR(200) NOT NULL,
+    type            VARCHAR(40)  NOT NULL,
+    recipient       VARCHAR(255) NOT NULL,
+    subject         VARCHAR(255) NOT NULL,
+    body            TEXT         NOT NULL,
+    status          VARCHAR(20)  NOT NULL DEFAULT 'PENDING',
+    attempts        INTEGER      NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_error      TEXT         NULL,
+    created_at      TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    sent_at         TIMESTAMP    NULL,
+    CONSTRAINT uq_email_outbox_idempotency_key UNIQUE (idempotency_key),
+    CONSTRAINT chk_email_outbox_status
+        CHECK (status IN ('PENDING', 'SENT', 'FAILED'))
+);
+
+CREATE INDEX idx_email_outbox_due ON email_outbox (next_attempt_at) WHERE status = 'PENDING';
+
+COMMENT ON TABLE email_outbox IS 'Emails waiting to be delivered by EmailOutboxDispatcher';
+COMMENT ON COLUMN email_outbox.idempotency_key IS 'TYPE:reference (e.g. TICKET_CONFIRMATION:<ticket id>), also sent as X-EventHub-Idempotency-Key';
+COMMENT ON COLUMN email_outbox.next_attempt_at IS 'When the row is due; moved forward as a lease while being sent and as backoff after a failure';
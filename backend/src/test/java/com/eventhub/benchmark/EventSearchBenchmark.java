@@ -0,0 +1,140 @@
+package com.eventhub.benchmark;
+
+import com.eventhub.repository.EventRepository;
+import com.eventhub.service.EventSearchEngine;
+import com.eventhub.service.InMemoryEventSearchEngine;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Search latency at 100k and 1M events: the old LIKE scan, the Postgres engine
+ * (tsvector + pg_trgm) and the in-memory inverted index.
+ * Run with: mvn test -Pbenchmark -Dtest=EventSearchBenchmark
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.com.eventhub=WARN",
+        "application.search.engine=postgres"
+})
+@Testcontainers
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("Event Search Benchmark")
+class EventSearchBenchmark {
+
+    private static final List<String> QUERIES = List.of(
+            "rock", "fest", "jazz curitiba", "sao paulo", "teatr", "festval", "recife samba 42"
+    );
+    private static final int ROUNDS = 30;
+
+    private static final String LEGACY_LIKE = """
+            SELECT id FROM events
+            WHERE LOWER(name) LIKE ? OR LOWER(location) LIKE ? OR LOWER(description) LIKE ?
+            ORDER BY event_date ASC
+            LIMIT 12
+            """;
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:17-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventSearchEngine postgresEngine;
+
+    private int loaded;
+
+    @ParameterizedTest(name = "{0} events")
+    @ValueSource(ints = {100_000, 1_000_000})
+    void searchLatency(int events) {
+        grow(events);
+
+        report(events, "LIKE scan", query -> {
+            String pattern = "%" + query + "%";
+            jdbcTemplate.queryForList(LEGACY_LIKE, UUID.class, pattern, pattern, pattern);
+        });
+        report(events, "postgres", query -> postgresEngine.search(query, PageRequest.of(0, 12)));
+
+        InMemoryEventSearchEngine memoryEngine = new InMemoryEventSearchEngine(eventRepository);
+        long begin = System.nanoTime();
+        jdbcTemplate.query("SELECT id, name, location, description, event_date FROM events", row -> {
+            memoryEngine.index(
+                    row.getObject("id", UUID.class),
+                    row.getString("name"),
+                    row.getString("location"),
+                    row.getString("description"),
+                    row.getTimestamp("event_date").toLocalDateTime());
+        });
+        System.out.printf("%,9d events %-10s index built in %.1fs%n",
+                events, "memory", (System.nanoTime() - begin) / 1e9);
+        report(events, "memory", query -> memoryEngine.search(query, PageRequest.of(0, 12)));
+
+        assertThat(memoryEngine.size()).isEqualTo(events);
+        assertThat(postgresEngine.search("rock", PageRequest.of(0, 12)).getContent()).isNotEmpty();
+    }
+
+    /**
+     * Adds rows with generate_series up to the requested size, then refreshes statistics.
+     */
+    private void grow(int events) {
+        jdbcTemplate.update("""
+                INSERT INTO events (name, event_date, location, capacity, available_capacity, description, price)
+                SELECT (ARRAY['Rock', 'Jazz', 'Samba', 'Teatro', 'Festival', 'Tech Talk'])[1 + g % 6]
+                           || ' ' || (ARRAY['Night', 'Live', 'Experience', 'Session'])[1 + (g / 6) % 4] || ' ' || g,
+                       now() + (1 + g % 365) * interval '1 day',
+                       (ARRAY['Sao Paulo', 'Rio de Janeiro', 'Curitiba', 'Recife', 'Porto Alegre'])[1 + g % 5],
+                       100, 100,
+                       'Evento numero ' || g || ' ' || md5(g::text),
+                       50
+                FROM generate_series(?, ?) AS g
+                """, loaded + 1, events);
+        jdbcTemplate.execute("ANALYZE events");
+        loaded = events;
+    }
+
+    private void report(int events, String engine, Consumer<String> search) {
+        QUERIES.forEach(search);
+        long[] latencies = new long[QUERIES.size() * ROUNDS];
+        int i = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            for (String query : QUERIES) {
+                long begin = System.nanoTime();
+                search.accept(query);
+                latencies[i++] = System.nanoTime() - begin;
+            }
+        }
+        Arrays.sort(latencies);
+        System.out.printf("%,9d events %-10s p50=%.2fms p99=%.2fms%n",
+                events, engine, latencies[latencies.length / 2] / 1e6,
+                latencies[latencies.length * 99 / 100] / 1e6);
+    }
+}
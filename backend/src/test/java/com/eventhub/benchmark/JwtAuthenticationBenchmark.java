@@ -0,0 +1,121 @@
+package com.eventhub.benchmark;
+
+import com.eventhub.cache.CacheSpecs;
+import com.eventhub.entity.User;
+import com.eventhub.enums.Role;
+import com.eventhub.repository.UserRepository;
+import com.eventhub.security.JwtTokenProvider;
+import com.eventhub.security.UserStatusCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Per-request authentication cost of JwtAuthenticationFilter, before and after the stateless mode.
+ *
+ * legacy replays the old path: key and parser rebuilt for validateToken, again for
+ * getUsernameFromToken, then a user lookup. The lookup is an in-memory map here, so the
+ * real legacy cost is this number plus one database round trip per request. stateless reuses
+ * one token, so it measures the verified-token cache hit that repeated SPA calls get.
+ * Run with: mvn test -Pbenchmark -Dtest=JwtAuthenticationBenchmark
+ */
+// public: JMH instantiates the class as an implicit @State
+@DisplayName("JWT Authentication Benchmark")
+public class JwtAuthenticationBenchmark {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    @Test
+    void perRequestAuthentication() throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(JwtAuthenticationBenchmark.class.getName() + "\\.(legacy|stateless)")
+                .forks(1)
+                .warmupIterations(3)
+                .measurementIterations(5)
+                .build();
+        new Runner(options).run();
+    }
+
+    @State(Scope.Benchmark)
+    public static class AuthState {
+
+        JwtTokenProvider tokenProvider;
+        UserStatusCache userStatusCache;
+        Map<String, User> users;
+        String token;
+
+        @Setup
+        public void setUp() {
+            User user = User.builder()
+                    .id(UUID.randomUUID())
+                    .username("bench")
+                    .email("bench@eventhub.com")
+                    .passwordHash("not-used")
+                    .role(Role.USER)
+                    .build();
+            users = Map.of(user.getUsername(), user);
+
+            tokenProvider = new JwtTokenProvider(new SimpleMeterRegistry());
+            ReflectionTestUtils.setField(tokenProvider, "jwtSecret", SECRET);
+            ReflectionTestUtils.setField(tokenProvider, "jwtExpirationMs", 3_600_000L);
+            ReflectionTestUtils.setField(tokenProvider, "verifiedCacheMaxSize", 10_000L);
+            ReflectionTestUtils.invokeMethod(tokenProvider, "init");
+            token = tokenProvider.generateToken(user);
+
+            UserRepository userRepository = Mockito.mock(UserRepository.class);
+            when(userRepository.findActiveRoleById(any())).thenReturn(Optional.of(Role.USER));
+            userStatusCache = new UserStatusCache(CacheSpecs.localCacheManager(10_000), userRepository);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public User legacy(AuthState state) {
+        Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(state.token);
+        String username = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(state.token)
+                .getPayload()
+                .getSubject();
+        return state.users.get(username);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public User stateless(AuthState state) {
+        Claims claims = state.tokenProvider.parseClaims(state.token);
+        User user = state.tokenProvider.toPrincipal(claims);
+        return state.userStatusCache.isActive(user.getId(), user.getRole()) ? user : null;
+    }
+}
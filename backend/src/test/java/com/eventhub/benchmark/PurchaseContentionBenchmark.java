@@ -0,0 +1,152 @@
+package com.eventhub.benchmark;
+
+import com.eventhub.dto.request.PurchaseTicketRequest;
+import com.eventhub.entity.Event;
+import com.eventhub.entity.User;
+import com.eventhub.enums.PurchaseMode;
+import com.eventhub.enums.Role;
+import com.eventhub.repository.EventRepository;
+import com.eventhub.repository.UserRepository;
+import com.eventhub.service.TicketPurchaseService;
+import com.eventhub.service.TicketService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Contention benchmark for the purchase modes against a real PostgreSQL.
+ *
+ * Every buyer is a distinct user hammering the same hot event, which is exactly the
+ * on-sale case where LOCKING serializes on the events row.
+ * Run with: mvn test -Pbenchmark -Dtest=PurchaseContentionBenchmark
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.com.eventhub=WARN"
+})
+@Testcontainers
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("Purchase Contention Benchmark")
+class PurchaseContentionBenchmark {
+
+    private static final int BUYERS = 2_000;
+    private static final int CAPACITY = 1_500;
+    private static final int THREADS = 32;
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:17-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private TicketPurchaseService ticketPurchaseService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<User> buyers = new ArrayList<>();
+
+    @BeforeAll
+    void createBuyers() {
+        List<User> users = new ArrayList<>(BUYERS);
+        for (int i = 0; i < BUYERS; i++) {
+            users.add(User.builder()
+                    .username("bench" + i)
+                    .email("bench" + i + "@eventhub.com")
+                    .passwordHash("not-used")
+                    .role(Role.USER)
+                    .build());
+        }
+        buyers.addAll(userRepository.saveAll(users));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(PurchaseMode.class)
+    void hotEventOnSale(PurchaseMode mode) throws InterruptedException {
+        ReflectionTestUtils.setField(
+                AopTestUtils.getTargetObject(ticketService), "purchaseMode", mode);
+        UUID eventId = eventRepository.save(Event.builder()
+                .name("Benchmark " + mode)
+                .eventDate(LocalDateTime.now().plusDays(10))
+                .location("Bench Arena")
+                .capacity(CAPACITY)
+                .availableCapacity(CAPACITY)
+                .price(BigDecimal.TEN)
+                .build()).getId();
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger sold = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        long[] latencies = new long[BUYERS];
+
+        for (int i = 0; i < BUYERS; i++) {
+            int buyer = i;
+            pool.submit(() -> {
+                start.await();
+                long begin = System.nanoTime();
+                try {
+                    ticketPurchaseService.purchase(new PurchaseTicketRequest(
+                            eventId, "Buyer " + buyer, "buyer" + buyer + "@eventhub.com"), buyers.get(buyer));
+                    sold.incrementAndGet();
+                } catch (RuntimeException e) {
+                    rejected.incrementAndGet();
+                } finally {
+                    latencies[buyer] = System.nanoTime() - begin;
+                }
+                return null;
+            });
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(5, TimeUnit.MINUTES)).isTrue();
+        double seconds = (System.nanoTime() - begin) / 1e9;
+
+        Arrays.sort(latencies);
+        System.out.printf(
+                "%-12s sold=%d rejected=%d throughput=%.0f req/s p50=%.1fms p99=%.1fms%n",
+                mode, sold.get(), rejected.get(), BUYERS / seconds,
+                latencies[BUYERS / 2] / 1e6, latencies[BUYERS * 99 / 100] / 1e6);
+
+        assertThat(sold.get()).isEqualTo(CAPACITY);
+    }
+}
@@ -0,0 +1,136 @@
+package com.eventhub.unit;
+
+import com.eventhub.dto.response.QueueStatusResponse;
+import com.eventhub.enums.QueueStatus;
+import com.eventhub.service.AdmissionControlService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the virtual waiting room.
+ *
+ * Slots must never exceed the per-event limit, and slots of buyers who leave must come back.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AdmissionControlService Unit Tests")
+class AdmissionControlServiceTest {
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    private AdmissionControlService admission;
+    private final UUID eventId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        admission = new AdmissionControlService(messagingTemplate);
+        ReflectionTestUtils.setField(admission, "enabled", true);
+        ReflectionTestUtils.setField(admission, "maxConcurrentPerEvent", 2);
+        // One admission per 200 ms tick
+        ReflectionTestUtils.setField(admission, "admitRatePerSecond", 5);
+        ReflectionTestUtils.setField(admission, "tickIntervalMs", 200L);
+        ReflectionTestUtils.setField(admission, "admittedTtlMs", 60_000L);
+        ReflectionTestUtils.setField(admission, "abandonAfterMs", 120_000L);
+    }
+
+    @Test
+    @DisplayName("Should admit up to the per-event limit and queue everybody after it")
+    void enter_QueuesPastLimit() {
+        // Act
+        QueueStatusResponse first = admission.enter(eventId, UUID.randomUUID(), null);
+        QueueStatusResponse second = admission.enter(eventId, UUID.randomUUID(), null);
+        QueueStatusResponse third = admission.enter(eventId, UUID.randomUUID(), null);
+        admission.exit(eventId);
+        QueueStatusResponse fourth = admission.enter(eventId, UUID.randomUUID(), null);
+
+        // Assert
+        assertThat(first.isAdmitted()).isTrue();
+        assertThat(second.isAdmitted()).isTrue();
+        assertThat(third.status()).isEqualTo(QueueStatus.WAITING);
+        assertThat(third.position()).isEqualTo(1);
+        // A free slot goes to the queue first, not to a newcomer
+        assertThat(fourth.status()).isEqualTo(QueueStatus.WAITING);
+        assertThat(fourth.position()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should admit waiting buyers no faster than the admission rate")
+    void admitWaiting_RespectsRate() {
+        // Arrange
+        admission.enter(eventId, UUID.randomUUID(), null);
+        admission.enter(eventId, UUID.randomUUID(), null);
+        List<QueueStatusResponse> queued = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            queued.add(admission.enter(eventId, UUID.randomUUID(), null));
+        }
+        admission.exit(eventId);
+        admission.exit(eventId);
+
+        // Act
+        admission.admitWaiting();
+        QueueStatusResponse firstAfterOneTick = admission.getStatus(queued.get(0).queueToken());
+        QueueStatusResponse secondAfterOneTick = admission.getStatus(queued.get(1).queueToken());
+        admission.admitWaiting();
+
+        // Assert
+        assertThat(firstAfterOneTick.isAdmitted()).isTrue();
+        assertThat(secondAfterOneTick.status()).isEqualTo(QueueStatus.WAITING);
+        assertThat(admission.getStatus(queued.get(1).queueToken()).isAdmitted()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should drop buyers who stopped polling and admit the next one")
+    void admitWaiting_DropsAbandoned() throws InterruptedException {
+        // Arrange
+        ReflectionTestUtils.setField(admission, "abandonAfterMs", 20L);
+        ReflectionTestUtils.setField(admission, "admitRatePerSecond", 50);
+        admission.enter(eventId, UUID.randomUUID(), null);
+        admission.enter(eventId, UUID.randomUUID(), null);
+        QueueStatusResponse abandoned = admission.enter(eventId, UUID.randomUUID(), null);
+        UUID pollingUser = UUID.randomUUID();
+        QueueStatusResponse polling = admission.enter(eventId, pollingUser, null);
+        admission.exit(eventId);
+        Thread.sleep(40);
+        admission.enter(eventId, pollingUser, polling.queueToken());
+
+        // Act
+        admission.admitWaiting();
+
+        // Assert
+        assertThat(admission.getStatus(abandoned.queueToken()).status().isExpired()).isTrue();
+        assertThat(admission.getStatus(polling.queueToken()).isAdmitted()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should free an admitted buyer's slot when the purchase is rejected before entering")
+    void release_FreesAdmittedSlot() {
+        // Arrange
+        ReflectionTestUtils.setField(admission, "maxConcurrentPerEvent", 1);
+        admission.enter(eventId, UUID.randomUUID(), null);
+        UUID userId = UUID.randomUUID();
+        QueueStatusResponse queued = admission.enter(eventId, userId, null);
+        admission.exit(eventId);
+        admission.admitWaiting();
+        assertThat(admission.getStatus(queued.queueToken()).isAdmitted()).isTrue();
+
+        // Act
+        admission.release(eventId, userId, queued.queueToken());
+        QueueStatusResponse newcomer = admission.enter(eventId, UUID.randomUUID(), null);
+
+        // Assert
+        assertThat(newcomer.isAdmitted()).isTrue();
+        assertThat(admission.getStatus(queued.queueToken()).status().isExpired()).isTrue();
+    }
+}
@@ -0,0 +1,150 @@
+package com.eventhub.unit;
+
+import com.eventhub.service.CapacityLeaseService;
+import com.eventhub.service.CapacityLedger;
+import com.eventhub.util.StripedCapacityCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the in-memory capacity ledger.
+ *
+ * Verifies that seats leased from the database are never handed out twice,
+ * even when many threads buy the same event at once.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CapacityLedger Unit Tests")
+class CapacityLedgerTest {
+
+    @Mock
+    private CapacityLeaseService leaseService;
+
+    private CapacityLedger capacityLedger;
+    private UUID eventId;
+
+    @BeforeEach
+    void setUp() {
+        capacityLedger = new CapacityLedger(leaseService);
+        ReflectionTestUtils.setField(capacityLedger, "leaseSize", 10);
+        eventId = UUID.randomUUID();
+    }
+
+    @Nested
+    @DisplayName("Striped Counter Tests")
+    class StripedCounterTests {
+
+        @Test
+        @DisplayName("Should hand out exactly the seats that were added")
+        void tryAcquire_ExhaustsAllSlots() {
+            // Arrange
+            StripedCapacityCounter counter = new StripedCapacityCounter(4);
+            counter.add(7);
+
+            // Act
+            int acquired = 0;
+            while (counter.tryAcquire()) {
+                acquired++;
+            }
+
+            // Assert
+            assertThat(acquired).isEqualTo(7);
+            assertThat(counter.sum()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should return remaining seats when drained")
+        void drain_ReturnsRemainingSeats() {
+            // Arrange
+            StripedCapacityCounter counter = new StripedCapacityCounter(8);
+            counter.add(20);
+            counter.tryAcquire();
+
+            // Act & Assert
+            assertThat(counter.drain()).isEqualTo(19);
+            assertThat(counter.tryAcquire()).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("Ledger Reservation Tests")
+    class ReservationTests {
+
+        @Test
+        @DisplayName("Should lease one block and serve the following purchases from memory")
+        void tryReserve_LeasesInBlocks() {
+            // Arrange
+            when(leaseService.lease(eventId, 10)).thenReturn(10);
+
+            // Act
+            for (int i = 0; i < 10; i++) {
+                assertThat(capacityLedger.tryReserve(eventId)).isTrue();
+            }
+
+            // Assert
+            verify(leaseService, times(1)).lease(eq(eventId), anyInt());
+            assertThat(capacityLedger.localSeats(eventId)).isZero();
+        }
+
+        @Test
+        @DisplayName("Should reject when the event row has no seats left")
+        void tryReserve_SoldOut() {
+            // Arrange
+            when(leaseService.lease(eventId, 10)).thenReturn(0);
+
+            // Act & Assert
+            assertThat(capacityLedger.tryReserve(eventId)).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should never oversell under concurrent purchases")
+        void tryReserve_ConcurrentBuyers_NoOversell() throws InterruptedException {
+            // Arrange: the database has 25 seats, 64 buyers race for them
+            AtomicInteger databaseSeats = new AtomicInteger(25);
+            when(leaseService.lease(eq(eventId), anyInt())).thenAnswer(invocation -> {
+                int wanted = invocation.getArgument(1);
+                int taken = Math.min(wanted, databaseSeats.get());
+                databaseSeats.addAndGet(-taken);
+                return taken;
+            });
+            ExecutorService pool = Executors.newFixedThreadPool(16);
+            CountDownLatch start = new CountDownLatch(1);
+            AtomicInteger sold = new AtomicInteger();
+
+            // Act
+            for (int i = 0; i < 64; i++) {
+                pool.submit(() -> {
+                    start.await();
+                    if (capacityLedger.tryReserve(eventId)) {
+                        sold.incrementAndGet();
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            pool.shutdown();
+            assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+            // Assert
+            assertThat(sold.get()).isEqualTo(25);
+            assertThat(databaseSeats.get()).isZero();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.eventhub.unit;
+
+import com.eventhub.service.ChatResponseCache;
+import com.eventhub.service.OllamaClient;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the chat response cache.
+ *
+ * A local HTTP server stands in for Ollama's /api/embeddings.
+ */
+@DisplayName("ChatResponseCache Unit Tests")
+class ChatResponseCacheTest {
+
+    private static final Map<String, String> EMBEDDINGS = Map.of(
+            "quais eventos tem em sao paulo", "[1.0, 0.0, 0.0]",
+            "que eventos ha em sao paulo", "[0.98, 0.15, 0.0]",
+            "qual o preco do show", "[0.0, 1.0, 0.0]"
+    );
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger embeddingCalls = new AtomicInteger();
+    private HttpServer ollamaStub;
+    private String ollamaUrl;
+
+    @BeforeEach
+    void startOllamaStub() throws IOException {
+        ollamaStub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        ollamaStub.createContext("/api/embeddings", exchange -> {
+            embeddingCalls.incrementAndGet();
+            String prompt = objectMapper.readTree(exchange.getRequestBody()).path("prompt").asText();
+            byte[] body = ("{\"embedding\": " + EMBEDDINGS.getOrDefault(prompt, "[0.0, 0.0, 1.0]") + "}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        ollamaStub.start();
+        ollamaUrl = "http://127.0.0.1:" + ollamaStub.getAddress().getPort();
+    }
+
+    @AfterEach
+    void stopOllamaStub() {
+        ollamaStub.stop(0);
+    }
+
+    @Nested
+    @DisplayName("Exact Tier Tests")
+    class ExactTierTests {
+
+        @Test
+        @DisplayName("Should hit for the same question with different case, accents and punctuation")
+        void lookup_NormalizedMatch() {
+            // Arrange
+            ChatResponseCache cache = cache(false);
+            cache.store(cache.lookup("Quais eventos tem em São Paulo?", 1), "Temos 3 eventos 😊");
+
+            // Act
+            ChatResponseCache.Lookup lookup = cache.lookup("  quais EVENTOS tem em sao paulo ", 1);
+
+            // Assert
+            assertThat(lookup.hit()).isTrue();
+            assertThat(lookup.answer()).isEqualTo("Temos 3 eventos 😊");
+            assertThat(embeddingCalls).hasValue(0);
+        }
+
+        @Test
+        @DisplayName("Should miss once the event context version changes")
+        void lookup_NewContextVersion() {
+            // Arrange
+            ChatResponseCache cache = cache(false);
+            cache.store(cache.lookup("Quais eventos tem em São Paulo?", 1), "Temos 3 eventos");
+
+            // Act & Assert
+            assertThat(cache.lookup("Quais eventos tem em São Paulo?", 2).hit()).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("Semantic Tier Tests")
+    class SemanticTierTests {
+
+        @Test
+        @DisplayName("Should answer a paraphrase above the similarity threshold")
+        void lookup_Paraphrase() {
+            // Arrange
+            ChatResponseCache cache = cache(true);
+            cache.store(cache.lookup("Quais eventos tem em São Paulo?", 1), "Temos 3 eventos");
+
+            // Act
+            ChatResponseCache.Lookup paraphrase = cache.lookup("Que eventos há em São Paulo?", 1);
+            ChatResponseCache.Lookup unrelated = cache.lookup("Qual o preço do show?", 1);
+
+            // Assert
+            assertThat(paraphrase.hit()).isTrue();
+            assertThat(paraphrase.answer()).isEqualTo("Temos 3 eventos");
+            assertThat(unrelated.hit()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should fall back to the exact tier when embeddings are unavailable")
+        void lookup_OllamaDown() {
+            // Arrange
+            ollamaStub.stop(0);
+            ChatResponseCache cache = cache(true);
+            cache.store(cache.lookup("Quais eventos tem em São Paulo?", 1), "Temos 3 eventos");
+
+            // Act & Assert
+            assertThat(cache.lookup("Quais eventos tem em São Paulo?", 1).hit()).isTrue();
+            assertThat(cache.lookup("Que eventos há em São Paulo?", 1).hit()).isFalse();
+        }
+    }
+
+    private ChatResponseCache cache(boolean semantic) {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        OllamaClient ollama = new OllamaClient(
+                objectMapper, meterRegistry, ollamaUrl, "llama3.2:3b",
+                5_000, 120_000, 1_000, 500, 4, 1_000, 5, 5, 30_000
+        );
+        return new ChatResponseCache(
+                ollama,
+                meterRegistry,
+                100,
+                60_000,
+                semantic,
+                100,
+                0.95,
+                "nomic-embed-text"
+        );
+    }
+}
@@ -0,0 +1,115 @@
+package com.eventhub.unit;
+
+import com.eventhub.repository.TicketRepository;
+import com.eventhub.service.ConfirmationCodeAllocator;
+import com.eventhub.util.ConfirmationCodeCodec;
+import com.eventhub.util.MpmcRingBuffer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for confirmation code allocation.
+ *
+ * Codes come from reserved blocks, so they must be unique without asking the database.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ConfirmationCodeAllocator Unit Tests")
+class ConfirmationCodeAllocatorTest {
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Nested
+    @DisplayName("Codec Tests")
+    class CodecTests {
+
+        @Test
+        @DisplayName("Should map distinct indexes to distinct 7-character codes")
+        void encode_IsInjective() {
+            // Arrange
+            ConfirmationCodeCodec codec = new ConfirmationCodeCodec("test-secret");
+            Set<String> codes = new HashSet<>();
+
+            // Act
+            for (long index = 0; index < 200_000; index++) {
+                codes.add(codec.encode(index));
+            }
+
+            // Assert
+            assertThat(codes).hasSize(200_000);
+            assertThat(codes).allMatch(code -> code.length() == ConfirmationCodeCodec.LENGTH
+                    && code.chars().allMatch(c -> ConfirmationCodeCodec.ALPHABET.indexOf(c) >= 0));
+        }
+
+        @Test
+        @DisplayName("Should accept the last index of the code space")
+        void encode_LastIndex() {
+            ConfirmationCodeCodec codec = new ConfirmationCodeCodec("test-secret");
+
+            assertThat(codec.encode(ConfirmationCodeCodec.SPACE - 1)).hasSize(ConfirmationCodeCodec.LENGTH);
+        }
+    }
+
+    @Nested
+    @DisplayName("Ring Buffer Tests")
+    class RingBufferTests {
+
+        @Test
+        @DisplayName("Should keep FIFO order and reject offers when full")
+        void offerAndPoll() {
+            // Arrange
+            MpmcRingBuffer<Integer> buffer = new MpmcRingBuffer<>(4);
+
+            // Act
+            for (int i = 0; i < 4; i++) {
+                assertThat(buffer.offer(i)).isTrue();
+            }
+
+            // Assert
+            assertThat(buffer.offer(99)).isFalse();
+            assertThat(buffer.poll()).isZero();
+            assertThat(buffer.offer(4)).isTrue();
+            assertThat(buffer.poll()).isEqualTo(1);
+            assertThat(buffer.size()).isEqualTo(3);
+        }
+    }
+
+    @Nested
+    @DisplayName("Allocation Tests")
+    class AllocationTests {
+
+        @Test
+        @DisplayName("Should serve codes from reserved blocks without repeating them")
+        void next_UsesReservedBlocks() {
+            // Arrange
+            AtomicLong sequence = new AtomicLong();
+            when(ticketRepository.nextConfirmationCodeBlock()).thenAnswer(invocation -> sequence.getAndIncrement());
+            ConfirmationCodeAllocator allocator = new ConfirmationCodeAllocator(
+                    ticketRepository, new SimpleMeterRegistry(), 2048, "test-secret");
+            Set<String> codes = new HashSet<>();
+
+            // Act
+            for (int i = 0; i < 5000; i++) {
+                codes.add(allocator.next());
+            }
+            allocator.shutdown();
+
+            // Assert
+            assertThat(codes).hasSize(5000);
+            verify(ticketRepository, atLeast(5)).nextConfirmationCodeBlock();
+            verify(ticketRepository, never()).findByConfirmationCode(any());
+        }
+    }
+}
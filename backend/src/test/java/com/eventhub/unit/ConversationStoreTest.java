@@ -0,0 +1,98 @@
+package com.eventhub.unit;
+
+import com.eventhub.service.ConversationStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the chat conversation store.
+ *
+ * Memory must stay bounded: conversations by count and idle time, history by tokens.
+ */
+@DisplayName("ConversationStore Unit Tests")
+class ConversationStoreTest {
+
+    // 40 characters, about 11 estimated tokens
+    private static final String TEXT = "Quais shows acontecem em Curitiba hoje?!";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ConversationStore store(long maxSize, long ttlMs, int historyTokenBudget, int maxContextTokens) {
+        return new ConversationStore(meterRegistry, maxSize, ttlMs, historyTokenBudget, maxContextTokens);
+    }
+
+    @Test
+    @DisplayName("Should forget a conversation idle for longer than the TTL")
+    void get_ExpiresIdleConversation() throws InterruptedException {
+        // Arrange
+        ConversationStore store = store(100, 50, 1000, 1800);
+        store.get("c1").record(TEXT, TEXT, new int[]{1, 2}, 1);
+
+        // Act
+        Thread.sleep(100);
+        ConversationStore.Conversation conversation = store.get("c1");
+
+        // Assert
+        assertThat(conversation.history()).isEmpty();
+        assertThat(conversation.resumableContext(1)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should evict conversations beyond the maximum count")
+    void get_BoundedBySize() throws InterruptedException {
+        // Arrange
+        ConversationStore store = store(2, 60_000, 1000, 1800);
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            store.get("c" + i).record(TEXT, TEXT, null, 1);
+        }
+
+        // Assert: eviction runs on Caffeine's maintenance thread
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (cacheSize() > 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(cacheSize()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should keep only the most recent turns within the token budget")
+    void record_TrimsHistoryToBudget() {
+        // Arrange: one turn is about 22 tokens, two do not fit in 30
+        ConversationStore.Conversation conversation = store(100, 60_000, 30, 1800).get("c1");
+
+        // Act
+        conversation.record("primeira " + TEXT, TEXT, null, 1);
+        conversation.record("segunda " + TEXT, TEXT, null, 1);
+        conversation.record("terceira " + TEXT, TEXT, null, 1);
+
+        // Assert
+        assertThat(conversation.history())
+                .extracting(ConversationStore.Turn::question)
+                .containsExactly("terceira " + TEXT);
+    }
+
+    @Test
+    @DisplayName("Should only resume an Ollama context under the token limit and for the same event list")
+    void resumableContext_DiscardsLongOrStaleContext() {
+        // Arrange
+        ConversationStore.Conversation conversation = store(100, 60_000, 1000, 4).get("c1");
+        int[] shortContext = {1, 2, 3};
+
+        // Act & Assert
+        conversation.record(TEXT, TEXT, shortContext, 7);
+        assertThat(conversation.resumableContext(7)).isSameAs(shortContext);
+        assertThat(conversation.resumableContext(8)).isNull();
+
+        conversation.record(TEXT, TEXT, new int[]{1, 2, 3, 4, 5}, 7);
+        assertThat(conversation.resumableContext(7)).isNull();
+    }
+
+    private double cacheSize() {
+        return meterRegistry.get("cache.size").tag("cache", "chat-conversations").gauge().value();
+    }
+}
@@ -0,0 +1,134 @@
+package com.eventhub.unit;
+
+import com.eventhub.entity.OutboxEmail;
+import com.eventhub.enums.EmailType;
+import com.eventhub.enums.OutboxStatus;
+import com.eventhub.repository.EmailOutboxRepository;
+import com.eventhub.service.EmailOutboxDispatcher;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the email outbox dispatcher.
+ *
+ * GreenMail provides a real SMTP server; the outbox table is mocked.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EmailOutboxDispatcher Unit Tests")
+class EmailOutboxDispatcherTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Mock
+    private EmailOutboxRepository outbox;
+
+    @Mock
+    private ObjectProvider<JavaMailSender> mailSenderProvider;
+
+    private SimpleMeterRegistry meterRegistry;
+    private EmailOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        dispatcher = new EmailOutboxDispatcher(outbox, mailSenderProvider, meterRegistry,
+                true, "noreply@eventhub.com", 50, 60_000, 3, 5_000, 3_600_000);
+    }
+
+    @Test
+    @DisplayName("Should deliver the claimed batch over SMTP and mark it as sent")
+    @SuppressWarnings("unchecked")
+    void dispatchBatch_Delivers() throws Exception {
+        // Arrange
+        OutboxEmail first = email("ana@example.com", 1);
+        OutboxEmail second = email("bruno@example.com", 1);
+        when(mailSenderProvider.getIfAvailable()).thenReturn(sender(ServerSetupTest.SMTP.getPort()));
+        when(outbox.claimDue(any(), any(), eq(50))).thenReturn(List.of(first, second));
+
+        // Act
+        int claimed = dispatcher.dispatchBatch();
+
+        // Assert
+        assertThat(claimed).isEqualTo(2);
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(2);
+        assertThat(received[0].getSubject()).isEqualTo("Seu ingresso");
+        assertThat(received[0].getHeader("X-EventHub-Idempotency-Key")[0])
+                .isIn(first.getIdempotencyKey(), second.getIdempotencyKey());
+        ArgumentCaptor<Collection<UUID>> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(outbox).markSent(ids.capture(), any());
+        assertThat(ids.getValue()).containsExactlyInAnyOrder(first.getId(), second.getId());
+        verify(outbox, never()).reschedule(any(), any(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should back off while SMTP is down and give up after the last attempt")
+    void dispatchBatch_SmtpDown() {
+        // Arrange
+        OutboxEmail retry = email("ana@example.com", 1);
+        OutboxEmail exhausted = email("bruno@example.com", 3);
+        greenMail.stop();
+        when(mailSenderProvider.getIfAvailable()).thenReturn(sender(ServerSetupTest.SMTP.getPort()));
+        when(outbox.claimDue(any(), any(), anyInt())).thenReturn(List.of(retry, exhausted));
+        LocalDateTime before = LocalDateTime.now();
+
+        // Act
+        dispatcher.dispatchBatch();
+
+        // Assert
+        ArgumentCaptor<LocalDateTime> nextAttempt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(outbox).reschedule(eq(retry.getId()), nextAttempt.capture(), anyString());
+        assertThat(nextAttempt.getValue()).isAfterOrEqualTo(before.plusSeconds(5));
+        verify(outbox).markFailed(eq(exhausted.getId()), anyString());
+        verify(outbox, never()).markSent(any(), any());
+        assertThat(meterRegistry.get("eventhub.email.outbox").tag("result", "failed").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    private static JavaMailSender sender(int port) {
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+        sender.setHost("127.0.0.1");
+        sender.setPort(port);
+        return sender;
+    }
+
+    private static OutboxEmail email(String recipient, int attempts) {
+        UUID ticketId = UUID.randomUUID();
+        return OutboxEmail.builder()
+                .id(UUID.randomUUID())
+                .idempotencyKey(EmailType.TICKET_CONFIRMATION.keyFor(ticketId))
+                .type(EmailType.TICKET_CONFIRMATION)
+                .recipient(recipient)
+                .subject("Seu ingresso")
+                .body("Código de confirmação: ABC1234")
+                .status(OutboxStatus.PENDING)
+                .attempts(attempts)
+                .build();
+    }
+}
@@ -0,0 +1,115 @@
+package com.eventhub.unit;
+
+import com.eventhub.dto.response.EventCancellationResponse;
+import com.eventhub.entity.Event;
+import com.eventhub.entity.EventCancellation;
+import com.eventhub.enums.CancellationStatus;
+import com.eventhub.enums.EventStatus;
+import com.eventhub.event.EventCancelledEvent;
+import com.eventhub.exception.BusinessException;
+import com.eventhub.repository.EventCancellationRepository;
+import com.eventhub.repository.EventRepository;
+import com.eventhub.repository.TicketRepository;
+import com.eventhub.service.EventCancellationJob;
+import com.eventhub.service.EventCancellationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for event cancellation.
+ *
+ * Tickets are cancelled by the set-based statement only, never one by one.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EventCancellationService Unit Tests")
+class EventCancellationServiceTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private EventCancellationRepository cancellations;
+
+    @Mock
+    private EventCancellationJob cancellationJob;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private EventCancellationService service;
+    private final UUID eventId = UUID.randomUUID();
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        service = new EventCancellationService(eventRepository, ticketRepository, cancellations,
+                cancellationJob, eventPublisher, 120_000);
+        event = Event.builder()
+                .id(eventId)
+                .name("Test Concert")
+                .eventDate(LocalDateTime.now().plusDays(30))
+                .capacity(50_000)
+                .availableCapacity(0)
+                .status(EventStatus.SCHEDULED)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should cancel every ticket with one statement and report the progress")
+    void cancelEvent_SetBased() {
+        // Arrange
+        when(eventRepository.findByIdWithLock(eventId)).thenReturn(Optional.of(event));
+        when(ticketRepository.cancelAllForEvent(eventId)).thenReturn(50_000);
+        when(cancellations.findById(eventId)).thenReturn(Optional.of(EventCancellation.builder()
+                .eventId(eventId)
+                .status(CancellationStatus.RUNNING)
+                .ticketsCancelled(50_000)
+                .cancelledAt(LocalDateTime.now())
+                .build()));
+
+        // Act
+        EventCancellationResponse response = service.cancelEvent(eventId);
+
+        // Assert
+        assertThat(response.status()).isEqualTo(CancellationStatus.RUNNING);
+        assertThat(response.ticketsCancelled()).isEqualTo(50_000);
+        assertThat(response.emailsEnqueued()).isZero();
+        InOrder order = inOrder(ticketRepository);
+        order.verify(ticketRepository).markCapacityRestored();
+        order.verify(ticketRepository).cancelAllForEvent(eventId);
+        verifyNoMoreInteractions(ticketRepository);
+        verify(eventPublisher).publishEvent(new EventCancelledEvent(eventId, 50_000));
+        verifyNoInteractions(cancellationJob);
+    }
+
+    @Test
+    @DisplayName("Should refuse to cancel an event that is not scheduled")
+    void cancelEvent_AlreadyCancelled() {
+        // Arrange
+        event.setStatus(EventStatus.CANCELLED);
+        when(eventRepository.findByIdWithLock(eventId)).thenReturn(Optional.of(event));
+
+        // Act & Assert
+        assertThatThrownBy(() -> service.cancelEvent(eventId))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Apenas eventos agendados podem ser cancelados");
+        verifyNoInteractions(ticketRepository, eventPublisher);
+    }
+}
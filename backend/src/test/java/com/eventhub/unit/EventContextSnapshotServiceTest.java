@@ -0,0 +1,108 @@
+package com.eventhub.unit;
+
+import com.eventhub.entity.Event;
+import com.eventhub.event.EventCatalogChangedEvent;
+import com.eventhub.repository.EventRepository;
+import com.eventhub.service.EventContextSnapshotService;
+import com.eventhub.service.LiveCapacityRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the pre-rendered chat event context.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EventContextSnapshotService Unit Tests")
+class EventContextSnapshotServiceTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private LiveCapacityRegistry liveCapacity;
+
+    private EventContextSnapshotService snapshots;
+
+    @BeforeEach
+    void setUp() {
+        snapshots = new EventContextSnapshotService(eventRepository, liveCapacity);
+        ReflectionTestUtils.setField(snapshots, "maxEvents", 10);
+        ReflectionTestUtils.setField(snapshots, "windowDays", 30);
+        ReflectionTestUtils.setField(snapshots, "debounceMs", 50L);
+        ReflectionTestUtils.setField(snapshots, "maxAgeMs", 60_000L);
+    }
+
+    private static Event event(String name) {
+        return Event.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .location("Curitiba")
+                .description("Descrição")
+                .eventDate(LocalDateTime.now().plusDays(5))
+                .capacity(100)
+                .availableCapacity(40)
+                .build();
+    }
+
+    private void upcoming(List<Event> first, List<Event> second) {
+        when(eventRepository.findByEventDateBetweenOrderByEventDateAsc(any(), any(), any(Limit.class)))
+                .thenReturn(first)
+                .thenReturn(second);
+    }
+
+    @Test
+    @DisplayName("Should re-render only once changes have been quiet for the debounce")
+    void refreshIfStale_Debounced() throws InterruptedException {
+        // Arrange
+        upcoming(List.of(event("Show de Jazz")), List.of(event("Show de Blues")));
+        EventContextSnapshotService.Snapshot first = snapshots.current();
+
+        // Act
+        snapshots.onCatalogChanged(new EventCatalogChangedEvent(UUID.randomUUID()));
+        snapshots.refreshIfStale();
+        EventContextSnapshotService.Snapshot duringBurst = snapshots.current();
+        Thread.sleep(80);
+        snapshots.refreshIfStale();
+        EventContextSnapshotService.Snapshot afterBurst = snapshots.current();
+
+        // Assert
+        assertThat(duringBurst).isSameAs(first);
+        assertThat(afterBurst.text()).contains("Show de Blues");
+        assertThat(afterBurst.version()).isEqualTo(first.version() + 1);
+        verify(eventRepository, times(2)).findByEventDateBetweenOrderByEventDateAsc(any(), any(), any(Limit.class));
+    }
+
+    @Test
+    @DisplayName("Should re-render after max-age and keep the version when the text is unchanged")
+    void refreshIfStale_MaxAge() throws InterruptedException {
+        // Arrange
+        ReflectionTestUtils.setField(snapshots, "maxAgeMs", 30L);
+        Event jazz = event("Show de Jazz");
+        upcoming(List.of(jazz), List.of(jazz));
+        EventContextSnapshotService.Snapshot first = snapshots.current();
+
+        // Act
+        Thread.sleep(50);
+        snapshots.refreshIfStale();
+        EventContextSnapshotService.Snapshot rerendered = snapshots.current();
+
+        // Assert
+        assertThat(rerendered).isNotSameAs(first);
+        assertThat(rerendered.renderedAt()).isGreaterThan(first.renderedAt());
+        assertThat(rerendered.version()).isEqualTo(first.version());
+    }
+}
@@ -0,0 +1,112 @@
+package com.eventhub.unit;
+
+import com.eventhub.entity.JobCheckpoint;
+import com.eventhub.repository.JobCheckpointRepository;
+import com.eventhub.repository.TicketReminder;
+import com.eventhub.repository.TicketRepository;
+import com.eventhub.service.EventReminderCheckpointService;
+import com.eventhub.service.EventReminderJob;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the event reminder job.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EventReminderJob Unit Tests")
+class EventReminderJobTest {
+
+    private static final long LEAD_TIME_MS = 24 * 60 * 60 * 1000L;
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private JobCheckpointRepository checkpoints;
+
+    @Mock
+    private EventReminderCheckpointService checkpointService;
+
+    private EventReminderJob job;
+
+    @BeforeEach
+    void setUp() {
+        job = new EventReminderJob(ticketRepository, checkpoints, checkpointService,
+                new SimpleMeterRegistry(), true, LEAD_TIME_MS, 500);
+        when(checkpoints.tryLockForTransaction(anyString())).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("Should remind a ticket bought after an earlier run covered its event")
+    void run_LatePurchaseInsideCoveredWindow() {
+        // Arrange
+        LocalDateTime coveredUntil = LocalDateTime.now().plusHours(12);
+        when(checkpoints.findById(anyString())).thenReturn(Optional.of(JobCheckpoint.builder()
+                .jobName("event-reminders")
+                .coveredUntil(coveredUntil)
+                .build()));
+        TicketReminder latePurchase = new TicketReminder(UUID.randomUUID(), UUID.randomUUID(),
+                LocalDateTime.now().plusHours(2), "Maria", "maria@example.com", "ABC1234",
+                "Show", "Arena");
+        ArgumentCaptor<LocalDateTime> afterDate = ArgumentCaptor.forClass(LocalDateTime.class);
+        when(ticketRepository.streamReminders(afterDate.capture(), any(), any(), any()))
+                .thenReturn(Stream.of(latePurchase));
+        List<TicketReminder> written = new ArrayList<>();
+        // The job reuses the chunk list, so copy it when written
+        doAnswer(invocation -> written.addAll(invocation.getArgument(2)))
+                .when(checkpointService).writeChunk(anyString(), any(), any());
+
+        // Act
+        job.run();
+
+        // Assert
+        assertThat(afterDate.getValue()).isBefore(latePurchase.eventDate());
+        assertThat(written).containsExactly(latePurchase);
+        verify(checkpointService).complete(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should resume an interrupted run after its cursor")
+    void run_ResumesInterruptedRun() {
+        // Arrange
+        LocalDateTime runUntil = LocalDateTime.now().plusHours(20);
+        LocalDateTime cursorDate = LocalDateTime.now().plusHours(6);
+        UUID cursorEventId = UUID.randomUUID();
+        UUID cursorTicketId = UUID.randomUUID();
+        when(checkpoints.findById(anyString())).thenReturn(Optional.of(JobCheckpoint.builder()
+                .jobName("event-reminders")
+                .runUntil(runUntil)
+                .cursorEventDate(cursorDate)
+                .cursorEventId(cursorEventId)
+                .cursorTicketId(cursorTicketId)
+                .build()));
+        when(ticketRepository.streamReminders(cursorDate, cursorEventId, cursorTicketId, runUntil))
+                .thenReturn(Stream.empty());
+
+        // Act
+        job.run();
+
+        // Assert
+        verify(checkpointService, never()).writeChunk(anyString(), any(), any());
+        verify(checkpointService).complete(anyString(), eq(runUntil));
+    }
+}
@@ -0,0 +1,101 @@
+package com.eventhub.unit;
+
+import com.eventhub.util.HierarchicalTimingWheel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the timing wheel that expires seat holds.
+ *
+ * A small wheel (4 slots of 10ms, 3 levels) forces cascades and parked deadlines.
+ */
+@DisplayName("HierarchicalTimingWheel Unit Tests")
+class HierarchicalTimingWheelTest {
+
+    private final HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(10, 4, 3, 0);
+
+    @Test
+    @DisplayName("Should fire every timeout on its tick and in deadline order")
+    void advanceTo_FiresInOrder() {
+        // Arrange
+        Random random = new Random(42);
+        List<Long> deadlines = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            long deadline = 10 + random.nextInt(2_000) * 10L;
+            deadlines.add(deadline);
+            wheel.schedule(deadline, deadline);
+        }
+        List<Long> fired = new ArrayList<>();
+
+        // Act
+        for (long now = 0; now <= 2_010 * 10L; now += 10) {
+            long tick = now;
+            wheel.advanceTo(now, deadline -> {
+                assertThat(deadline).isEqualTo(tick);
+                fired.add(deadline);
+            });
+        }
+
+        // Assert
+        assertThat(fired).hasSize(500).isSorted();
+        assertThat(fired).containsExactlyInAnyOrderElementsOf(deadlines);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not fire cancelled timeouts")
+    void cancel_RemovesTimeout() {
+        // Arrange
+        HierarchicalTimingWheel.Timeout<Long> near = wheel.schedule(20L, 20);
+        HierarchicalTimingWheel.Timeout<Long> far = wheel.schedule(900L, 900);
+        wheel.schedule(30L, 30);
+        List<Long> fired = new ArrayList<>();
+
+        // Act
+        boolean cancelled = near.cancel() && far.cancel();
+        wheel.advanceTo(1_000, fired::add);
+
+        // Assert
+        assertThat(cancelled).isTrue();
+        assertThat(fired).containsExactly(30L);
+        assertThat(near.cancel()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should fire deadlines beyond the top level when they come due")
+    void advanceTo_DeadlineBeyondTopLevel() {
+        // Arrange - the three levels span 4 x 4 x 4 ticks = 640ms
+        wheel.schedule(5_000L, 5_000);
+        List<Long> fired = new ArrayList<>();
+
+        // Act
+        wheel.advanceTo(4_990, fired::add);
+        List<Long> early = List.copyOf(fired);
+        wheel.advanceTo(5_000, fired::add);
+
+        // Assert
+        assertThat(early).isEmpty();
+        assertThat(fired).containsExactly(5_000L);
+    }
+
+    @Test
+    @DisplayName("Should fire an already expired deadline on the next tick")
+    void schedule_PastDeadline() {
+        // Arrange
+        wheel.advanceTo(100, deadline -> { });
+        wheel.schedule(50L, 50);
+        List<Long> fired = new ArrayList<>();
+
+        // Act
+        wheel.advanceTo(110, fired::add);
+
+        // Assert
+        assertThat(fired).containsExactly(50L);
+    }
+}
@@ -0,0 +1,125 @@
+package com.eventhub.unit;
+
+import com.eventhub.entity.Event;
+import com.eventhub.event.EventCatalogChangedEvent;
+import com.eventhub.repository.EventRepository;
+import com.eventhub.service.InMemoryEventSearchEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the in-memory search engine used with H2 and in tests.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("InMemoryEventSearchEngine Unit Tests")
+class InMemoryEventSearchEngineTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    private InMemoryEventSearchEngine engine;
+    private final Map<UUID, Event> stored = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        engine = new InMemoryEventSearchEngine(eventRepository);
+        lenient().when(eventRepository.findAllById(any())).thenAnswer(invocation -> {
+            Collection<UUID> ids = invocation.getArgument(0);
+            return ids.stream().map(stored::get).filter(Objects::nonNull).toList();
+        });
+    }
+
+    private Event event(String name, String location, String description, int daysAhead) {
+        Event event = Event.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .location(location)
+                .description(description)
+                .eventDate(LocalDateTime.now().plusDays(daysAhead))
+                .capacity(100)
+                .availableCapacity(100)
+                .build();
+        stored.put(event.getId(), event);
+        engine.index(event);
+        return event;
+    }
+
+    private Page<Event> search(String query) {
+        return engine.search(query, PageRequest.of(0, 10));
+    }
+
+    @Test
+    @DisplayName("Should match every query token as a prefix")
+    void search_PrefixMatching() {
+        // Arrange
+        Event festival = event("Festival de Rock", "Curitiba", "Bandas locais", 10);
+        event("Rock in Rio", "Rio de Janeiro", "Palco mundo", 20);
+
+        // Act & Assert
+        assertThat(search("fest ro").getContent()).containsExactly(festival);
+        assertThat(search("curi").getContent()).containsExactly(festival);
+        assertThat(search("rock porto").getContent()).isEmpty();
+        assertThat(search("!!").getContent()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should rank name over location over description, then by date")
+    void search_Ranking() {
+        // Arrange
+        Event inDescription = event("Noite Cultural", "Recife", "Samba de roda", 1);
+        Event inLocation = event("Carnaval", "Rua do Samba", "Blocos", 5);
+        Event laterInName = event("Samba Enredo", "Rio", "Desfile", 30);
+        Event soonerInName = event("Samba no Pé", "Salvador", "Roda", 3);
+
+        // Act
+        Page<Event> results = search("samba");
+
+        // Assert
+        assertThat(results.getContent())
+                .containsExactly(soonerInName, laterInName, inLocation, inDescription);
+        assertThat(results.getTotalElements()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should follow an event renamed or deleted in the catalog")
+    void onCatalogChanged_UpdatesIndex() {
+        // Arrange
+        Event event = event("Show de Jazz", "Curitiba", "Quarteto", 10);
+        event.setName("Show de Blues");
+        when(eventRepository.findById(event.getId())).thenReturn(Optional.of(event));
+
+        // Act
+        engine.onCatalogChanged(new EventCatalogChangedEvent(event.getId()));
+
+        // Assert
+        assertThat(search("jazz").getContent()).isEmpty();
+        assertThat(search("blues").getContent()).containsExactly(event);
+
+        // Act
+        stored.remove(event.getId());
+        when(eventRepository.findById(event.getId())).thenReturn(Optional.empty());
+        engine.onCatalogChanged(new EventCatalogChangedEvent(event.getId()));
+
+        // Assert
+        assertThat(search("blues").getTotalElements()).isZero();
+        assertThat(engine.size()).isZero();
+    }
+}
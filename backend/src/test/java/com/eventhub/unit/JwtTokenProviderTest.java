@@ -0,0 +1,95 @@
+package com.eventhub.unit;
+
+import com.eventhub.entity.User;
+import com.eventhub.enums.Role;
+import com.eventhub.security.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for JWT parsing and the verified-token cache.
+ */
+@DisplayName("JwtTokenProvider Unit Tests")
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private SimpleMeterRegistry meterRegistry;
+    private JwtTokenProvider tokenProvider;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        tokenProvider = provider(3_600_000L);
+        user = User.builder()
+                .id(UUID.randomUUID())
+                .username("testuser")
+                .email("test@example.com")
+                .passwordHash("hash")
+                .role(Role.ADMIN)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should verify a token once and serve later calls from the cache")
+    void parseClaims_CachesVerifiedToken() {
+        // Arrange
+        String token = tokenProvider.generateToken(user);
+
+        // Act
+        Claims first = tokenProvider.parseClaims(token);
+        Claims second = tokenProvider.parseClaims(token);
+
+        // Assert
+        assertThat(second).isSameAs(first);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "jwt-verified-tokens")
+                .tag("result", "hit").functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should rebuild the principal from the claims")
+    void toPrincipal_FromClaims() {
+        // Arrange
+        Claims claims = tokenProvider.parseClaims(tokenProvider.generateToken(user));
+
+        // Act
+        User principal = tokenProvider.toPrincipal(claims);
+
+        // Assert
+        assertThat(principal.getId()).isEqualTo(user.getId());
+        assertThat(principal.getUsername()).isEqualTo("testuser");
+        assertThat(principal.getRole()).isEqualTo(Role.ADMIN);
+    }
+
+    @Test
+    @DisplayName("Should reject tampered and expired tokens")
+    void parseClaims_InvalidTokens() {
+        // Arrange
+        String token = tokenProvider.generateToken(user);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+        String expired = provider(-1_000L).generateToken(user);
+
+        // Act & Assert
+        assertThat(tokenProvider.parseClaims(tampered)).isNull();
+        assertThat(tokenProvider.parseClaims(expired)).isNull();
+        assertThat(tokenProvider.parseClaims(" ")).isNull();
+    }
+
+    private JwtTokenProvider provider(long expirationMs) {
+        JwtTokenProvider provider = new JwtTokenProvider(meterRegistry);
+        ReflectionTestUtils.setField(provider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(provider, "jwtExpirationMs", expirationMs);
+        ReflectionTestUtils.setField(provider, "verifiedCacheMaxSize", 100L);
+        ReflectionTestUtils.invokeMethod(provider, "init");
+        return provider;
+    }
+}
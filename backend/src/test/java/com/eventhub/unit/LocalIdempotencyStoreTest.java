@@ -0,0 +1,171 @@
+package com.eventhub.unit;
+
+import com.eventhub.cache.IdempotencyStore;
+import com.eventhub.cache.LocalIdempotencyStore;
+import com.eventhub.exception.BusinessException;
+import com.eventhub.exception.IdempotencyKeyReusedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for the single-node idempotency store.
+ *
+ * Duplicates must never run the action twice, whether they arrive during or after the first request.
+ */
+@DisplayName("LocalIdempotencyStore Unit Tests")
+class LocalIdempotencyStoreTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final IdempotencyStore store = new LocalIdempotencyStore(meterRegistry, Duration.ofMinutes(5), 1_000);
+    private final String key = IdempotencyStore.key("purchase", UUID.randomUUID(), "retry-1");
+
+    @Test
+    @DisplayName("Should run concurrent duplicates once and hand everybody the same result")
+    void execute_CollapsesInFlightDuplicates() throws Exception {
+        // Arrange
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<String>> results = new ArrayList<>();
+
+        // Act
+        try {
+            results.add(executor.submit(() -> store.execute(key, "event-1", String.class, () -> {
+                runs.incrementAndGet();
+                started.countDown();
+                await(release);
+                return "ticket-1";
+            })));
+            started.await(5, TimeUnit.SECONDS);
+            for (int i = 0; i < 7; i++) {
+                results.add(executor.submit(() -> store.execute(key, "event-1", String.class, () -> {
+                    runs.incrementAndGet();
+                    return "ticket-2";
+                })));
+            }
+            release.countDown();
+
+            // Assert
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("ticket-1");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(runs).hasValue(1);
+        assertThat(store.execute(key, "event-1", String.class, () -> "ticket-3")).isEqualTo("ticket-1");
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused for a different request")
+    void execute_DifferentFingerprint() {
+        // Arrange
+        store.execute(key, "event-1", String.class, () -> "ticket-1");
+
+        // Act & Assert
+        assertThatThrownBy(() -> store.execute(key, "event-2", String.class, () -> "ticket-2"))
+                .isInstanceOf(IdempotencyKeyReusedException.class);
+    }
+
+    @Test
+    @DisplayName("Should forget a failed request so it can be retried")
+    void execute_FailureIsNotStored() {
+        // Arrange
+        assertThatThrownBy(() -> store.execute(key, "event-1", String.class, () -> {
+            throw new BusinessException("Evento esgotado");
+        })).isInstanceOf(BusinessException.class);
+        assertThat(store.replay(key, "event-1", String.class)).isEmpty();
+
+        // Act
+        String result = store.execute(key, "event-1", String.class, () -> "ticket-1");
+
+        // Assert
+        assertThat(result).isEqualTo("ticket-1");
+        assertThat(store.replay(key, "event-1", String.class)).hasValue("ticket-1");
+        assertThat(meterRegistry.get("eventhub.idempotency").tag("result", "executed").counter().count())
+                .isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Should let a replay wait for the running request and never run anything itself")
+    void replay_WaitsForInFlightRequest() throws Exception {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> first = executor.submit(() -> store.execute(key, "event-1", String.class, () -> {
+                started.countDown();
+                await(release);
+                return "ticket-1";
+            }));
+            started.await(5, TimeUnit.SECONDS);
+
+            // Act
+            Future<Optional<String>> replay =
+                    executor.submit(() -> store.replay(key, "event-1", String.class));
+            release.countDown();
+
+            // Assert
+            assertThat(replay.get(5, TimeUnit.SECONDS)).hasValue("ticket-1");
+            assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("ticket-1");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should answer a replay with nothing when the request it waited for failed")
+    void replay_InFlightRequestFails() throws Exception {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> first = executor.submit(() -> store.execute(key, "event-1", String.class, () -> {
+                started.countDown();
+                await(release);
+                throw new BusinessException("Evento esgotado");
+            }));
+            started.await(5, TimeUnit.SECONDS);
+
+            // Act
+            Future<Optional<String>> replay =
+                    executor.submit(() -> store.replay(key, "event-1", String.class));
+            release.countDown();
+
+            // Assert
+            assertThat(replay.get(5, TimeUnit.SECONDS)).isEmpty();
+            assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(BusinessException.class);
+            assertThat(meterRegistry.get("eventhub.idempotency").tag("result", "executed").counter().count())
+                    .isEqualTo(1.0);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
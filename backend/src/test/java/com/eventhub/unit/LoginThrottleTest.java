@@ -0,0 +1,75 @@
+package com.eventhub.unit;
+
+import com.eventhub.exception.TooManyRequestsException;
+import com.eventhub.service.LoginThrottle;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+/**
+ * Unit tests for the per-username and per-IP login throttle.
+ *
+ * Failed attempts cost extra, and the 429 says how long to wait.
+ */
+@DisplayName("LoginThrottle Unit Tests")
+class LoginThrottleTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Should reject the attempt after the username bucket is empty with a Retry-After")
+    void acquire_UsernameExhausted() {
+        // Arrange: 2 attempts, then one more every 10 seconds
+        LoginThrottle throttle = new LoginThrottle(meterRegistry, 2, 6, 100, 600, 1, 1_000);
+        throttle.acquire("alice", "10.0.0.1");
+        throttle.acquire("ALICE ", "10.0.0.2");
+
+        // Act
+        TooManyRequestsException rejected = catchThrowableOfType(
+                () -> throttle.acquire("alice", "10.0.0.3"), TooManyRequestsException.class);
+
+        // Assert
+        assertThat(rejected).isNotNull();
+        assertThat(rejected.getRetryAfterSeconds()).isEqualTo(10);
+        assertThat(meterRegistry.get("eventhub.auth.login.throttled").counter().count()).isEqualTo(1.0);
+        throttle.acquire("bob", "10.0.0.3");
+    }
+
+    @Test
+    @DisplayName("Should charge the failure penalty to the username")
+    void recordFailure_Penalty() {
+        // Arrange: 5 attempts, one failure costs 1 + 3
+        LoginThrottle throttle = new LoginThrottle(meterRegistry, 5, 6, 100, 600, 3, 1_000);
+        throttle.acquire("alice", "10.0.0.1");
+        throttle.recordFailure("alice");
+
+        // Act
+        throttle.acquire("alice", "10.0.0.1");
+
+        // Assert: the penalty used up what a mistyped password would not
+        assertThatThrownBy(() -> throttle.acquire("alice", "10.0.0.1"))
+                .isInstanceOf(TooManyRequestsException.class);
+    }
+
+    @Test
+    @DisplayName("Should throttle every username coming from a saturated IP")
+    void acquire_IpExhausted() {
+        // Arrange: the IP allows 3 attempts, then one every 2 seconds
+        LoginThrottle throttle = new LoginThrottle(meterRegistry, 5, 60, 3, 30, 1, 1_000);
+        throttle.acquire("alice", "10.0.0.1");
+        throttle.acquire("bob", "10.0.0.1");
+        throttle.acquire("carol", "10.0.0.1");
+
+        // Act
+        TooManyRequestsException rejected = catchThrowableOfType(
+                () -> throttle.acquire("dave", "10.0.0.1"), TooManyRequestsException.class);
+
+        // Assert
+        assertThat(rejected.getRetryAfterSeconds()).isEqualTo(2);
+        throttle.acquire("dave", "10.0.0.2");
+    }
+}
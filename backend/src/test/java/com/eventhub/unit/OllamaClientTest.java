@@ -0,0 +1,141 @@
+package com.eventhub.unit;
+
+import com.eventhub.exception.ServiceBusyException;
+import com.eventhub.service.OllamaClient;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for the Ollama client's bulkhead and circuit breaker.
+ *
+ * A local HTTP server stands in for Ollama's /api/generate.
+ */
+@DisplayName("OllamaClient Unit Tests")
+class OllamaClientTest {
+
+    private final AtomicInteger generateCalls = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private volatile int status = 200;
+    private volatile boolean hold;
+    private HttpServer ollamaStub;
+    private SimpleMeterRegistry meterRegistry;
+    private OllamaClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ollamaStub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        ollamaStub.setExecutor(Executors.newCachedThreadPool());
+        ollamaStub.createContext("/api/generate", exchange -> {
+            generateCalls.incrementAndGet();
+            if (hold) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            byte[] body = "{\"response\": \"Olá\", \"context\": [1, 2, 3], \"done\": true}"
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        ollamaStub.start();
+        meterRegistry = new SimpleMeterRegistry();
+        client = new OllamaClient(
+                new ObjectMapper(), meterRegistry,
+                "http://127.0.0.1:" + ollamaStub.getAddress().getPort(), "llama3.2:3b",
+                5_000, 300, 1_000, 500, 1, 100, 5, 2, 60_000
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        ollamaStub.stop(0);
+    }
+
+    @Test
+    @DisplayName("Should return the response and the resumable context")
+    void generate_Success() {
+        // Act
+        OllamaClient.Reply reply = client.generate("Oi", null);
+
+        // Assert
+        assertThat(reply.response()).isEqualTo("Olá");
+        assertThat(reply.context()).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    @DisplayName("Should fail fast without calling Ollama once the circuit opens")
+    void generate_CircuitOpens() {
+        // Arrange
+        status = 500;
+        assertThatThrownBy(() -> client.generate("Oi", null)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> client.generate("Oi", null)).isInstanceOf(IllegalStateException.class);
+
+        // Act & Assert
+        assertThatThrownBy(() -> client.generate("Oi", null))
+                .isInstanceOf(ServiceBusyException.class)
+                .satisfies(e -> assertThat(((ServiceBusyException) e).getRetryAfterSeconds()).isPositive());
+        assertThat(generateCalls).hasValue(2);
+        assertThat(meterRegistry.get("eventhub.ollama.rejected").tag("reason", "circuit_open")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should reject a generation when every slot stays busy past the queue timeout")
+    void generate_Saturated() throws Exception {
+        // Arrange
+        hold = true;
+        CompletableFuture<OllamaClient.Reply> running = CompletableFuture.supplyAsync(() -> client.generate("Oi", null));
+        while (meterRegistry.get("eventhub.ollama.in_flight").gauge().value() < 1) {
+            Thread.sleep(5);
+        }
+
+        // Act & Assert
+        assertThatThrownBy(() -> client.generate("Oi", null)).isInstanceOf(ServiceBusyException.class);
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS).response()).isEqualTo("Olá");
+        assertThat(generateCalls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should give the slot back when a stream runs past the stream timeout or is cancelled")
+    void generateStream_DeadlineAndCancel() throws Exception {
+        // Arrange
+        hold = true;
+
+        // Act
+        CompletableFuture<OllamaClient.Reply> stalled = client.generateStream("Oi", null, token -> { });
+
+        // Assert
+        assertThatThrownBy(() -> stalled.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(TimeoutException.class);
+        assertThat(meterRegistry.get("eventhub.ollama.in_flight").gauge().value()).isZero();
+
+        CompletableFuture<OllamaClient.Reply> abandoned = client.generateStream("Oi", null, token -> { });
+        assertThat(meterRegistry.get("eventhub.ollama.in_flight").gauge().value()).isEqualTo(1.0);
+        abandoned.cancel(true);
+        assertThat(meterRegistry.get("eventhub.ollama.in_flight").gauge().value()).isZero();
+    }
+}
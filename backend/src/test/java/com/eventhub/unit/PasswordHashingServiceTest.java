@@ -0,0 +1,116 @@
+package com.eventhub.unit;
+
+import com.eventhub.exception.ServiceBusyException;
+import com.eventhub.service.PasswordHashingService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+/**
+ * Unit tests for the bounded BCrypt pool.
+ *
+ * A saturated pool answers 503 right away instead of queueing request threads.
+ */
+@DisplayName("PasswordHashingService Unit Tests")
+class PasswordHashingServiceTest {
+
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Should reject with Retry-After when the thread and the queue are taken")
+    void encode_Saturated() throws Exception {
+        // Arrange: one hashing thread, one queue slot
+        PasswordHashingService service = new PasswordHashingService(
+                new SlowEncoder(), meterRegistry, 1, 1, 5_000, 2);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> service.encode("first"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> service.encode("second"));
+        awaitQueued(1);
+
+        // Act
+        ServiceBusyException rejected = catchThrowableOfType(
+                () -> service.encode("third"), ServiceBusyException.class);
+
+        // Assert
+        assertThat(rejected).isNotNull();
+        assertThat(rejected.getRetryAfterSeconds()).isEqualTo(2);
+        assertThat(meterRegistry.get("eventhub.auth.hashing.rejected").counter().count()).isEqualTo(1.0);
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hash:first");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hash:second");
+        service.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should give up on a hash that takes longer than the timeout")
+    void matches_Timeout() {
+        // Arrange
+        PasswordHashingService service = new PasswordHashingService(
+                new SlowEncoder(), meterRegistry, 1, 1, 50, 2);
+
+        // Act
+        ServiceBusyException rejected = catchThrowableOfType(
+                () -> service.matches("secret", "hash:secret"), ServiceBusyException.class);
+
+        // Assert
+        assertThat(rejected).isNotNull();
+        assertThat(meterRegistry.get("eventhub.auth.hashing.rejected").counter().count()).isEqualTo(1.0);
+        service.shutdown();
+    }
+
+    private void awaitQueued(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (meterRegistry.get("eventhub.auth.hashing.queue").gauge().value() < expected
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Stands in for BCrypt: blocks until the test releases it.
+     */
+    private final class SlowEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            awaitRelease();
+            return "hash:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+
+        private void awaitRelease() {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
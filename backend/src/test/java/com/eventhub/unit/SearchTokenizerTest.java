@@ -0,0 +1,47 @@
+package com.eventhub.unit;
+
+import com.eventhub.util.SearchTokenizer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the search tokenizer.
+ *
+ * User input must never reach a tsquery with operators or syntax of its own.
+ */
+@DisplayName("SearchTokenizer Unit Tests")
+class SearchTokenizerTest {
+
+    @Test
+    @DisplayName("Should split into distinct lowercase words, keeping accents and digits")
+    void tokens_LowercaseDistinctWords() {
+        // Act & Assert
+        assertThat(SearchTokenizer.tokens("Festival de Jazz São Paulo 2025 jazz"))
+                .containsExactly("festival", "de", "jazz", "são", "paulo", "2025");
+        assertThat(SearchTokenizer.tokens(null)).isEmpty();
+        assertThat(SearchTokenizer.tokens("  --  ")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should strip tsquery operators and punctuation from user input")
+    void toPrefixTsQuery_StripsSpecialCharacters() {
+        // Act
+        String query = SearchTokenizer.toPrefixTsQuery("rock' & !(sao:* | paulo)<->");
+
+        // Assert
+        assertThat(query).isEqualTo("rock:* & sao:* & paulo:*");
+        assertThat(SearchTokenizer.toPrefixTsQuery("&|!:*()")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should use only the first eight tokens")
+    void toPrefixTsQuery_LimitsTokens() {
+        // Act
+        String query = SearchTokenizer.toPrefixTsQuery("a b c d e f g h i j");
+
+        // Assert
+        assertThat(query).isEqualTo("a:* & b:* & c:* & d:* & e:* & f:* & g:* & h:*");
+    }
+}
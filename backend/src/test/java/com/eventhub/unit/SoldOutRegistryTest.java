@@ -0,0 +1,104 @@
+package com.eventhub.unit;
+
+import com.eventhub.event.EventCapacityChangedEvent;
+import com.eventhub.exception.SoldOutException;
+import com.eventhub.repository.EventRepository;
+import com.eventhub.service.CapacityLedger;
+import com.eventhub.service.SoldOutRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the sold-out fast path.
+ *
+ * Rejections must not touch the repository; seats coming back must reopen the event.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SoldOutRegistry Unit Tests")
+class SoldOutRegistryTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private CapacityLedger capacityLedger;
+
+    private SoldOutRegistry registry;
+    private final UUID eventId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        registry = new SoldOutRegistry(eventRepository, capacityLedger, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Should reject with the shared stackless exception once the event is marked")
+    void rejectIfSoldOut_Marked() {
+        // Arrange
+        assertThatCode(() -> registry.rejectIfSoldOut(eventId)).doesNotThrowAnyException();
+        registry.markSoldOut(eventId);
+
+        // Act & Assert
+        assertThatThrownBy(() -> registry.rejectIfSoldOut(eventId))
+                .isSameAs(SoldOutException.INSTANCE)
+                .hasMessage("Evento esgotado");
+        assertThat(SoldOutException.INSTANCE.getStackTrace()).isEmpty();
+        verifyNoInteractions(eventRepository);
+    }
+
+    @Test
+    @DisplayName("Should reopen the event when a seat is released")
+    void onCapacityChanged_Released() {
+        // Arrange
+        registry.markSoldOut(eventId);
+
+        // Act
+        registry.onCapacityChanged(EventCapacityChangedEvent.taken(eventId, 1));
+        boolean stillSoldOut = isSoldOut();
+        registry.onCapacityChanged(EventCapacityChangedEvent.released(eventId, 1));
+
+        // Assert
+        assertThat(stillSoldOut).isTrue();
+        assertThat(isSoldOut()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reopen the event when another node freed seats in the database")
+    void recheck_SeatsBack() {
+        // Arrange
+        registry.markSoldOut(eventId);
+        EventRepository.CapacityView view = mock(EventRepository.CapacityView.class);
+        when(view.getId()).thenReturn(eventId);
+        when(view.getAvailableCapacity()).thenReturn(2);
+        when(eventRepository.findAvailableCapacityByIds(anyCollection())).thenReturn(List.of(view));
+
+        // Act
+        registry.recheck();
+
+        // Assert
+        assertThat(isSoldOut()).isFalse();
+    }
+
+    private boolean isSoldOut() {
+        try {
+            registry.rejectIfSoldOut(eventId);
+            return false;
+        } catch (SoldOutException e) {
+            return true;
+        }
+    }
+}
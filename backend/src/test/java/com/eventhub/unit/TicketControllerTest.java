@@ -0,0 +1,130 @@
+package com.eventhub.unit;
+
+import com.eventhub.cache.IdempotencyStore;
+import com.eventhub.controller.TicketController;
+import com.eventhub.dto.request.PurchaseTicketRequest;
+import com.eventhub.dto.response.TicketResponse;
+import com.eventhub.entity.User;
+import com.eventhub.enums.Role;
+import com.eventhub.enums.TicketStatus;
+import com.eventhub.exception.SoldOutException;
+import com.eventhub.service.AdmissionControlService;
+import com.eventhub.service.SeatHoldService;
+import com.eventhub.service.SoldOutRegistry;
+import com.eventhub.service.TicketPurchaseService;
+import com.eventhub.service.TicketService;
+import com.eventhub.service.WaitlistService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the purchase endpoint's gates and idempotent replays.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TicketController Unit Tests")
+class TicketControllerTest {
+
+    @Mock
+    private TicketService ticketService;
+
+    @Mock
+    private TicketPurchaseService ticketPurchaseService;
+
+    @Mock
+    private AdmissionControlService admissionControlService;
+
+    @Mock
+    private SeatHoldService seatHoldService;
+
+    @Mock
+    private IdempotencyStore idempotencyStore;
+
+    @Mock
+    private SoldOutRegistry soldOutRegistry;
+
+    @Mock
+    private WaitlistService waitlistService;
+
+    @InjectMocks
+    private TicketController ticketController;
+
+    private User user;
+    private PurchaseTicketRequest request;
+
+    @BeforeEach
+    void setUp() {
+        user = User.builder()
+                .id(UUID.randomUUID())
+                .username("testuser")
+                .role(Role.USER)
+                .build();
+        request = new PurchaseTicketRequest(UUID.randomUUID(), "John Doe", "john@example.com");
+    }
+
+    @Test
+    @DisplayName("Should return the stored ticket to a replay without running the purchase")
+    void purchaseTicket_ReplayReturnsStoredResult() {
+        // Arrange
+        TicketResponse stored = new TicketResponse(UUID.randomUUID(), "ABC1234", TicketStatus.ACTIVE,
+                LocalDateTime.now(), null, "John Doe", "john@example.com", null);
+        when(idempotencyStore.replay(anyString(), anyString(), eq(TicketResponse.class)))
+                .thenReturn(Optional.of(stored));
+
+        // Act
+        ResponseEntity<?> response = ticketController.purchaseTicket(request, null, "retry-1", user);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(response.getBody()).isSameAs(stored);
+        verifyNoInteractions(soldOutRegistry, admissionControlService, ticketPurchaseService);
+        verify(idempotencyStore, never()).execute(anyString(), anyString(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should send a retry through the gates when the original attempt is gone")
+    void purchaseTicket_ReplayOfForgottenKeyIsGated() {
+        // Arrange
+        when(idempotencyStore.replay(anyString(), anyString(), eq(TicketResponse.class)))
+                .thenReturn(Optional.empty());
+        doThrow(SoldOutException.INSTANCE).when(soldOutRegistry).rejectIfSoldOut(request.eventId());
+
+        // Act & Assert
+        assertThatThrownBy(() -> ticketController.purchaseTicket(request, null, "retry-1", user))
+                .isSameAs(SoldOutException.INSTANCE);
+        verify(idempotencyStore, never()).execute(anyString(), anyString(), any(), any());
+        verify(admissionControlService, never()).enter(any(), any(), any());
+        verifyNoInteractions(ticketPurchaseService);
+    }
+
+    @Test
+    @DisplayName("Should release the queue token of a buyer rejected by the sold-out gate")
+    void purchaseTicket_RejectedTokenReleased() {
+        // Arrange
+        UUID queueToken = UUID.randomUUID();
+        doThrow(SoldOutException.INSTANCE).when(soldOutRegistry).rejectIfSoldOut(request.eventId());
+
+        // Act & Assert
+        assertThatThrownBy(() -> ticketController.purchaseTicket(request, queueToken, null, user))
+                .isSameAs(SoldOutException.INSTANCE);
+        verify(admissionControlService).release(request.eventId(), user.getId(), queueToken);
+        verify(admissionControlService, never()).enter(any(), any(), any());
+    }
+}
@@ -1,9 +1,12 @@
 package com.eventhub.unit;
 
+import com.eventhub.dto.request.BatchPurchaseRequest;
 import com.eventhub.dto.request.PurchaseTicketRequest;
+import com.eventhub.dto.response.BatchPurchaseResponse;
 import com.eventhub.dto.response.TicketResponse;
 import com.eventhub.entity.Event;
 import com.eventhub.entity.Participant;
+import com.eventhub.entity.SeatHold;
 import com.eventhub.entity.Ticket;
 import com.eventhub.entity.User;
 import com.eventhub.enums.Role;
@@ -11,8 +14,12 @@ import com.eventhub.enums.TicketStatus;
 import com.eventhub.exception.BusinessException;
 import com.eventhub.exception.ResourceNotFoundException;
 import com.eventhub.repository.EventRepository;
+import com.eventhub.repository.SeatHoldRepository;
 import com.eventhub.repository.TicketRepository;
+import com.eventhub.service.CapacityLedger;
+import com.eventhub.service.ConfirmationCodeAllocator;
 import com.eventhub.service.EmailService;
+import com.eventhub.service.SoldOutRegistry;
 import com.eventhub.service.TicketService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -23,15 +30,22 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -55,9 +69,24 @@ class TicketServiceTest {
     @Mock
     private EventRepository eventRepository;
 
+    @Mock
+    private SeatHoldRepository seatHoldRepository;
+
     @Mock
     private EmailService emailService;
 
+    @Mock
+    private CapacityLedger capacityLedger;
+
+    @Mock
+    private ConfirmationCodeAllocator confirmationCodeAllocator;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private SoldOutRegistry soldOutRegistry;
+
     @InjectMocks
     private TicketService ticketService;
 
@@ -105,7 +134,7 @@ class TicketServiceTest {
             // Arrange
             when(eventRepository.findByIdWithLock(eventId)).thenReturn(Optional.of(testEvent));
             when(ticketRepository.userHasActiveTicketForEvent(testUser, testEvent)).thenReturn(false);
-            when(ticketRepository.findByConfirmationCode(any())).thenReturn(Optional.empty());
+            when(confirmationCodeAllocator.next()).thenReturn("ABC1234");
 
             Ticket savedTicket = Ticket.builder()
                     .id(UUID.randomUUID())
@@ -202,6 +231,136 @@ class TicketServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Batch Purchase Tests")
+    class BatchPurchaseTests {
+
+        private Event secondEvent;
+
+        @BeforeEach
+        void setUpSecondEvent() {
+            secondEvent = Event.builder()
+                    .id(UUID.randomUUID())
+                    .name("Second Concert")
+                    .eventDate(LocalDateTime.now().plusDays(10))
+                    .location("Other Venue")
+                    .capacity(10)
+                    .availableCapacity(1)
+                    .version(0L)
+                    .build();
+        }
+
+        private BatchPurchaseRequest batchFor(Event... events) {
+            List<PurchaseTicketRequest> tickets = new ArrayList<>();
+            for (Event event : events) {
+                tickets.add(new PurchaseTicketRequest(event.getId(), "John Doe", "john@example.com"));
+            }
+            return new BatchPurchaseRequest(tickets);
+        }
+
+        @Test
+        @DisplayName("Should buy every ticket of the batch under one batch id")
+        void purchaseBatch_Success() {
+            // Arrange
+            BatchPurchaseRequest request = batchFor(testEvent, testEvent, secondEvent);
+            when(eventRepository.findAllById(any())).thenReturn(List.of(testEvent, secondEvent));
+            when(eventRepository.decrementAvailableCapacity(eventId, 2)).thenReturn(1);
+            when(eventRepository.decrementAvailableCapacity(secondEvent.getId(), 1)).thenReturn(1);
+            when(confirmationCodeAllocator.next()).thenReturn("AAA1111", "BBB2222", "CCC3333");
+            when(ticketRepository.saveAll(anyList())).thenAnswer(invocation -> {
+                List<Ticket> tickets = invocation.getArgument(0);
+                tickets.forEach(ticket -> ticket.setId(UUID.randomUUID()));
+                return tickets;
+            });
+
+            // Act
+            BatchPurchaseResponse response = ticketService.purchaseBatch(request, testUser);
+
+            // Assert
+            assertThat(response.quantity()).isEqualTo(3);
+            assertThat(response.confirmationCodes()).containsExactlyInAnyOrder("AAA1111", "BBB2222", "CCC3333");
+            verify(ticketRepository).markCapacityReserved();
+            verify(emailService, times(3)).sendTicketConfirmation(any(Ticket.class));
+        }
+
+        @Test
+        @DisplayName("Should reject the batch when one of its events is in the past")
+        void purchaseBatch_PastEvent() {
+            // Arrange
+            secondEvent.setEventDate(LocalDateTime.now().minusDays(1));
+            when(eventRepository.findAllById(any())).thenReturn(List.of(testEvent, secondEvent));
+            lenient().when(eventRepository.decrementAvailableCapacity(any(), anyInt())).thenReturn(1);
+
+            // Act & Assert
+            assertThatThrownBy(() -> ticketService.purchaseBatch(batchFor(testEvent, secondEvent), testUser))
+                    .isInstanceOf(BusinessException.class)
+                    .hasMessageContaining("eventos passados");
+            verify(ticketRepository, never()).saveAll(anyList());
+        }
+
+        @Test
+        @DisplayName("Should reject the batch when an event has fewer seats than requested")
+        void purchaseBatch_SoldOut() {
+            // Arrange
+            when(eventRepository.findAllById(any())).thenReturn(List.of(secondEvent));
+            when(eventRepository.decrementAvailableCapacity(secondEvent.getId(), 2)).thenReturn(0);
+
+            // Act & Assert
+            assertThatThrownBy(() -> ticketService.purchaseBatch(batchFor(secondEvent, secondEvent), testUser))
+                    .isInstanceOf(BusinessException.class)
+                    .hasMessageContaining("Não há lugares suficientes");
+            verify(ticketRepository, never()).saveAll(anyList());
+            verify(emailService, never()).sendTicketConfirmation(any(Ticket.class));
+        }
+
+        @Test
+        @DisplayName("Should fail the whole batch when a ticket insert is rejected")
+        void purchaseBatch_PartialBatchRolledBack() {
+            // Arrange
+            when(eventRepository.findAllById(any())).thenReturn(List.of(testEvent, secondEvent));
+            when(eventRepository.decrementAvailableCapacity(any(), anyInt())).thenReturn(1);
+            when(confirmationCodeAllocator.next()).thenReturn("AAA1111", "BBB2222");
+            when(ticketRepository.saveAll(anyList())).thenReturn(List.of());
+            doThrow(new DataIntegrityViolationException("insert",
+                    new RuntimeException("duplicate key violates idx_unique_active_ticket_per_user_event")))
+                    .when(ticketRepository).flush();
+
+            // Act & Assert
+            assertThatThrownBy(() -> ticketService.purchaseBatch(batchFor(testEvent, secondEvent), testUser))
+                    .isInstanceOf(BusinessException.class)
+                    .hasMessageContaining("já possui um ingresso");
+            verify(emailService, never()).sendTicketConfirmation(any(Ticket.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("Seat Hold Purchase Tests")
+    class HoldPurchaseTests {
+
+        @Test
+        @DisplayName("Should reject a hold confirmed after the event has started")
+        void purchaseFromHold_PastEvent() {
+            // Arrange
+            testEvent.setEventDate(LocalDateTime.now().minusMinutes(5));
+            SeatHold hold = SeatHold.builder()
+                    .id(UUID.randomUUID())
+                    .eventId(eventId)
+                    .userId(testUser.getId())
+                    .leaseNodeId(UUID.randomUUID())
+                    .expiresAt(LocalDateTime.now().plusMinutes(5))
+                    .build();
+            when(seatHoldRepository.claim(eq(hold.getId()), eq(testUser.getId()), any(LocalDateTime.class)))
+                    .thenReturn(1);
+            when(eventRepository.findById(eventId)).thenReturn(Optional.of(testEvent));
+
+            // Act & Assert
+            assertThatThrownBy(() -> ticketService.purchaseFromHold(validRequest, testUser, hold))
+                    .isInstanceOf(BusinessException.class)
+                    .hasMessageContaining("eventos passados");
+            verify(ticketRepository, never()).save(any(Ticket.class));
+        }
+    }
+
     @Nested
     @DisplayName("Concurrency Tests - Optimistic Locking")
     class ConcurrencyTests {
@@ -212,7 +371,7 @@ class TicketServiceTest {
             // Arrange
             when(eventRepository.findByIdWithLock(eventId)).thenReturn(Optional.of(testEvent));
             when(ticketRepository.userHasActiveTicketForEvent(testUser, testEvent)).thenReturn(false);
-            when(ticketRepository.findByConfirmationCode(any())).thenReturn(Optional.empty());
+            when(confirmationCodeAllocator.next()).thenReturn("ABC1234");
 
             // Simulate optimistic locking failure (another transaction modified the event)
             when(eventRepository.saveAndFlush(any(Event.class)))
@@ -233,7 +392,7 @@ class TicketServiceTest {
             testEvent.setAvailableCapacity(1); // Last ticket
             when(eventRepository.findByIdWithLock(eventId)).thenReturn(Optional.of(testEvent));
             when(ticketRepository.userHasActiveTicketForEvent(testUser, testEvent)).thenReturn(false);
-            when(ticketRepository.findByConfirmationCode(any())).thenReturn(Optional.empty());
+            when(confirmationCodeAllocator.next()).thenReturn("ABC1234");
 
             Ticket savedTicket = Ticket.builder()
                     .id(UUID.randomUUID())
@@ -0,0 +1,69 @@
+package com.eventhub.unit;
+
+import com.eventhub.util.TokenBucket;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the token bucket behind the login throttle.
+ *
+ * The wait it reports is what ends up in the Retry-After header.
+ */
+@DisplayName("TokenBucket Unit Tests")
+class TokenBucketTest {
+
+    @Test
+    @DisplayName("Should start full and report the wait for the next token once empty")
+    void tryConsume_EmptyBucketReportsWait() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(2, 0.1);
+
+        // Act
+        long first = bucket.tryConsume(1);
+        long second = bucket.tryConsume(1);
+        long third = bucket.tryConsume(1);
+
+        // Assert
+        assertThat(first).isZero();
+        assertThat(second).isZero();
+        assertThat(third).isBetween(TimeUnit.SECONDS.toNanos(9), TimeUnit.SECONDS.toNanos(10));
+    }
+
+    @Test
+    @DisplayName("Should refill continuously at the configured rate")
+    void tryConsume_RefillsOverTime() throws InterruptedException {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(1, 5);
+        bucket.tryConsume(1);
+        assertThat(bucket.tryConsume(1)).isPositive();
+
+        // Act
+        Thread.sleep(300);
+
+        // Assert
+        assertThat(bucket.tryConsume(1)).isZero();
+        assertThat(bucket.tryConsume(1)).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should let penalties push the balance below zero, down to minus capacity")
+    void consume_PenaltyGoesNegative() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(2, 0.01);
+        TokenBucket drained = new TokenBucket(2, 0.01);
+
+        // Act
+        bucket.consume(3);
+        drained.consume(100);
+
+        // Assert
+        assertThat(bucket.tryConsume(1))
+                .isBetween(TimeUnit.SECONDS.toNanos(190), TimeUnit.SECONDS.toNanos(200));
+        assertThat(drained.tryConsume(1))
+                .isBetween(TimeUnit.SECONDS.toNanos(290), TimeUnit.SECONDS.toNanos(300));
+    }
+}
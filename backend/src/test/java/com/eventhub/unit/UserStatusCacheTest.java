@@ -0,0 +1,68 @@
+package com.eventhub.unit;
+
+import com.eventhub.cache.CacheSpecs;
+import com.eventhub.enums.Role;
+import com.eventhub.event.UserStatusChangedEvent;
+import com.eventhub.repository.UserRepository;
+import com.eventhub.security.UserStatusCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the cached account status checked by stateless tokens.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserStatusCache Unit Tests")
+class UserStatusCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserStatusCache userStatusCache;
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        userStatusCache = new UserStatusCache(CacheSpecs.localCacheManager(100), userRepository);
+    }
+
+    @Test
+    @DisplayName("Should reject an admin token once the user is demoted")
+    void isActive_StaleRoleClaim() {
+        // Arrange
+        when(userRepository.findActiveRoleById(userId))
+                .thenReturn(Optional.of(Role.ADMIN))
+                .thenReturn(Optional.of(Role.USER));
+        assertThat(userStatusCache.isActive(userId, Role.ADMIN)).isTrue();
+
+        // Act
+        userStatusCache.onUserStatusChanged(new UserStatusChangedEvent(userId));
+
+        // Assert
+        assertThat(userStatusCache.isActive(userId, Role.ADMIN)).isFalse();
+        assertThat(userStatusCache.isActive(userId, Role.USER)).isTrue();
+        verify(userRepository, times(2)).findActiveRoleById(userId);
+    }
+
+    @Test
+    @DisplayName("Should reject every token of a locked or deleted account")
+    void isActive_InactiveAccount() {
+        // Arrange
+        when(userRepository.findActiveRoleById(userId)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThat(userStatusCache.isActive(userId, Role.USER)).isFalse();
+        assertThat(userStatusCache.isActive(userId, Role.ADMIN)).isFalse();
+        verify(userRepository).findActiveRoleById(userId);
+    }
+}
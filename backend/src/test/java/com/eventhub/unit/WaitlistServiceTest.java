@@ -0,0 +1,173 @@
+package com.eventhub.unit;
+
+import com.eventhub.dto.response.SeatHoldResponse;
+import com.eventhub.dto.response.WaitlistStatusResponse;
+import com.eventhub.entity.User;
+import com.eventhub.entity.WaitlistEntry;
+import com.eventhub.enums.Role;
+import com.eventhub.enums.WaitlistStatus;
+import com.eventhub.event.EventCapacityChangedEvent;
+import com.eventhub.event.SeatHoldClosedEvent;
+import com.eventhub.exception.ResourceNotFoundException;
+import com.eventhub.exception.SoldOutException;
+import com.eventhub.repository.EventRepository;
+import com.eventhub.repository.TicketRepository;
+import com.eventhub.repository.UserRepository;
+import com.eventhub.repository.WaitlistRepository;
+import com.eventhub.service.EmailService;
+import com.eventhub.service.LiveCapacityRegistry;
+import com.eventhub.service.SeatHoldService;
+import com.eventhub.service.SoldOutRegistry;
+import com.eventhub.service.WaitlistService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the waitlist.
+ *
+ * Freed seats go to the head of the queue; a lapsed offer gives up the place.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WaitlistService Unit Tests")
+class WaitlistServiceTest {
+
+    @Mock
+    private WaitlistRepository waitlistRepository;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private SeatHoldService seatHoldService;
+
+    @Mock
+    private SoldOutRegistry soldOutRegistry;
+
+    @Mock
+    private LiveCapacityRegistry liveCapacityRegistry;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    private WaitlistService waitlistService;
+    private final UUID eventId = UUID.randomUUID();
+    private User first;
+    private User second;
+
+    @BeforeEach
+    void setUp() {
+        waitlistService = new WaitlistService(waitlistRepository, eventRepository, userRepository,
+                ticketRepository, seatHoldService, soldOutRegistry, liveCapacityRegistry, emailService,
+                messagingTemplate, new SimpleMeterRegistry(), 900_000, 1_000);
+        first = user("first");
+        second = user("second");
+    }
+
+    @Test
+    @DisplayName("Should offer a freed seat to the first user and keep the rest waiting")
+    void onCapacityChanged_OffersHeadOfQueue() {
+        // Arrange
+        WaitlistEntry firstEntry = entry(first, 2);
+        WaitlistEntry secondEntry = entry(second, 1);
+        when(waitlistRepository.findNextWaiting(eventId))
+                .thenReturn(Optional.of(firstEntry))
+                .thenReturn(Optional.of(secondEntry));
+        when(waitlistRepository.claimForOffer(any(UUID.class), any(LocalDateTime.class))).thenReturn(1);
+        SeatHoldResponse hold = new SeatHoldResponse(UUID.randomUUID(), eventId, LocalDateTime.now().plusMinutes(15));
+        when(seatHoldService.offer(eq(eventId), eq(first.getId()), anyLong())).thenReturn(Optional.of(hold));
+        when(seatHoldService.offer(eq(eventId), eq(second.getId()), anyLong())).thenReturn(Optional.empty());
+        when(waitlistRepository.markOffered(firstEntry.getId(), hold.holdId(), hold.expiresAt())).thenReturn(1);
+        when(waitlistRepository.existsByEventIdAndHoldIdIsNull(eventId)).thenReturn(true);
+
+        // Act
+        waitlistService.onCapacityChanged(EventCapacityChangedEvent.released(eventId, 1));
+
+        // Assert
+        verify(messagingTemplate).convertAndSend(eq("/topic/waitlist/" + firstEntry.getId()),
+                argThat((WaitlistStatusResponse status) -> status.status() == WaitlistStatus.OFFERED
+                        && hold.holdId().equals(status.holdId())));
+        verify(waitlistRepository).unclaim(secondEntry.getId());
+        verify(soldOutRegistry).markSoldOut(eventId);
+        assertThatThrownBy(() -> waitlistService.rejectIfWaitlisted(eventId))
+                .isSameAs(SoldOutException.INSTANCE);
+    }
+
+    @Test
+    @DisplayName("Should report the place among the users still waiting, read from the table")
+    void getStatus_Position() {
+        // Arrange
+        WaitlistEntry entry = entry(second, 1);
+        when(waitlistRepository.findByEventIdAndUserId(eventId, second.getId())).thenReturn(Optional.of(entry));
+        when(waitlistRepository.countWaitingAhead(eventId, entry.getJoinedAt(), entry.getId())).thenReturn(2L);
+
+        // Act
+        WaitlistStatusResponse status = waitlistService.getStatus(eventId, second);
+
+        // Assert
+        assertThat(status.status()).isEqualTo(WaitlistStatus.WAITING);
+        assertThat(status.position()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should drop the user whose offer lapsed")
+    void onHoldClosed_Lapsed() {
+        // Arrange
+        UUID holdId = UUID.randomUUID();
+        when(waitlistRepository.deleteByHoldId(holdId)).thenReturn(1);
+        when(waitlistRepository.findByEventIdAndUserId(eventId, first.getId())).thenReturn(Optional.empty());
+
+        // Act
+        waitlistService.onHoldClosed(new SeatHoldClosedEvent(holdId, eventId, first.getId(), false));
+
+        // Assert
+        verify(waitlistRepository).deleteByHoldId(holdId);
+        assertThatThrownBy(() -> waitlistService.getStatus(eventId, first))
+                .isInstanceOf(ResourceNotFoundException.class);
+        waitlistService.rejectIfWaitlisted(eventId);
+    }
+
+    private WaitlistEntry entry(User user, int minutesAgo) {
+        return WaitlistEntry.builder()
+                .id(UUID.randomUUID())
+                .eventId(eventId)
+                .userId(user.getId())
+                .joinedAt(LocalDateTime.now().minusMinutes(minutesAgo))
+                .build();
+    }
+
+    private static User user(String username) {
+        return User.builder()
+                .id(UUID.randomUUID())
+                .username(username)
+                .email(username + "@example.com")
+                .passwordHash("encoded_password")
+                .role(Role.USER)
+                .build();
+    }
+}
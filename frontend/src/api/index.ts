@@ -7,11 +7,16 @@ import type {
   LoginRequest,
   RegisterRequest,
   Event,
+  EventCancellation,
   CreateEventRequest,
   UpdateEventRequest,
   Ticket,
   PurchaseTicketRequest,
+  QueueStatus,
+  WaitlistStatus,
+  BatchPurchaseResponse,
   Page,
+  CursorPage,
   ChatResponse,
 } from '@/types';
 
@@ -41,6 +46,13 @@ export const eventsApi = {
     return response.data;
   },
 
+  scroll: async (cursor?: string | null, size = 20, direction = 'asc'): Promise<CursorPage<Event>> => {
+    const response = await api.get<CursorPage<Event>>('/events/scroll', {
+      params: { cursor: cursor ?? undefined, size, direction },
+    });
+    return response.data;
+  },
+
   getById: async (id: string): Promise<Event> => {
     const response = await api.get<Event>(`/events/${id}`);
     return response.data;
@@ -51,9 +63,9 @@ export const eventsApi = {
     return response.data;
   },
 
-  search: async (query: string): Promise<Event[]> => {
-    const response = await api.get<Event[]>('/events/search', {
-      params: { q: query },
+  search: async (query: string, page = 0, size = 12): Promise<Page<Event>> => {
+    const response = await api.get<Page<Event>>('/events/search', {
+      params: { q: query, page, size },
     });
     return response.data;
   },
@@ -71,14 +83,64 @@ export const eventsApi = {
   delete: async (id: string): Promise<void> => {
     await api.delete(`/events/${id}`);
   },
+
+  // Tickets are cancelled at once; participants are emailed in the background
+  cancel: async (id: string): Promise<EventCancellation> => {
+    const response = await api.post<EventCancellation>(`/events/${id}/cancel`);
+    return response.data;
+  },
+
+  getCancellation: async (id: string): Promise<EventCancellation> => {
+    const response = await api.get<EventCancellation>(`/events/${id}/cancellation`);
+    return response.data;
+  },
 };
 
 // ═══════════════════════════════════════════════════════════════════════════
 // Tickets API
 // ═══════════════════════════════════════════════════════════════════════════
+const QUEUE_POLL_INTERVAL_MS = 2000;
+
+const sleep = (ms: number) => new Promise((resolve) => setTimeout(resolve, ms));
+
 export const ticketsApi = {
+  // Busy events answer 202 with a queue token: wait for admission, then retry with it
   purchase: async (data: PurchaseTicketRequest): Promise<Ticket> => {
-    const response = await api.post<Ticket>('/tickets/purchase', data);
+    let queueToken: string | null = null;
+    for (;;) {
+      const response = await api.post<Ticket | QueueStatus>('/tickets/purchase', data, {
+        headers: queueToken ? { 'X-Queue-Token': queueToken } : undefined,
+      });
+      if (response.status !== 202) {
+        return response.data as Ticket;
+      }
+      let queue = response.data as QueueStatus;
+      queueToken = queue.queueToken;
+      while (queue.status === 'WAITING') {
+        await sleep(QUEUE_POLL_INTERVAL_MS);
+        queue = await ticketsApi.getQueueStatus(queueToken as string);
+      }
+      if (queue.status === 'EXPIRED') {
+        queueToken = null;
+      }
+    }
+  },
+
+  purchaseBatch: async (tickets: PurchaseTicketRequest[]): Promise<BatchPurchaseResponse> => {
+    const response = await api.post<BatchPurchaseResponse>('/tickets/purchase/batch', { tickets });
+    return response.data;
+  },
+
+  confirmHold: async (
+    holdId: string,
+    data: Omit<PurchaseTicketRequest, 'eventId'>,
+  ): Promise<Ticket> => {
+    const response = await api.post<Ticket>(`/tickets/holds/${holdId}/confirm`, data);
+    return response.data;
+  },
+
+  getQueueStatus: async (queueToken: string): Promise<QueueStatus> => {
+    const response = await api.get<QueueStatus>(`/tickets/queue/${queueToken}`);
     return response.data;
   },
 
@@ -89,6 +151,13 @@ export const ticketsApi = {
     return response.data;
   },
 
+  scrollMyTickets: async (cursor?: string | null, size = 10): Promise<CursorPage<Ticket>> => {
+    const response = await api.get<CursorPage<Ticket>>('/tickets/my-tickets/scroll', {
+      params: { cursor: cursor ?? undefined, size },
+    });
+    return response.data;
+  },
+
   getMyActiveTickets: async (): Promise<Ticket[]> => {
     const response = await api.get<Ticket[]>('/tickets/my-tickets/active');
     return response.data;
@@ -105,6 +174,28 @@ export const ticketsApi = {
   },
 };
 
+// ═══════════════════════════════════════════════════════════════════════════
+// Waitlist API (sold-out events)
+// ═══════════════════════════════════════════════════════════════════════════
+export const waitlistApi = {
+  join: async (eventId: string): Promise<WaitlistStatus> => {
+    const response = await api.post<WaitlistStatus>(`/events/${eventId}/waitlist`);
+    return response.data;
+  },
+
+  // 404 when the user is not on the waitlist
+  getStatus: async (eventId: string): Promise<WaitlistStatus | null> => {
+    const response = await api.get<WaitlistStatus>(`/events/${eventId}/waitlist`, {
+      validateStatus: (status) => status === 200 || status === 404,
+    });
+    return response.status === 404 ? null : response.data;
+  },
+
+  leave: async (eventId: string): Promise<void> => {
+    await api.delete(`/events/${eventId}/waitlist`);
+  },
+};
+
 // ═══════════════════════════════════════════════════════════════════════════
 // Chat API (Ollama integration)
 // ═══════════════════════════════════════════════════════════════════════════
@@ -116,4 +207,50 @@ export const chatApi = {
     });
     return response.data;
   },
+
+  /**
+   * Streams the answer over SSE (POST, so fetch instead of EventSource).
+   * Resolves with the conversation ID once the 'done' event arrives.
+   */
+  streamMessage: async (
+    message: string,
+    onToken: (token: string) => void,
+    conversationId?: string,
+    signal?: AbortSignal,
+  ): Promise<string> => {
+    const response = await fetch('/api/chat/stream', {
+      method: 'POST',
+      headers: { 'Content-Type': 'application/json', Accept: 'text/event-stream' },
+      body: JSON.stringify({ message, conversationId }),
+      signal,
+    });
+    if (!response.ok || !response.body) {
+      throw new Error(`Chat stream failed with status ${response.status}`);
+    }
+    const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+    let buffer = '';
+    for (;;) {
+      const { value, done } = await reader.read();
+      if (done) {
+        throw new Error('Chat stream ended unexpectedly');
+      }
+      buffer += value;
+      let boundary = buffer.indexOf('\n\n');
+      while (boundary >= 0) {
+        const frame = buffer.slice(0, boundary);
+        buffer = buffer.slice(boundary + 2);
+        boundary = buffer.indexOf('\n\n');
+        let event = 'message';
+        const data: string[] = [];
+        for (const line of frame.split('\n')) {
+          if (line.startsWith('event:')) event = line.slice(6).trim();
+          else if (line.startsWith('data:')) data.push(line.slice(5));
+        }
+        const payload = data.join('\n');
+        if (event === 'token') onToken(payload);
+        else if (event === 'done') return payload;
+        else if (event === 'error') throw new Error(payload);
+      }
+    }
+  },
 };
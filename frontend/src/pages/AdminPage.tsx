@@ -18,6 +18,7 @@ import {
   MapPin,
   Users,
   DollarSign,
+  Ban,
 } from 'lucide-react';
 import type { Event, CreateEventRequest, UpdateEventRequest } from '@/types';
 import clsx from 'clsx';
@@ -49,6 +50,7 @@ export function AdminPage() {
   const [formData, setFormData] = useState<EventFormData>(emptyForm);
   const [error, setError] = useState('');
   const [success, setSuccess] = useState('');
+  const [cancelledEventId, setCancelledEventId] = useState<string | null>(null);
 
   // Fetch events
   const { data: eventsPage, isLoading } = useQuery({
@@ -94,6 +96,25 @@ export function AdminPage() {
     onError: (err) => setError(getErrorMessage(err)),
   });
 
+  // Cancel mutation
+  const cancelMutation = useMutation({
+    mutationFn: eventsApi.cancel,
+    onSuccess: (cancellation) => {
+      queryClient.invalidateQueries({ queryKey: ['events'] });
+      queryClient.setQueryData(['events', cancellation.eventId, 'cancellation'], cancellation);
+      setCancelledEventId(cancellation.eventId);
+    },
+    onError: (err) => setError(getErrorMessage(err)),
+  });
+
+  // Notification progress of the last cancelled event, polled until every participant is emailed
+  const { data: cancellation } = useQuery({
+    queryKey: ['events', cancelledEventId, 'cancellation'],
+    queryFn: () => eventsApi.getCancellation(cancelledEventId!),
+    enabled: !!cancelledEventId,
+    refetchInterval: (query) => (query.state.data?.status === 'RUNNING' ? 2000 : false),
+  });
+
   const handleEdit = (event: Event) => {
     setEditingEvent(event);
     setFormData({
@@ -115,6 +136,17 @@ export function AdminPage() {
     }
   };
 
+  const handleCancelEvent = (id: string, name: string) => {
+    if (
+      window.confirm(
+        `Tem certeza que deseja cancelar o evento "${name}"? Todos os ingressos serão cancelados.`
+      )
+    ) {
+      setError('');
+      cancelMutation.mutate(id);
+    }
+  };
+
   const handleSubmit = (e: React.FormEvent) => {
     e.preventDefault();
     setError('');
@@ -177,6 +209,21 @@ export function AdminPage() {
         </div>
       )}
 
+      {/* Cancellation Progress */}
+      {cancellation && (
+        <div className="mb-6 p-4 bg-amber-50 border border-amber-200 rounded-xl flex items-center gap-3">
+          {cancellation.status === 'RUNNING' ? (
+            <Loader2 className="w-5 h-5 text-amber-500 animate-spin" />
+          ) : (
+            <CheckCircle className="w-5 h-5 text-green-500" />
+          )}
+          <p className="text-amber-800">
+            Evento cancelado: {cancellation.ticketsCancelled} ingressos cancelados,{' '}
+            {cancellation.emailsEnqueued} de {cancellation.ticketsCancelled} participantes notificados
+          </p>
+        </div>
+      )}
+
       {/* Error Message */}
       {error && (
         <div className="mb-6 p-4 bg-red-50 border border-red-200 rounded-xl flex items-start gap-3">
@@ -433,6 +480,16 @@ export function AdminPage() {
                         >
                           <Pencil className="w-4 h-4" />
                         </button>
+                        {event.status === 'SCHEDULED' && (
+                          <button
+                            onClick={() => handleCancelEvent(event.id, event.name)}
+                            disabled={cancelMutation.isPending}
+                            className="p-2 text-slate-400 hover:text-amber-600 hover:bg-amber-50 rounded-lg transition-colors disabled:opacity-50"
+                            title="Cancelar evento"
+                          >
+                            <Ban className="w-4 h-4" />
+                          </button>
+                        )}
                         <button
                           onClick={() => handleDelete(event.id, event.name)}
                           disabled={deleteMutation.isPending}
@@ -4,7 +4,7 @@
 import { useState } from 'react';
 import { useParams, useNavigate, Link } from 'react-router-dom';
 import { useQuery, useMutation, useQueryClient } from '@tanstack/react-query';
-import { eventsApi, ticketsApi } from '@/api';
+import { eventsApi, ticketsApi, waitlistApi } from '@/api';
 import { useAuth } from '@/contexts/AuthContext';
 import { getErrorMessage } from '@/api/client';
 import { format } from 'date-fns';
@@ -20,9 +20,12 @@ import {
   CheckCircle,
   Clock,
   Share2,
+  Hourglass,
 } from 'lucide-react';
 import clsx from 'clsx';
 
+const WAITLIST_POLL_INTERVAL_MS = 5000;
+
 export function EventDetailPage() {
   const { id } = useParams<{ id: string }>();
   const navigate = useNavigate();
@@ -44,17 +47,58 @@ export function EventDetailPage() {
     enabled: !!id,
   });
 
+  // Waitlist place, polled while waiting so an offered seat shows up
+  const { data: waitlist } = useQuery({
+    queryKey: ['waitlist', id],
+    queryFn: () => waitlistApi.getStatus(id!),
+    enabled: !!id && isAuthenticated,
+    refetchInterval: (query) => (query.state.data ? WAITLIST_POLL_INTERVAL_MS : false),
+  });
+  const offer = waitlist?.status === 'OFFERED' ? waitlist : null;
+
+  const onTicketIssued = () => {
+    setPurchaseSuccess(true);
+    setShowPurchaseForm(false);
+    // Invalida TODAS as queries que começam com 'events'
+    queryClient.invalidateQueries({ queryKey: ['events'] });
+    queryClient.invalidateQueries({ queryKey: ['tickets'] });
+    queryClient.invalidateQueries({ queryKey: ['waitlist', id] });
+  };
+
+  const joinWaitlistMutation = useMutation({
+    mutationFn: () => waitlistApi.join(id!),
+    onSuccess: (status) => queryClient.setQueryData(['waitlist', id], status),
+    onError: (err) => setError(getErrorMessage(err)),
+  });
+
+  const leaveWaitlistMutation = useMutation({
+    mutationFn: () => waitlistApi.leave(id!),
+    onSuccess: () => {
+      setShowPurchaseForm(false);
+      queryClient.setQueryData(['waitlist', id], null);
+    },
+    onError: (err) => setError(getErrorMessage(err)),
+  });
+
+  // Confirms the seat offered by the waitlist
+  const confirmOfferMutation = useMutation({
+    mutationFn: (data: { holdId: string; participantName: string; participantEmail: string }) =>
+      ticketsApi.confirmHold(data.holdId, {
+        participantName: data.participantName,
+        participantEmail: data.participantEmail,
+      }),
+    onSuccess: onTicketIssued,
+    onError: (err) => {
+      setError(getErrorMessage(err));
+      queryClient.invalidateQueries({ queryKey: ['waitlist', id] });
+    },
+  });
+
   // Purchase mutation
   const purchaseMutation = useMutation({
     mutationFn: (data: { eventId: string; participantName: string; participantEmail: string }) =>
       ticketsApi.purchase(data),
-    onSuccess: () => {
-      setPurchaseSuccess(true);
-      setShowPurchaseForm(false);
-      // Invalida TODAS as queries que começam com 'events'
-      queryClient.invalidateQueries({ queryKey: ['events'] });
-      queryClient.invalidateQueries({ queryKey: ['tickets'] });
-    },
+    onSuccess: onTicketIssued,
     onError: (err) => {
       setError(getErrorMessage(err));
     },
@@ -66,6 +110,15 @@ export function EventDetailPage() {
 
     if (!id) return;
 
+    if (offer?.holdId) {
+      confirmOfferMutation.mutate({
+        holdId: offer.holdId,
+        participantName: purchaseForm.participantName,
+        participantEmail: purchaseForm.participantEmail,
+      });
+      return;
+    }
+
     purchaseMutation.mutate({
       eventId: id,
       participantName: purchaseForm.participantName,
@@ -118,6 +171,7 @@ export function EventDetailPage() {
   const eventDate = new Date(event.eventDate);
   const isAvailable = event.availableTickets > 0 && event.status === 'SCHEDULED';
   const isPast = eventDate < new Date();
+  const isSubmitting = purchaseMutation.isPending || confirmOfferMutation.isPending;
 
   const statusColors = {
     SCHEDULED: 'bg-blue-100 text-blue-700',
@@ -294,10 +348,10 @@ export function EventDetailPage() {
                     </button>
                     <button
                       type="submit"
-                      disabled={purchaseMutation.isPending}
+                      disabled={isSubmitting}
                       className="flex-1 py-3 bg-gradient-to-r from-blue-600 to-indigo-600 text-white rounded-xl font-medium hover:shadow-lg disabled:opacity-50 transition-all flex items-center justify-center gap-2"
                     >
-                      {purchaseMutation.isPending ? (
+                      {isSubmitting ? (
                         <>
                           <Loader2 className="w-5 h-5 animate-spin" />
                           Processando...
@@ -336,9 +390,56 @@ export function EventDetailPage() {
                     <div className="text-center py-4">
                       <p className="text-slate-500">Este evento já ocorreu</p>
                     </div>
+                  ) : offer ? (
+                    <div className="space-y-3">
+                      <div className="p-4 bg-amber-50 border border-amber-200 rounded-xl text-amber-800 text-sm">
+                        Um lugar da lista de espera foi reservado para você até{' '}
+                        <strong>{format(new Date(offer.offerExpiresAt!), 'HH:mm')}</strong>.
+                      </div>
+                      <button
+                        onClick={() => setShowPurchaseForm(true)}
+                        className="w-full py-3 bg-gradient-to-r from-blue-600 to-indigo-600 text-white rounded-xl font-medium hover:shadow-lg transition-all flex items-center justify-center gap-2"
+                      >
+                        <Ticket className="w-5 h-5" />
+                        Confirmar Ingresso
+                      </button>
+                      <button
+                        onClick={() => leaveWaitlistMutation.mutate()}
+                        disabled={leaveWaitlistMutation.isPending}
+                        className="w-full py-3 border border-slate-200 text-slate-700 rounded-xl font-medium hover:bg-slate-50 disabled:opacity-50 transition-all"
+                      >
+                        Recusar
+                      </button>
+                    </div>
+                  ) : waitlist ? (
+                    <div className="space-y-3 text-center">
+                      <div className="flex items-center justify-center gap-2 text-slate-700">
+                        <Hourglass className="w-5 h-5 text-blue-500" />
+                        <span>
+                          Você é o <strong>{waitlist.position}º</strong> na lista de espera
+                        </span>
+                      </div>
+                      <button
+                        onClick={() => leaveWaitlistMutation.mutate()}
+                        disabled={leaveWaitlistMutation.isPending}
+                        className="w-full py-3 border border-slate-200 text-slate-700 rounded-xl font-medium hover:bg-slate-50 disabled:opacity-50 transition-all"
+                      >
+                        Sair da lista de espera
+                      </button>
+                    </div>
                   ) : !isAvailable ? (
-                    <div className="text-center py-4">
+                    <div className="space-y-3 text-center py-4">
                       <p className="text-red-600 font-medium">Evento esgotado</p>
+                      {event.status === 'SCHEDULED' && (
+                        <button
+                          onClick={() => joinWaitlistMutation.mutate()}
+                          disabled={joinWaitlistMutation.isPending}
+                          className="w-full py-3 bg-gradient-to-r from-blue-600 to-indigo-600 text-white rounded-xl font-medium hover:shadow-lg disabled:opacity-50 transition-all flex items-center justify-center gap-2"
+                        >
+                          <Hourglass className="w-5 h-5" />
+                          Entrar na lista de espera
+                        </button>
+                      )}
                     </div>
                   ) : (
                     <button
@@ -27,7 +27,7 @@ export function EventsPage() {
     enabled: searchQuery.length >= 2,
   });
 
-  const displayEvents = searchQuery.length >= 2 ? searchResults : eventsPage?.content;
+  const displayEvents = searchQuery.length >= 2 ? searchResults?.content : eventsPage?.content;
   const showPagination = !searchQuery && eventsPage;
 
   return (
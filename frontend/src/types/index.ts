@@ -53,6 +53,15 @@ export interface Event {
   updatedAt: string;
 }
 
+export interface EventCancellation {
+  eventId: string;
+  status: 'RUNNING' | 'COMPLETED';
+  ticketsCancelled: number;
+  emailsEnqueued: number;
+  cancelledAt: string;
+  completedAt: string | null;
+}
+
 export interface CreateEventRequest {
   name: string;
   description: string;
@@ -93,6 +102,30 @@ export interface PurchaseTicketRequest {
   participantEmail: string;
 }
 
+export interface BatchPurchaseResponse {
+  batchId: string;
+  quantity: number;
+  confirmationCodes: string[];
+  tickets: Ticket[];
+}
+
+export interface QueueStatus {
+  queueToken: string | null;
+  eventId: string | null;
+  status: 'WAITING' | 'ADMITTED' | 'EXPIRED';
+  position: number;
+  estimatedWaitSeconds: number;
+}
+
+export interface WaitlistStatus {
+  entryId: string;
+  eventId: string;
+  status: 'WAITING' | 'OFFERED';
+  position: number;
+  holdId: string | null;
+  offerExpiresAt: string | null;
+}
+
 // ═══════════════════════════════════════════════════════════════════════════
 // Pagination Types
 // ═══════════════════════════════════════════════════════════════════════════
@@ -107,6 +140,14 @@ export interface Page<T> {
   empty: boolean;
 }
 
+export interface CursorPage<T> {
+  content: T[];
+  size: number;
+  nextCursor: string | null;
+  hasNext: boolean;
+  totalElements: number | null;
+}
+
 // ═══════════════════════════════════════════════════════════════════════════
 // Chat Types
 // ═══════════════════════════════════════════════════════════════════════════